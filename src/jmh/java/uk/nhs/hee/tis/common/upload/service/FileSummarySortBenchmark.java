@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+
+/**
+ * Compares the compiled {@link FileSummarySort} with the previous reflective property sort. Run
+ * with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FileSummarySortBenchmark {
+
+  private static final String[] FILE_TYPES = {"json", "pdf", "docx", "txt"};
+
+  @Param({"100", "1000", "10000"})
+  private int size;
+
+  @Param({"fileName,desc", "customMetadata.uploadedBy,asc"})
+  private String sort;
+
+  private List<FileSummaryDto> files;
+
+  /**
+   * Generate the file summaries to sort.
+   */
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    files = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      String fileType = FILE_TYPES[random.nextInt(FILE_TYPES.length)];
+      String fileName = "file-" + random.nextInt(size) + "." + fileType;
+      files.add(FileSummaryDto.builder()
+          .bucketName("bucket")
+          .key("folder/" + fileName)
+          .fileName(fileName)
+          .fileType(fileType)
+          .customMetadata(Map.of("uploadedBy", "user-" + random.nextInt(100)))
+          .build());
+    }
+  }
+
+  /**
+   * The previous sort, which looked up the property by reflection on every comparison.
+   *
+   * @return The sorted summaries.
+   */
+  @Benchmark
+  public List<FileSummaryDto> reflective() {
+    String[] sortEntry = sort.split(FileSummarySort.SORT_DELIM);
+    String sortKey = sortEntry[0];
+    Function<FileSummaryDto, String> extractor = o -> getStringProperty(o, sortKey);
+    Comparator<String> comparator = "desc".equals(sortEntry[1])
+        ? Comparator.reverseOrder() : Comparator.naturalOrder();
+
+    List<FileSummaryDto> sorted = new ArrayList<>(files);
+    sorted.sort(Comparator.comparing(extractor, Comparator.nullsLast(comparator)));
+    return sorted;
+  }
+
+  /**
+   * The compiled sort of all summaries.
+   *
+   * @return The sorted summaries.
+   */
+  @Benchmark
+  public List<FileSummaryDto> compiled() {
+    return FileSummarySort.compile(sort).apply(files, null);
+  }
+
+  /**
+   * The compiled sort, keeping only the first ten summaries.
+   *
+   * @return The first ten sorted summaries.
+   */
+  @Benchmark
+  public List<FileSummaryDto> compiledTopTen() {
+    return FileSummarySort.compile(sort).apply(files, 10);
+  }
+
+  private static String getStringProperty(final FileSummaryDto o, final String name) {
+    try {
+      return (String) PropertyUtils.getNestedProperty(o, name);
+    } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
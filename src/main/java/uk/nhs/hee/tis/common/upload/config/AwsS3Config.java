@@ -3,6 +3,7 @@ package uk.nhs.hee.tis.common.upload.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 /**
  * A configuration class for Amazon S3 integration.
@@ -14,4 +15,9 @@ public class AwsS3Config {
   public S3Client amazonS3() {
     return S3Client.create();
   }
+
+  @Bean
+  public S3Presigner s3Presigner() {
+    return S3Presigner.create();
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * A configuration class for the executors used to parallelise S3 requests and to run asynchronous
+ * request processing.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * An executor for fetching object metadata, the pool size bounds the number of concurrent HEAD
+   * requests.
+   *
+   * @param concurrency The maximum number of concurrent metadata requests.
+   * @return The metadata executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService metadataExecutor(
+      @Value("${app.list.metadata-concurrency}") int concurrency) {
+    return Executors.newFixedThreadPool(concurrency,
+        new CustomizableThreadFactory("metadata-"));
+  }
+
+  /**
+   * An executor for uploading the files of a multi-file request, the pool size bounds the number of
+   * files uploaded concurrently across all requests.
+   *
+   * @param concurrency The maximum number of concurrent file uploads.
+   * @return The file upload executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService fileUploadExecutor(
+      @Value("${app.upload.file-concurrency}") int concurrency) {
+    return Executors.newFixedThreadPool(concurrency,
+        new CustomizableThreadFactory("upload-file-"));
+  }
+
+  /**
+   * An executor for uploading the parts of multipart uploads, the pool size bounds the number of
+   * concurrent part uploads across all files.
+   *
+   * @param concurrency The maximum number of concurrent part uploads.
+   * @return The part upload executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService partUploadExecutor(
+      @Value("${app.upload.part-concurrency}") int concurrency) {
+    return Executors.newFixedThreadPool(concurrency,
+        new CustomizableThreadFactory("upload-part-"));
+  }
+
+  /**
+   * An executor for running asynchronous upload jobs, the pool size bounds the number of jobs
+   * stored concurrently and the queue bounds the number of jobs waiting, a job submitted to a full
+   * queue is rejected.
+   *
+   * @param concurrency   The maximum number of concurrent upload jobs.
+   * @param queueCapacity The maximum number of upload jobs waiting to run.
+   * @return The upload job executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService uploadJobExecutor(
+      @Value("${app.upload.job.concurrency}") int concurrency,
+      @Value("${app.upload.job.queue-capacity}") int queueCapacity) {
+    return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("upload-job-"));
+  }
+
+  /**
+   * An executor for asynchronous request processing, such as streamed downloads and listings. As
+   * the executors above are declared, Spring Boot does not create its own application task
+   * executor, so without this Spring MVC would start a new thread for every streamed response.
+   *
+   * @param concurrency   The maximum number of responses streamed concurrently.
+   * @param queueCapacity The maximum number of responses waiting to be streamed.
+   * @return The application task executor.
+   */
+  @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  public ThreadPoolTaskExecutor applicationTaskExecutor(
+      @Value("${app.async.concurrency}") int concurrency,
+      @Value("${app.async.queue-capacity}") int queueCapacity) {
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(concurrency);
+    executor.setMaxPoolSize(concurrency);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("async-");
+    return executor;
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.config;
+
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * A configuration class for Spring MVC request handling and binding.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+  /**
+   * The path of the streaming upload endpoint, which parses its own multipart request body.
+   */
+  public static final String STREAMING_UPLOAD_PATH = "/api/storage/upload/stream";
+
+  /**
+   * A multipart resolver which leaves streaming upload requests unresolved, so their body is read
+   * as it arrives rather than being buffered by the servlet container first.
+   *
+   * @return The multipart resolver.
+   */
+  @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+  public MultipartResolver multipartResolver() {
+    return new StandardServletMultipartResolver() {
+      @Override
+      public boolean isMultipart(HttpServletRequest request) {
+        return !request.getRequestURI().endsWith(STREAMING_UPLOAD_PATH)
+            && super.isMultipart(request);
+      }
+    };
+  }
+
+  @Override
+  public void addFormatters(FormatterRegistry registry) {
+    registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+  }
+
+  /**
+   * A converter factory which binds request parameters to enum constants regardless of case, so
+   * that e.g. {@code consistency=strong} is accepted.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static class CaseInsensitiveEnumConverterFactory implements
+      ConverterFactory<String, Enum> {
+
+    @Override
+    public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+      return source -> source.isBlank() ? null
+          : (T) Enum.valueOf(targetType, source.trim().toUpperCase());
+    }
+  }
+}
@@ -1,25 +1,66 @@
 package uk.nhs.hee.tis.common.upload.controller;
 
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.VARY;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.util.Streams;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.nhs.hee.tis.common.upload.dto.ConditionalRequestDto;
 import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+import uk.nhs.hee.tis.common.upload.dto.FolderStatsDto;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
 import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.ZipManifestDto;
+import uk.nhs.hee.tis.common.upload.enumeration.ListMetadataMode;
 import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
 import uk.nhs.hee.tis.common.upload.service.AwsStorageService;
+import uk.nhs.hee.tis.common.upload.service.ObjectContentStream;
+import uk.nhs.hee.tis.common.upload.service.RangedDownload;
+import uk.nhs.hee.tis.common.upload.service.RangedDownload.ByteRange;
+import uk.nhs.hee.tis.common.upload.service.StorageCodec;
+import uk.nhs.hee.tis.common.upload.service.ZipIngestService;
 
 /**
  * Controller to handle AWS S3 storage operations.
@@ -29,15 +70,39 @@ import uk.nhs.hee.tis.common.upload.service.AwsStorageService;
 @RequestMapping("/api/storage")
 public class AwsStorageController {
 
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final String METADATA_MODE_PARAM = "metadata";
+  private static final String FILES_FIELD = "files";
+  private static final int DOWNLOAD_BUFFER_SIZE = 8 * 1024;
+  private static final Pattern CUSTOM_METADATA_FIELD = Pattern.compile("customMetadata\\[(.+)]");
+
   private final AwsStorageService awsStorageService;
+  private final ZipIngestService zipIngestService;
+  private final ObjectMapper objectMapper;
 
   /**
    * Constructor for AwsStorageController.
    *
    * @param awsStorageService the AWS storage service
+   * @param zipIngestService  the zip archive ingest service
+   * @param objectMapper      the mapper used to write streamed responses
    */
-  AwsStorageController(AwsStorageService awsStorageService) {
+  AwsStorageController(AwsStorageService awsStorageService, ZipIngestService zipIngestService,
+      ObjectMapper objectMapper) {
     this.awsStorageService = awsStorageService;
+    this.zipIngestService = zipIngestService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * The {@value #METADATA_MODE_PARAM} parameter selects the metadata mode, so it must not be bound
+   * to the {@code metadata[name]} filters of the listing options.
+   *
+   * @param binder the binder for the listing options
+   */
+  @InitBinder("listQueryDto")
+  void initListQueryBinder(final WebDataBinder binder) {
+    binder.setDisallowedFields(METADATA_MODE_PARAM);
   }
 
   /**
@@ -61,29 +126,182 @@ public class AwsStorageController {
   }
 
   /**
-   * API to download file from S3.
+   * API to upload files to S3 as they are streamed in the request body, without buffering whole
+   * files. The form fields are those of {@link #uploadFile}, but {@code bucketName},
+   * {@code folderPath} and any {@code customMetadata[name]} fields must come before the files.
    *
-   * @param bucketName name of the bucket
-   * @param key        file location with name
-   * @return Response entity with status code 200 and file to download
+   * @param request the multipart request
+   * @return Response entity with status code 200
+   * @throws IOException if the request body could not be read
+   */
+  @PostMapping(value = "/upload/stream")
+  public ResponseEntity<Void> uploadFileStream(final HttpServletRequest request)
+      throws IOException {
+
+    if (!ServletFileUpload.isMultipartContent(request)) {
+      throw new AwsStorageException("A multipart request is required to stream an upload");
+    }
+    final var storageDto = StorageDto.builder().customMetadata(new HashMap<>()).build();
+    int fileCount = 0;
+
+    try {
+      final FileItemIterator items = new ServletFileUpload().getItemIterator(request);
+      while (items.hasNext()) {
+        final FileItemStream item = items.next();
+        try (InputStream content = item.openStream()) {
+          if (item.isFormField()) {
+            bindFormField(storageDto, item.getFieldName(),
+                Streams.asString(content, StandardCharsets.UTF_8.name()));
+          } else if (FILES_FIELD.equals(item.getFieldName())
+              && StringUtils.isNotBlank(item.getName())) {
+            if (Objects.isNull(storageDto.getBucketName())
+                || Objects.isNull(storageDto.getFolderPath())) {
+              throw new AwsStorageException(
+                  "Bucket Name and Folder Path must be sent before the files to stream an upload");
+            }
+            log.info("Request receive to stream file: {}", item.getName());
+            awsStorageService.uploadStream(storageDto, FilenameUtils.getName(item.getName()),
+                content);
+            fileCount++;
+          }
+        }
+      }
+    } catch (FileUploadException e) {
+      throw new AwsStorageException(e.getMessage());
+    }
+
+    if (fileCount == 0) {
+      throw new AwsStorageException(
+          "Bucket Name, File and Folder Path all parameters required to stream an upload");
+    }
+    return ResponseEntity.ok().build();
+  }
+
+  /**
+   * API to upload each file in a zip archive sent as the request body, the archive is expanded
+   * under {@code folderPath} as it is read.
+   *
+   * @param storageDto the bucketName, folderPath and customMetadata of the files
+   * @param request    the request with the zip archive
+   * @return Response entity with status code 200 and the manifest of stored entries
+   * @throws IOException if the request body could not be read
+   */
+  @PostMapping(value = "/upload/zip", consumes = "application/zip")
+  public ResponseEntity<ZipManifestDto> uploadZip(final StorageDto storageDto,
+      final HttpServletRequest request) throws IOException {
+
+    log.info("Request receive to upload zip archive: {}", storageDto);
+    if (Objects.nonNull(storageDto.getBucketName())
+        && Objects.nonNull(storageDto.getFolderPath())) {
+      return ResponseEntity.ok(zipIngestService.ingest(storageDto, request.getInputStream()));
+    } else {
+      throw new AwsStorageException(
+          "Bucket Name and Folder Path both parameters required to upload a zip archive");
+    }
+  }
+
+  private static void bindFormField(final StorageDto storageDto, final String name,
+      final String value) {
+    final var customMetadata = CUSTOM_METADATA_FIELD.matcher(name);
+    if ("bucketName".equals(name)) {
+      storageDto.setBucketName(value);
+    } else if ("folderPath".equals(name)) {
+      storageDto.setFolderPath(value);
+    } else if (customMetadata.matches()) {
+      storageDto.getCustomMetadata().put(customMetadata.group(1), value);
+    }
+  }
+
+  /**
+   * API to merge new custom metadata in to the metadata of an existing object, without uploading
+   * the file again.
+   *
+   * @param storageDto the bucketName, key and customMetadata to merge
+   * @return Response entity with status code 200 and the merged metadata of the object
+   */
+  @PatchMapping(value = "/metadata")
+  public ResponseEntity<Map<String, String>> updateMetadata(final StorageDto storageDto) {
+
+    log.info("Request receive to update metadata: {}", storageDto);
+    if (Objects.nonNull(storageDto.getBucketName()) && Objects.nonNull(storageDto.getKey())
+        && Objects.nonNull(storageDto.getCustomMetadata())
+        && !storageDto.getCustomMetadata().isEmpty()) {
+      return ResponseEntity.ok(awsStorageService.updateMetadata(storageDto));
+    } else {
+      throw new AwsStorageException(
+          "Bucket Name, Key and Custom Metadata all parameters required to update metadata");
+    }
+  }
+
+  /**
+   * API to download file from S3. The file is copied from S3 to the response as it is read, a
+   * buffer at a time, and the S3 connection is dropped if the client disconnects. A file stored
+   * compressed is sent compressed if the client accepts gzip, otherwise it is decompressed.
+   *
+   * <p>Byte ranges may be requested with the {@code Range} header, optionally conditional on an
+   * {@code If-Range} entity tag or date, and only those bytes are read from S3. A single range is
+   * sent as is, multiple ranges as {@code multipart/byteranges}.
+   *
+   * <p>The response has the object's ETag and Last-Modified date. When the client's copy is
+   * current, by {@code If-None-Match} or {@code If-Modified-Since}, a not modified response is
+   * returned and the object content is not read from S3.
+   *
+   * @param bucketName     name of the bucket
+   * @param key            file location with name
+   * @param acceptEncoding the content codings accepted by the client
+   * @param range          the byte ranges requested, may be null
+   * @param ifRange        the entity tag or date the byte ranges depend on, may be null
+   * @param ifNoneMatch     the entity tags of the client's copy, may be null
+   * @param ifModifiedSince the date of the client's copy, may be null
+   * @return Response entity with status code 200 and file to download, 206 and the ranges of the
+   *     file, 304 if the client's copy is current or 416 if none of the ranges are within the file
    */
   @GetMapping("/download")
-  public ResponseEntity<ByteArrayResource> downloadFile(
+  public ResponseEntity<StreamingResponseBody> downloadFile(
       @RequestParam("bucketName") final String bucketName,
-      @RequestParam("key") final String key) {
+      @RequestParam("key") final String key,
+      @RequestHeader(value = ACCEPT_ENCODING, required = false) final String acceptEncoding,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) final String range,
+      @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) final String ifRange,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+      final String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false)
+      final String ifModifiedSince) {
 
     if (Objects.nonNull(bucketName) && Objects.nonNull(key)) {
       log.info("Request receive to download file: {} from bucket: {}", key, bucketName);
       final var storageDto = StorageDto.builder().bucketName(bucketName)
           .key(key).build();
-      final var response = awsStorageService.download(storageDto);
-      final ByteArrayResource resource = new ByteArrayResource(response);
-      return ResponseEntity
-          .ok()
-          .contentLength(response.length)
-          .header(CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
-          .header(CONTENT_DISPOSITION, "attachment; filename=\"" + key + "\"")
-          .body(resource);
+      final var conditions = ConditionalRequestDto.builder().ifNoneMatch(ifNoneMatch)
+          .ifModifiedSince(ifModifiedSince).ifRange(ifRange).build();
+      final boolean acceptsGzip = StorageCodec.acceptsGzip(acceptEncoding);
+
+      final List<HttpRange> ranges = parseRanges(range);
+      if (!ranges.isEmpty()) {
+        final var rangedDownload = awsStorageService.planRanges(storageDto, ranges, conditions,
+            acceptsGzip);
+        if (rangedDownload.isPresent()) {
+          return downloadRanges(storageDto, rangedDownload.get());
+        }
+      }
+
+      final var download = awsStorageService.openDownload(storageDto, conditions, acceptsGzip);
+      if (download.isNotModified()) {
+        return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED),
+            download.getETag(), download.getLastModified())
+            .header(VARY, ACCEPT_ENCODING)
+            .build();
+      }
+      final StreamingResponseBody body = outputStream -> copy(download, outputStream, storageDto);
+      final var builder = downloadResponse(HttpStatus.OK, key)
+          .header(CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+      if (download.getContentLength() != null) {
+        builder.contentLength(download.getContentLength());
+      }
+      if (download.getContentEncoding() != null) {
+        builder.header(CONTENT_ENCODING, download.getContentEncoding());
+      }
+      return validators(builder, download.getETag(), download.getLastModified()).body(body);
     } else {
       throw new AwsStorageException(
           "Bucket Name and Key both parameters required to serve download");
@@ -91,54 +309,298 @@ public class AwsStorageController {
   }
 
   /**
-   * Get an object as a formatted string.
+   * Parse a Range header, an invalid header is ignored so that the whole file is sent.
+   */
+  private static List<HttpRange> parseRanges(final String range) {
+    if (range == null) {
+      return List.of();
+    }
+    try {
+      return HttpRange.parseRanges(range);
+    } catch (IllegalArgumentException e) {
+      log.debug("Ignoring invalid range: {}", range, e);
+      return List.of();
+    }
+  }
+
+  private ResponseEntity<StreamingResponseBody> downloadRanges(final StorageDto storageDto,
+      final RangedDownload download) {
+    if (!download.isSatisfiable()) {
+      return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header(HttpHeaders.CONTENT_RANGE, download.contentRange(null))
+          .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+          .build();
+    }
+
+    final var builder = validators(downloadResponse(HttpStatus.PARTIAL_CONTENT,
+        storageDto.getKey()), download.getETag(), null);
+    if (download.getContentEncoding() != null) {
+      builder.header(CONTENT_ENCODING, download.getContentEncoding());
+    }
+
+    final List<ByteRange> ranges = download.getRanges();
+    if (ranges.size() == 1) {
+      final ByteRange range = ranges.get(0);
+      final var content = awsStorageService.openRange(storageDto, download, range);
+      final StreamingResponseBody body = outputStream -> copy(content, outputStream, storageDto);
+      return builder
+          .header(CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+          .header(HttpHeaders.CONTENT_RANGE, download.contentRange(range))
+          .contentLength(range.length())
+          .body(body);
+    }
+
+    final String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+    final StreamingResponseBody body = outputStream -> {
+      for (ByteRange range : ranges) {
+        final String partHeaders = "\r\n--" + boundary + "\r\n"
+            + CONTENT_TYPE + ": " + MediaType.APPLICATION_OCTET_STREAM_VALUE + "\r\n"
+            + HttpHeaders.CONTENT_RANGE + ": " + download.contentRange(range) + "\r\n\r\n";
+        outputStream.write(partHeaders.getBytes(StandardCharsets.US_ASCII));
+        copy(awsStorageService.openRange(storageDto, download, range), outputStream, storageDto);
+      }
+      outputStream.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    };
+    return builder
+        .header(CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary)
+        .body(body);
+  }
+
+  private static ResponseEntity.BodyBuilder validators(final ResponseEntity.BodyBuilder builder,
+      final String eTag, final Instant lastModified) {
+    if (eTag != null) {
+      builder.eTag(eTag);
+    }
+    if (lastModified != null) {
+      builder.lastModified(lastModified);
+    }
+    return builder;
+  }
+
+  private static ResponseEntity.BodyBuilder downloadResponse(final HttpStatus status,
+      final String key) {
+    return ResponseEntity.status(status)
+        .header(CONTENT_DISPOSITION, "attachment; filename=\"" + key + "\"")
+        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+        .header(VARY, ACCEPT_ENCODING);
+  }
+
+  /**
+   * Copy object content to the response, aborting the S3 stream if the copy does not complete.
+   */
+  private static void copy(final ObjectContentStream download, final OutputStream outputStream,
+      final StorageDto storageDto) throws IOException {
+    try {
+      IOUtils.copy(download.getContent(), outputStream, DOWNLOAD_BUFFER_SIZE);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Download of key: {} from bucket: {} did not complete: {}", storageDto.getKey(),
+          storageDto.getBucketName(), e.getMessage());
+      download.abort();
+      throw e;
+    } finally {
+      download.close();
+    }
+  }
+
+  /**
+   * Get an object as a formatted string. An object stored compressed is sent compressed if the
+   * client accepts gzip, with the same content type as it would have uncompressed. The response
+   * has the object's ETag and Last-Modified date, when the client's copy is current a not modified
+   * response is returned without reading the object.
    *
-   * @param bucketName name of the bucket
-   * @param key        file location with name
-   * @return Response entity with status code 200 and the object
+   * @param bucketName      name of the bucket
+   * @param key             file location with name
+   * @param accept          the media types accepted by the client
+   * @param acceptEncoding  the content codings accepted by the client
+   * @param ifNoneMatch     the entity tags of the client's copy, may be null
+   * @param ifModifiedSince the date of the client's copy, may be null
+   * @return Response entity with status code 200 and the object, or 304 if the client's copy is
+   *     current
    */
   @GetMapping("/data")
-  public ResponseEntity<String> getData(@RequestParam("bucketName") final String bucketName,
-      @RequestParam("key") final String key) {
+  public ResponseEntity<Object> getData(@RequestParam("bucketName") final String bucketName,
+      @RequestParam("key") final String key,
+      @RequestHeader(value = ACCEPT, required = false) final String accept,
+      @RequestHeader(value = ACCEPT_ENCODING, required = false) final String acceptEncoding,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+      final String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false)
+      final String ifModifiedSince) {
 
     log.info("Request receive to download file: {} from bucket: {}", key, bucketName);
     final var storageDto = StorageDto.builder().bucketName(bucketName)
         .key(key).build();
-    String responseJson = awsStorageService.getData(storageDto);
-    return ResponseEntity
-        .ok().body(responseJson);
+    final var conditions = ConditionalRequestDto.builder().ifNoneMatch(ifNoneMatch)
+        .ifModifiedSince(ifModifiedSince).build();
+    final var response = awsStorageService.download(storageDto, conditions,
+        StorageCodec.acceptsGzip(acceptEncoding));
+    if (response.isNotModified()) {
+      return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), response.getEtag(),
+          response.getLastModified())
+          .header(VARY, ACCEPT_ENCODING)
+          .build();
+    }
+    final var builder = validators(ResponseEntity.ok(), response.getEtag(),
+        response.getLastModified())
+        .header(VARY, ACCEPT_ENCODING)
+        .contentType(dataContentType(accept));
+    if (response.getContentEncoding() != null) {
+      builder.header(CONTENT_ENCODING, response.getContentEncoding());
+    }
+    return builder.body(response.getContent());
+  }
+
+  /**
+   * Negotiate the content type of object data from the Accept header, as it would be for a string
+   * body: the most preferred concrete type, otherwise plain text. The charset is UTF-8, which is
+   * left implicit for JSON.
+   */
+  private static MediaType dataContentType(final String accept) {
+    MediaType contentType = MediaType.TEXT_PLAIN;
+    if (accept != null) {
+      try {
+        final List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(accepted);
+        contentType = accepted.stream()
+            .filter(type -> type.isConcrete() && type.getQualityValue() > 0)
+            .findFirst()
+            .orElse(MediaType.TEXT_PLAIN);
+      } catch (InvalidMediaTypeException e) {
+        log.debug("Ignoring invalid accept header: {}", accept, e);
+      }
+    }
+    if (contentType.getCharset() != null || MediaType.APPLICATION_JSON.isCompatibleWith(
+        contentType)) {
+      return contentType.removeQualityValue();
+    }
+    return new MediaType(contentType.removeQualityValue(), StandardCharsets.UTF_8);
   }
 
   /**
-   * List the contents of a folder.
+   * List the contents of a folder, optionally a page at a time.
+   *
+   * <p>The listing options are bound from the request parameters: {@code sort} e.g.
+   * {@code fileType,asc;fileName,desc}, {@code limit}, {@code includeCustomMetadata},
+   * {@code pageSize}, {@code cursor}, {@code consistency}, and the filters {@code fileType},
+   * {@code lifecycleState}, {@code excludeLifecycleState}, {@code keyGlob} and
+   * {@code metadata[name]}. With {@code metadata=none} no per-object metadata requests are made,
+   * the file name and type are derived from the key.
+   *
+   * <p>The listing has an ETag, when it matches the {@code If-None-Match} header a not modified
+   * response is returned without requesting any object metadata.
    *
-   * @param bucketName            name of the bucket
-   * @param folderPath            name of the folder
-   * @param includeCustomMetaData include all custom metadata
-   * @return a list of the objects at the requested location
+   * @param bucketName   name of the bucket
+   * @param folderPath   name of the folder
+   * @param metadataMode the metadata to retrieve, defaults to full
+   * @param ifNoneMatch  the ETags of the client's copies of the listing
+   * @param query        the listing options
+   * @return a list of the objects at the requested location, with the cursor for the next page in
+   *     the {@value #NEXT_CURSOR_HEADER} header when there are more objects to list, or not
+   *     modified if the client's copy is current
    */
-  @GetMapping("/list")
+  // Also producing */* stops the NDJSON mapping being preferred when no Accept type is specified.
+  @GetMapping(value = "/list", produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.ALL_VALUE})
   public ResponseEntity<List<FileSummaryDto>> listFiles(
       @RequestParam("bucketName") final String bucketName,
       @RequestParam("folderPath") final String folderPath,
-      @RequestParam(value = "sort", required = false) final String sort,
-      @RequestParam(value = "includeCustomMetadata", defaultValue = "false")
-      final boolean includeCustomMetaData) {
+      @RequestParam(value = METADATA_MODE_PARAM, required = false)
+      final ListMetadataMode metadataMode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+      final String ifNoneMatch,
+      final ListQueryDto query) {
 
     if (Objects.nonNull(bucketName) && Objects.nonNull(folderPath)) {
       log.info("Request receive to list files from bucket: {} and folder location: {}",
           bucketName, folderPath);
       final var storageDto = StorageDto.builder().bucketName(bucketName)
           .folderPath(folderPath).build();
-      final var fileSummaryList = awsStorageService
-          .listFiles(storageDto, includeCustomMetaData, sort);
-      return ResponseEntity.ok().body(fileSummaryList);
+      if (Objects.nonNull(metadataMode)) {
+        query.setMetadataMode(metadataMode);
+      }
+      final var fileList = awsStorageService.listFiles(storageDto, query, ifNoneMatch);
+
+      if (fileList.isNotModified()) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(fileList.getEtag()).build();
+      }
+      final var response = ResponseEntity.ok();
+      if (Objects.nonNull(fileList.getEtag())) {
+        response.eTag(fileList.getEtag());
+      }
+      if (Objects.nonNull(fileList.getNextCursor())) {
+        response.header(NEXT_CURSOR_HEADER, fileList.getNextCursor());
+      }
+      return response.body(fileList.getFiles());
     } else {
       throw new AwsStorageException(
           "Bucket Name and Folder Path, all parameters required to serve list");
     }
   }
 
+  /**
+   * Stream the contents of a folder as newline delimited JSON, each object is written as soon as
+   * its metadata is available so the listing is unsorted.
+   *
+   * @param bucketName   name of the bucket
+   * @param folderPath   name of the folder
+   * @param metadataMode the metadata to retrieve, defaults to full
+   * @param query        the listing options as for {@link #listFiles}, sort is not supported
+   * @return a stream of the objects at the requested location, or a bad request response without a
+   *     body if a sort was given, as an error body can not be written as NDJSON
+   */
+  @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamFiles(
+      @RequestParam("bucketName") final String bucketName,
+      @RequestParam("folderPath") final String folderPath,
+      @RequestParam(value = METADATA_MODE_PARAM, required = false)
+      final ListMetadataMode metadataMode,
+      final ListQueryDto query) {
+
+    if (Objects.nonNull(query.getSort())) {
+      log.warn("Sort is not supported when streaming a list, requested sort: {}", query.getSort());
+      return ResponseEntity.badRequest().build();
+    }
+
+    log.info("Request receive to stream files from bucket: {} and folder location: {}",
+        bucketName, folderPath);
+    final var storageDto = StorageDto.builder().bucketName(bucketName)
+        .folderPath(folderPath).build();
+    if (Objects.nonNull(metadataMode)) {
+      query.setMetadataMode(metadataMode);
+    }
+
+    StreamingResponseBody body = outputStream ->
+        awsStorageService.streamFiles(storageDto, query, fileSummary -> {
+          try {
+            outputStream.write(objectMapper.writeValueAsBytes(fileSummary));
+            outputStream.write('\n');
+            outputStream.flush();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Get aggregate statistics for the contents of a folder, computed from the listing alone.
+   *
+   * @param bucketName name of the bucket
+   * @param folderPath name of the folder
+   * @return the object count, total size, size histogram and counts by file type
+   */
+  @GetMapping("/stats")
+  public ResponseEntity<FolderStatsDto> getStats(
+      @RequestParam("bucketName") final String bucketName,
+      @RequestParam("folderPath") final String folderPath) {
+
+    log.info("Request receive to get stats from bucket: {} and folder location: {}",
+        bucketName, folderPath);
+    final var storageDto = StorageDto.builder().bucketName(bucketName)
+        .folderPath(folderPath).build();
+    return ResponseEntity.ok(awsStorageService.getStats(storageDto));
+  }
+
   /**
    * Delete an object from S3.
    *
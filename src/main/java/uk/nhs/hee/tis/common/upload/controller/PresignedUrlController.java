@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.controller;
+
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.nhs.hee.tis.common.upload.dto.PresignedUrlDto;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+import uk.nhs.hee.tis.common.upload.service.PresignedUrlService;
+
+/**
+ * Controller to issue presigned URLs, so that file content is transferred directly between the
+ * client and S3.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/storage/presigned")
+public class PresignedUrlController {
+
+  private final PresignedUrlService presignedUrlService;
+
+  /**
+   * Constructor for PresignedUrlController.
+   *
+   * @param presignedUrlService the presigned URL service
+   */
+  PresignedUrlController(PresignedUrlService presignedUrlService) {
+    this.presignedUrlService = presignedUrlService;
+  }
+
+  /**
+   * API to get a URL to upload a file directly to S3. The returned headers must be sent with the
+   * upload, and the upload should be followed by a call to {@link #completeUpload}.
+   *
+   * @param storageDto the bucketName, folderPath and customMetadata of the file
+   * @param fileName   the name of the file
+   * @return Response entity with status code 200 and the URL
+   */
+  @PostMapping("/upload")
+  public ResponseEntity<PresignedUrlDto> presignUpload(final StorageDto storageDto,
+      @RequestParam("fileName") final String fileName) {
+
+    log.info("Request receive to presign upload of file: {} with {}", fileName, storageDto);
+    if (Objects.nonNull(storageDto.getBucketName())
+        && Objects.nonNull(storageDto.getFolderPath())) {
+      return ResponseEntity.ok(presignedUrlService.presignUpload(storageDto,
+          FilenameUtils.getName(fileName)));
+    } else {
+      throw new AwsStorageException(
+          "Bucket Name, File Name and Folder Path all parameters required to presign upload");
+    }
+  }
+
+  /**
+   * API to record a file uploaded with a presigned URL.
+   *
+   * @param bucketName name of the bucket
+   * @param key        file location with name
+   * @return Response entity with status code 200 and the metadata of the uploaded file
+   */
+  @PostMapping("/upload/complete")
+  public ResponseEntity<Map<String, String>> completeUpload(
+      @RequestParam("bucketName") final String bucketName,
+      @RequestParam("key") final String key) {
+
+    log.info("Request receive to complete presigned upload of file: {} to bucket: {}", key,
+        bucketName);
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    return ResponseEntity.ok(presignedUrlService.completeUpload(storageDto));
+  }
+
+  /**
+   * API to get a URL to download a file directly from S3.
+   *
+   * @param bucketName name of the bucket
+   * @param key        file location with name
+   * @return Response entity with status code 200 and the URL
+   */
+  @GetMapping("/download")
+  public ResponseEntity<PresignedUrlDto> presignDownload(
+      @RequestParam("bucketName") final String bucketName,
+      @RequestParam("key") final String key) {
+
+    log.info("Request receive to presign download of file: {} from bucket: {}", key, bucketName);
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    return ResponseEntity.ok(presignedUrlService.presignDownload(storageDto));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.controller;
+
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadJobDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+import uk.nhs.hee.tis.common.upload.service.UploadJobService;
+
+/**
+ * Controller to handle asynchronous uploads. A client sends files as it would to
+ * {@code /api/storage/upload}, the request is accepted once the files are received and the client
+ * polls the job for the result of each file.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/storage/upload/jobs")
+public class UploadJobController {
+
+  private final UploadJobService uploadJobService;
+
+  /**
+   * Constructor for UploadJobController.
+   *
+   * @param uploadJobService the upload job service
+   */
+  UploadJobController(UploadJobService uploadJobService) {
+    this.uploadJobService = uploadJobService;
+  }
+
+  /**
+   * API to upload files to S3 in the background.
+   *
+   * @param storageDto to upload
+   * @return Response entity with status code 202, the job location and the job
+   */
+  @PostMapping
+  public ResponseEntity<UploadJobDto> submitJob(final StorageDto storageDto) {
+
+    log.info("Request receive to upload files in the background: {}", storageDto);
+    if (Objects.nonNull(storageDto.getBucketName()) && Objects.nonNull(storageDto.getFolderPath())
+        && Objects.nonNull(storageDto.getFiles()) && !storageDto.getFiles().isEmpty()) {
+      final var job = uploadJobService.submit(storageDto);
+      return ResponseEntity.accepted()
+          .location(ServletUriComponentsBuilder.fromCurrentRequest()
+              .path("/{jobId}").buildAndExpand(job.getJobId()).toUri())
+          .body(job);
+    } else {
+      throw new AwsStorageException(
+          "Bucket Name, File and Folder Path all parameters required to upload files");
+    }
+  }
+
+  /**
+   * API to get the status of an upload job.
+   *
+   * @param jobId the ID of the job
+   * @return Response entity with status code 200 and the job, with the result of each file
+   */
+  @GetMapping("/{jobId}")
+  public ResponseEntity<UploadJobDto> getJob(@PathVariable("jobId") final String jobId) {
+    return ResponseEntity.ok(uploadJobService.getStatus(jobId));
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.controller;
+
+import java.io.IOException;
+import java.util.Objects;
+import javax.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+import uk.nhs.hee.tis.common.upload.service.UploadSessionService;
+
+/**
+ * Controller to handle resumable upload sessions. A client creates a session, sends the file as
+ * chunks of the session's chunk size each with the offset it starts at, and completes the session
+ * once every chunk is acknowledged. After a dropped connection the session status gives the
+ * offset to resume from.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/storage/upload/sessions")
+public class UploadSessionController {
+
+  private final UploadSessionService uploadSessionService;
+
+  /**
+   * Constructor for UploadSessionController.
+   *
+   * @param uploadSessionService the upload session service
+   */
+  UploadSessionController(UploadSessionService uploadSessionService) {
+    this.uploadSessionService = uploadSessionService;
+  }
+
+  /**
+   * API to start a resumable upload.
+   *
+   * @param storageDto the bucketName, folderPath and customMetadata of the file
+   * @param fileName   the name of the file
+   * @return Response entity with status code 201, the session location and the session
+   */
+  @PostMapping
+  public ResponseEntity<UploadSessionDto> createSession(final StorageDto storageDto,
+      @RequestParam("fileName") final String fileName) {
+
+    log.info("Request receive to create upload session for file: {} with {}", fileName,
+        storageDto);
+    if (Objects.nonNull(storageDto.getBucketName())
+        && Objects.nonNull(storageDto.getFolderPath())) {
+      final var session = uploadSessionService.create(storageDto,
+          FilenameUtils.getName(fileName));
+      return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+              .path("/{sessionId}").buildAndExpand(session.getSessionId()).toUri())
+          .body(session);
+    } else {
+      throw new AwsStorageException(
+          "Bucket Name, File Name and Folder Path all parameters required to create a session");
+    }
+  }
+
+  /**
+   * API to get the status of an upload session.
+   *
+   * @param sessionId the ID of the session
+   * @return Response entity with status code 200 and the session, including the bytes received
+   */
+  @GetMapping("/{sessionId}")
+  public ResponseEntity<UploadSessionDto> getSession(
+      @PathVariable("sessionId") final String sessionId) {
+    return ResponseEntity.ok(uploadSessionService.getStatus(sessionId));
+  }
+
+  /**
+   * API to send the chunk of an upload session starting at an offset, the request body is the
+   * chunk content and must have a Content-Length.
+   *
+   * @param sessionId the ID of the session
+   * @param offset    the offset of the chunk in the file
+   * @param request   the request with the chunk content
+   * @return Response entity with status code 200 and the session, including the bytes received
+   * @throws IOException if the request body could not be read
+   */
+  @PutMapping("/{sessionId}")
+  public ResponseEntity<UploadSessionDto> uploadChunk(
+      @PathVariable("sessionId") final String sessionId,
+      @RequestParam("offset") final long offset,
+      final HttpServletRequest request) throws IOException {
+
+    log.info("Request receive to upload chunk at offset: {} of upload session: {}", offset,
+        sessionId);
+    return ResponseEntity.ok(uploadSessionService.uploadChunk(sessionId, offset,
+        request.getInputStream(), request.getContentLengthLong()));
+  }
+
+  /**
+   * API to complete an upload session, storing the file.
+   *
+   * @param sessionId the ID of the session
+   * @return Response entity with status code 200
+   */
+  @PostMapping("/{sessionId}/complete")
+  public ResponseEntity<Void> completeSession(
+      @PathVariable("sessionId") final String sessionId) {
+
+    log.info("Request receive to complete upload session: {}", sessionId);
+    uploadSessionService.complete(sessionId);
+    return ResponseEntity.ok().build();
+  }
+}
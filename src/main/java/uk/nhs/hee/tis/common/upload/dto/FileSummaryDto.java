@@ -3,6 +3,7 @@ package uk.nhs.hee.tis.common.upload.dto;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.time.Instant;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,5 +22,8 @@ public class FileSummaryDto {
   private String key;
   private String fileName;
   private String fileType;
+  private Long size;
+  private String etag;
+  private Instant lastModified;
   private Map<String, String> customMetadata;
 }
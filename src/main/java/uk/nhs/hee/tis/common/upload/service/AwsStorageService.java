@@ -1,54 +1,87 @@
 package uk.nhs.hee.tis.common.upload.service;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.io.FilenameUtils.getExtension;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.ByteArrayInputStream;
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Comparator;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.BucketVersioningStatus;
-import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetBucketVersioningRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
-import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.ObjectVersion;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
+import uk.nhs.hee.tis.common.upload.dto.ConditionalRequestDto;
 import uk.nhs.hee.tis.common.upload.dto.DeleteEventDto;
+import uk.nhs.hee.tis.common.upload.dto.FileListDto;
 import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+import uk.nhs.hee.tis.common.upload.dto.FolderStatsDto;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
 import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.StoredContentDto;
+import uk.nhs.hee.tis.common.upload.enumeration.Consistency;
 import uk.nhs.hee.tis.common.upload.enumeration.DeleteType;
 import uk.nhs.hee.tis.common.upload.enumeration.LifecycleState;
+import uk.nhs.hee.tis.common.upload.enumeration.ListMetadataMode;
 import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+import uk.nhs.hee.tis.common.upload.service.ObjectContentCache.CachedContent;
 
 /**
  * A service providing AWS storage functionality.
@@ -57,103 +90,756 @@ import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
 @Service
 public class AwsStorageService {
 
-  public static final String SORT_DELIM = ",";
-  private static final String USER_METADATA_FILE_NAME = "name";
-  private static final String USER_METADATA_FILE_TYPE = "type";
+  public static final int MAX_PAGE_SIZE = 1000;
+  /**
+   * The largest object which can be copied in a single CopyObject request.
+   */
+  static final long MAX_COPY_SIZE = DataSize.ofGigabytes(5).toBytes();
+  private static final String KEY_CURSOR_PREFIX = "k:";
+  static final String USER_METADATA_FILE_NAME = "name";
+  static final String USER_METADATA_FILE_TYPE = "type";
+  static final String USER_METADATA_CONTENT_SHA256 = "sha256";
   private static final String USER_METADATA_DELETE_TYPE = "deletetype";
   private static final String USER_METADATA_FIXED_FIELDS = "fixedfields";
-  private static final String USER_METADATA_LIFE_CYCLE_STATE = "lifecyclestate";
+  static final String USER_METADATA_LIFE_CYCLE_STATE = "lifecyclestate";
   private static final String OBJECT_CONTENT_LIFE_CYCLE_STATE = "lifecycleState";
+  /**
+   * User metadata maintained by the service, which clients may not set as custom metadata.
+   */
+  private static final Set<String> RESERVED_USER_METADATA = Set.of(USER_METADATA_FILE_NAME,
+      USER_METADATA_FILE_TYPE, USER_METADATA_CONTENT_SHA256, USER_METADATA_LIFE_CYCLE_STATE);
   private final S3Client amazonS3;
   private final AwsSnsService awsSnsService;
   private final ObjectMapper objectMapper;
+  private final ObjectMetadataResolver metadataResolver;
+  private final ObjectMetadataCache metadataCache;
+  private final Optional<MetadataIndex> metadataIndex;
+  private final MultipartUploader multipartUploader;
+  private final ExecutorService fileUploadExecutor;
+  private final BucketRegistry bucketRegistry;
+  private final StorageCodec storageCodec;
+  private final ObjectContentCache contentCache;
+  private final Set<String> registeredBuckets = ConcurrentHashMap.newKeySet();
 
-  AwsStorageService(S3Client amazonS3, AwsSnsService awsSnsService, ObjectMapper objectMapper) {
+  AwsStorageService(S3Client amazonS3, AwsSnsService awsSnsService, ObjectMapper objectMapper,
+      ObjectMetadataResolver metadataResolver, ObjectMetadataCache metadataCache,
+      Optional<MetadataIndex> metadataIndex, MultipartUploader multipartUploader,
+      @Qualifier("fileUploadExecutor") ExecutorService fileUploadExecutor,
+      BucketRegistry bucketRegistry, StorageCodec storageCodec, ObjectContentCache contentCache) {
     this.amazonS3 = amazonS3;
     this.awsSnsService = awsSnsService;
     this.objectMapper = objectMapper;
-  }
-
-  private static String getStringProperty(final FileSummaryDto o, final String name) {
-    try {
-      return (String) PropertyUtils.getNestedProperty(o, name);
-    } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-      log.warn("Couldn't find the sort property [{}] on FileSummary:{}", name, o, e);
-      return null;
-    }
+    this.metadataResolver = metadataResolver;
+    this.metadataCache = metadataCache;
+    this.metadataIndex = metadataIndex;
+    this.multipartUploader = multipartUploader;
+    this.fileUploadExecutor = fileUploadExecutor;
+    this.bucketRegistry = bucketRegistry;
+    this.storageCodec = storageCodec;
+    this.contentCache = contentCache;
   }
 
   /**
-   * Upload files in the bucket with a prefix of folderPath, specified in {@code storageDto}.
+   * Upload files in the bucket with a prefix of folderPath, specified in {@code storageDto}. The
+   * files are uploaded concurrently and files above the multipart threshold are uploaded in parts.
+   * If any file fails then the files which were uploaded are deleted again, where the bucket is
+   * versioned only the uploaded versions are deleted.
    *
    * @param storageDto representation of files to be uploaded to S3
-   * @return result of attempts to store the objects
+   * @return result of attempts to store the objects, in the order of the files
+   * @throws AwsStorageException if any file could not be uploaded, naming each failed file
    */
   public List<PutObjectResponse> upload(final StorageDto storageDto) {
     final var bucketName = storageDto.getBucketName();
-    final var folderPath = storageDto.getFolderPath();
     final var files = storageDto.getFiles();
-    final var customMetadata = storageDto.getCustomMetadata();
 
-    createBucketIfNotExist(bucketName);
+    checkCustomMetadata(storageDto.getCustomMetadata());
+
+    bucketRegistry.ensureExists(bucketName);
+
+    final List<CompletableFuture<FileUpload>> uploads = files.stream()
+        .map(file -> CompletableFuture.supplyAsync(() -> uploadFile(storageDto, file),
+            fileUploadExecutor))
+        .toList();
 
-    return files.stream().map(file -> {
+    final List<FileUpload> results = new ArrayList<>();
+    final List<String> failures = new ArrayList<>();
+    for (int i = 0; i < uploads.size(); i++) {
       try {
-        final var key = format("%s/%s", folderPath, file.getOriginalFilename());
+        results.add(uploads.get(i).join());
+      } catch (CompletionException e) {
+        failures.add(format("%s: %s", files.get(i).getOriginalFilename(),
+            e.getCause().getMessage()));
+      }
+    }
 
-        final HeadObjectResponse head = amazonS3
-            .headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
-                .build());
-        Map<String, String> metadata = new HashMap<>(head.metadata());
-        if (customMetadata != null) {
-          metadata.putAll(customMetadata);
-        }
-        metadata.put(USER_METADATA_FILE_NAME, file.getOriginalFilename());
-        metadata.put(
-            USER_METADATA_FILE_TYPE,
-            getExtension(file.getOriginalFilename())
-        );
+    if (!failures.isEmpty()) {
+      rollbackUpload(bucketName, results);
+      throw new AwsStorageException(
+          format("Failed to upload files: %s", String.join("; ", failures)));
+    }
+    return results.stream().map(FileUpload::response).toList();
+  }
 
-        PutObjectRequest request = PutObjectRequest.builder().bucket(bucketName).key(key)
-            .metadata(metadata).contentLength(file.getSize()).build();
+  /**
+   * Upload a file unless an object with the same content and metadata is already stored, the
+   * content is compared by the SHA-256 digest stored in the object's user metadata. Where only the
+   * metadata differs the object is copied on to itself with the new metadata. Files below the
+   * multipart threshold are compressed when the codec selects them.
+   *
+   * <p>The digest is read in a pass of its own before the upload, rather than while the content is
+   * sent, as it decides whether the content is sent at all and is part of the user metadata which
+   * S3 takes before the content, at the start of a PUT or multipart upload.
+   */
+  private FileUpload uploadFile(final StorageDto storageDto, final MultipartFile file) {
+    final var bucketName = storageDto.getBucketName();
+    final var customMetadata = storageDto.getCustomMetadata();
 
+    try {
+      final var key = format("%s/%s", storageDto.getFolderPath(), file.getOriginalFilename());
+
+      final HeadObjectResponse head = amazonS3
+          .headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+              .build());
+      Map<String, String> changes = new HashMap<>();
+      if (customMetadata != null) {
+        changes.putAll(lowerCaseKeys(customMetadata));
+      }
+      changes.put(USER_METADATA_FILE_NAME, file.getOriginalFilename());
+      changes.put(
+          USER_METADATA_FILE_TYPE,
+          getExtension(file.getOriginalFilename())
+      );
+      changes.put(USER_METADATA_CONTENT_SHA256, sha256(file));
+      Map<String, String> metadata = new HashMap<>(head.metadata());
+      metadata.putAll(changes);
+
+      PutObjectRequest request = PutObjectRequest.builder().bucket(bucketName).key(key)
+          .metadata(metadata).contentLength(file.getSize()).build();
+
+      final boolean sameContent = Objects.equals(head.metadata().get(USER_METADATA_CONTENT_SHA256),
+          changes.get(USER_METADATA_CONTENT_SHA256));
+      final boolean sameMetadata = changes.entrySet().stream().allMatch(
+          change -> Objects.equals(change.getValue(), head.metadata().get(change.getKey())));
+
+      final PutObjectResponse response;
+      long storedSize = file.getSize();
+      if (sameContent && sameMetadata) {
+        log.info("file: {} is unchanged in bucket: {} with key: {}, skipping upload",
+            file.getOriginalFilename(), bucketName, key);
+        return new FileUpload(key, PutObjectResponse.builder().eTag(head.eTag())
+            .versionId(head.versionId()).build(), false);
+      } else if (sameContent && head.contentLength() != null
+          && head.contentLength() <= MAX_COPY_SIZE) {
+        log.info("file: {} content is unchanged in bucket: {} with key: {}, updating metadata",
+            file.getOriginalFilename(), bucketName, key);
+        response = copyWithMetadata(bucketName, key, head, metadata);
+      } else if (multipartUploader.isMultipart(file.getSize())) {
+        log.info("uploading file: {} to bucket: {} with key: {}", file.getName(), bucketName, key);
+        try (InputStream content = file.getInputStream()) {
+          response = multipartUploader.upload(bucketName, key, metadata, content);
+        }
+      } else if (storageCodec.shouldCompress(metadata)) {
+        log.info("uploading compressed file: {} to bucket: {} with key: {}", file.getName(),
+            bucketName, key);
+        final byte[] content = storageCodec.encode(file.getBytes());
+        storedSize = content.length;
+        response = amazonS3.putObject(request.toBuilder().contentLength(storedSize)
+            .contentEncoding(StorageCodec.GZIP).build(), RequestBody.fromBytes(content));
+      } else {
         log.info("uploading file: {} to bucket: {} with key: {}", file.getName(), bucketName, key);
-        return amazonS3.putObject(request,
+        response = amazonS3.putObject(request,
             RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+      }
+      invalidateCached(bucketName, key);
+      indexObject(bucketName, key, response, storedSize, metadata);
+      return new FileUpload(key, response, true);
+
+    } catch (Exception e) {
+      log.error("Failed to upload file: {} in bucket: {}", file.getOriginalFilename(), bucketName,
+          e);
+      forgetMissingBucket(bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
 
+  /**
+   * Delete the object versions stored by a partially failed upload, so that the previous version of
+   * each object is current again. Without a version, as in an unversioned bucket, the upload
+   * replaced an existing object and deleting it would lose the object, so it is left as uploaded.
+   * A failure to delete is only logged so that the original upload failure is reported.
+   *
+   * @param bucketName the bucket uploaded to
+   * @param uploads    the successful file uploads
+   */
+  private void rollbackUpload(final String bucketName, final List<FileUpload> uploads) {
+    for (FileUpload upload : uploads) {
+      if (!upload.stored()) {
+        continue;
+      }
+      final var key = upload.key();
+      final var response = upload.response();
+      if (response.versionId() == null) {
+        log.warn("Not rolling back upload of key: {} in unversioned bucket: {}", key, bucketName);
+        continue;
+      }
+      try {
+        log.info("Rolling back upload of key: {} version: {} in bucket: {}", key,
+            response.versionId(), bucketName);
+        amazonS3.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(key)
+            .versionId(response.versionId()).build());
+        invalidateCached(bucketName, key);
+        metadataIndex.ifPresent(index -> updateIndex(bucketName, key,
+            () -> index.remove(bucketName, key)));
       } catch (Exception e) {
-        log.error("Failed to upload file: {} in bucket: {}", file.getOriginalFilename(), bucketName,
-            e);
-        throw new AwsStorageException(e.getMessage());
+        log.error("Failed to roll back upload of key: {} in bucket: {}", key, bucketName, e);
+      }
+    }
+  }
+
+  /**
+   * Upload a file streamed from the request to the bucket with a prefix of folderPath, specified
+   * in {@code storageDto}. The content is sent to S3 a part at a time as it is read, so the file is
+   * never held in full.
+   *
+   * @param storageDto holder for the bucket, folderPath and custom metadata of the file
+   * @param fileName   the original name of the file
+   * @param content    the file content, read until the end of the stream but not closed
+   * @return result of the attempt to store the object
+   */
+  public PutObjectResponse uploadStream(final StorageDto storageDto, final String fileName,
+      final InputStream content) {
+    final var bucketName = storageDto.getBucketName();
+    final var customMetadata = storageDto.getCustomMetadata();
+
+    try {
+      bucketRegistry.ensureExists(bucketName);
+      final var key = format("%s/%s", storageDto.getFolderPath(), fileName);
+
+      final var metadata = newObjectMetadata(customMetadata, fileName);
+
+      log.info("streaming file: {} to bucket: {} with key: {}", fileName, bucketName, key);
+      final var response = multipartUploader.upload(bucketName, key, metadata, content);
+      recordStoredObject(bucketName, key, response, null, metadata);
+      return response;
+    } catch (Exception e) {
+      log.error("Failed to stream file: {} to bucket: {}", fileName, bucketName, e);
+      forgetMissingBucket(bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Upload a file held in memory to the bucket with a prefix of folderPath, specified in
+   * {@code storageDto}. Unlike {@link #upload(StorageDto)} any existing object is replaced without
+   * being checked first, the file is compressed when the codec selects it.
+   *
+   * @param storageDto holder for the bucket, folderPath and custom metadata of the file
+   * @param fileName   the original name of the file
+   * @param content    the file content
+   * @return result of the attempt to store the object
+   */
+  public PutObjectResponse uploadBytes(final StorageDto storageDto, final String fileName,
+      final byte[] content) {
+    final var bucketName = storageDto.getBucketName();
+
+    try {
+      bucketRegistry.ensureExists(bucketName);
+      final var key = format("%s/%s", storageDto.getFolderPath(), fileName);
+
+      final var metadata = newObjectMetadata(storageDto.getCustomMetadata(), fileName);
+      metadata.put(USER_METADATA_CONTENT_SHA256, sha256(new ByteArrayInputStream(content)));
+
+      final var request = PutObjectRequest.builder().bucket(bucketName).key(key)
+          .metadata(metadata);
+      byte[] storedContent = content;
+      if (storageCodec.shouldCompress(metadata)) {
+        storedContent = storageCodec.encode(content);
+        request.contentEncoding(StorageCodec.GZIP);
+      }
+      final long contentLength = storedContent.length;
+
+      log.info("uploading file: {} to bucket: {} with key: {}", fileName, bucketName, key);
+      final var response = amazonS3.putObject(request.contentLength(contentLength).build(),
+          RequestBody.fromBytes(storedContent));
+      recordStoredObject(bucketName, key, response, contentLength, metadata);
+      return response;
+    } catch (Exception e) {
+      log.error("Failed to upload file: {} to bucket: {}", fileName, bucketName, e);
+      forgetMissingBucket(bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Build the user metadata of a new object.
+   *
+   * @param customMetadata the custom metadata given for the object, may be null
+   * @param fileName       the original name of the file
+   * @return the custom metadata with the file name and type
+   * @throws AwsStorageException if the custom metadata sets metadata reserved by the service
+   */
+  static Map<String, String> newObjectMetadata(final Map<String, String> customMetadata,
+      final String fileName) {
+    checkCustomMetadata(customMetadata);
+    Map<String, String> metadata = new HashMap<>();
+    if (customMetadata != null) {
+      metadata.putAll(customMetadata);
+    }
+    metadata.put(USER_METADATA_FILE_NAME, fileName);
+    metadata.put(USER_METADATA_FILE_TYPE, getExtension(fileName));
+    return metadata;
+  }
+
+  /**
+   * Record an object stored outside of this service's own upload methods, so that cached and
+   * indexed metadata for the key is current.
+   *
+   * @param bucketName the bucket the object was stored in
+   * @param key        the object key
+   * @param response   the result of storing the object
+   * @param size       the object size, or null if not known
+   * @param metadata   the user metadata of the object
+   */
+  void recordStoredObject(final String bucketName, final String key,
+      final PutObjectResponse response, final Long size, final Map<String, String> metadata) {
+    invalidateCached(bucketName, key);
+    indexObject(bucketName, key, response, size, metadata);
+  }
+
+  /**
+   * Merge new custom metadata in to the user metadata of an existing object. The object is copied
+   * on to itself with the merged metadata by S3, so the content is not sent through the service.
+   * The copy is conditional on the object not having changed since its metadata was read.
+   *
+   * @param storageDto holder for the bucket, object key and the custom metadata to merge
+   * @return the merged user metadata of the object
+   * @throws AwsStorageException if the metadata could not be updated
+   */
+  public Map<String, String> updateMetadata(final StorageDto storageDto) {
+    final var bucketName = storageDto.getBucketName();
+    final var key = storageDto.getKey();
+    checkCustomMetadata(storageDto.getCustomMetadata());
+
+    try {
+      final HeadObjectResponse head = amazonS3
+          .headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build());
+      if (head.contentLength() != null && head.contentLength() > MAX_COPY_SIZE) {
+        throw new AwsStorageException(
+            format("Metadata can not be updated for objects larger than %s bytes",
+                MAX_COPY_SIZE));
       }
-    }).toList();
+      Map<String, String> metadata = new HashMap<>(head.metadata());
+      metadata.putAll(lowerCaseKeys(storageDto.getCustomMetadata()));
+
+      log.info("Updating metadata of key: {} in bucket: {}", key, bucketName);
+      final var response = copyWithMetadata(bucketName, key, head, metadata);
+      invalidateCached(bucketName, key);
+      indexObject(bucketName, key, response, head.contentLength(), metadata);
+      return metadata;
+    } catch (AwsStorageException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Failed to update metadata of key: {} in bucket: {}", key, bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
   }
 
   /**
-   * Get the object contents as bytes.
+   * Check that custom metadata given by a client does not set the user metadata maintained by the
+   * service, such as the content digest or file type.
+   *
+   * @param customMetadata the custom metadata given for an object, may be null
+   * @throws AwsStorageException if any reserved metadata is set
+   */
+  static void checkCustomMetadata(final Map<String, String> customMetadata) {
+    if (customMetadata == null) {
+      return;
+    }
+    final List<String> reserved = customMetadata.keySet().stream()
+        .filter(name -> RESERVED_USER_METADATA.contains(name.toLowerCase()))
+        .sorted()
+        .toList();
+    if (!reserved.isEmpty()) {
+      throw new AwsStorageException(
+          format("Custom metadata may not set reserved metadata: %s", String.join(", ", reserved)));
+    }
+  }
+
+  /**
+   * Lower-case the keys of new user metadata, as S3 returns them, so they replace rather than
+   * duplicate the existing metadata they are merged in to.
+   */
+  private static Map<String, String> lowerCaseKeys(final Map<String, String> metadata) {
+    Map<String, String> lowerCased = new HashMap<>();
+    metadata.forEach((name, value) -> lowerCased.put(name.toLowerCase(), value));
+    return lowerCased;
+  }
+
+  /**
+   * Replace the user metadata of an object by copying it on to itself, the copy is conditional on
+   * the object being the version described by {@code head}. The storage class and server side
+   * encryption are carried over, as S3 would otherwise apply the bucket defaults to the copy.
+   */
+  private PutObjectResponse copyWithMetadata(final String bucketName, final String key,
+      final HeadObjectResponse head, final Map<String, String> metadata) {
+    final var response = amazonS3.copyObject(CopyObjectRequest.builder()
+        .sourceBucket(bucketName).sourceKey(key)
+        .destinationBucket(bucketName).destinationKey(key)
+        .copySourceIfMatch(head.eTag())
+        .metadataDirective(MetadataDirective.REPLACE)
+        .metadata(metadata)
+        .contentType(head.contentType())
+        .contentDisposition(head.contentDisposition())
+        .contentEncoding(head.contentEncoding())
+        .contentLanguage(head.contentLanguage())
+        .cacheControl(head.cacheControl())
+        .storageClass(head.storageClassAsString())
+        .serverSideEncryption(head.serverSideEncryptionAsString())
+        .ssekmsKeyId(head.ssekmsKeyId())
+        .bucketKeyEnabled(head.bucketKeyEnabled())
+        .build());
+    return PutObjectResponse.builder()
+        .eTag(response.copyObjectResult().eTag())
+        .versionId(response.versionId())
+        .build();
+  }
+
+  /**
+   * Get the object contents as bytes, decompressed if the object is stored compressed.
    *
    * @param storageDto holder for the bucket and object key
    * @return byte array of the object content
    */
   public byte[] download(final StorageDto storageDto) {
+    return download(storageDto, false).getContent();
+  }
+
+  /**
+   * Get the object contents as bytes. A compressed object is returned as stored, with its
+   * Content-Encoding, when the encoding is accepted, otherwise it is decompressed.
+   *
+   * @param storageDto  holder for the bucket and object key
+   * @param acceptsGzip whether gzip compressed content may be returned
+   * @return the object content and its Content-Encoding, if it is returned compressed
+   */
+  public StoredContentDto download(final StorageDto storageDto, final boolean acceptsGzip) {
+    return download(storageDto, new ConditionalRequestDto(), acceptsGzip);
+  }
+
+  /**
+   * Get the object contents as bytes, unless the client's copy is current. The conditions are
+   * evaluated by S3 so that the content is not transferred when it is not modified. Small objects
+   * are cached, a cached object is revalidated by its ETag instead and the client's conditions are
+   * evaluated against it. A compressed object is returned as stored, with its Content-Encoding,
+   * when the encoding is accepted, otherwise it is decompressed and its entity tag is weak.
+   *
+   * @param storageDto  holder for the bucket and object key
+   * @param conditions  the If-None-Match and If-Modified-Since validators of the client's copy
+   * @param acceptsGzip whether gzip compressed content may be returned
+   * @return the object content, its Content-Encoding and validators, or not modified
+   */
+  public StoredContentDto download(final StorageDto storageDto,
+      final ConditionalRequestDto conditions, final boolean acceptsGzip) {
+    final String bucketName = storageDto.getBucketName();
+    final String key = storageDto.getKey();
     try {
-      log.info("Download file: {} from bucket: {} with key: {}", storageDto.getKey(),
-          storageDto.getBucketName(), storageDto.getKey());
-      GetObjectRequest request = GetObjectRequest.builder().bucket(storageDto.getBucketName())
-          .key(storageDto.getKey()).build();
+      log.info("Download file: {} from bucket: {} with key: {}", key, bucketName, key);
+      final CachedContent cached = contentCache.get(bucketName, key);
+      final var request = GetObjectRequest.builder().bucket(bucketName).key(key);
+      if (cached != null) {
+        request.ifNoneMatch(cached.eTag());
+      } else {
+        request.ifNoneMatch(s3IfNoneMatch(conditions))
+            .ifModifiedSince(s3IfModifiedSince(conditions));
+      }
 
-      try (ResponseInputStream<GetObjectResponse> s3Object = amazonS3.getObject(request)) {
-        byte[] content = s3Object.readAllBytes();
+      CachedContent stored;
+      try (ResponseInputStream<GetObjectResponse> s3Object = amazonS3.getObject(request.build())) {
+        final GetObjectResponse response = s3Object.response();
+        stored = new CachedContent(s3Object.readAllBytes(), response.contentEncoding(),
+            response.eTag(), response.lastModified());
+        contentCache.put(bucketName, key, stored);
         log.info("File downloaded successfully.");
-        return content;
+      } catch (S3Exception e) {
+        if (cached == null || !isNotModified(e)) {
+          throw e;
+        }
+        log.info("Cached file: {} from bucket: {} is current", key, bucketName);
+        stored = cached;
       }
+      return storedContent(stored, conditions, acceptsGzip);
     } catch (Exception e) {
+      if (isNotModified(e)) {
+        log.info("File: {} from bucket: {} not modified", storageDto.getKey(),
+            storageDto.getBucketName());
+        final var notModified = (S3Exception) e;
+        return StoredContentDto.builder().notModified(true)
+            .etag(notModifiedETag(notModified, conditions))
+            .lastModified(notModifiedLastModified(notModified))
+            .build();
+      }
       log.error("Fail to download file: {} from bucket: {}", storageDto.getKey(),
           storageDto.getBucketName(), e);
       throw new AwsStorageException(e.getMessage());
     }
   }
 
+  /**
+   * The content to return for an object version, or not modified when the client's copy is
+   * current.
+   */
+  private StoredContentDto storedContent(final CachedContent stored,
+      final ConditionalRequestDto conditions, final boolean acceptsGzip) throws IOException {
+    final boolean isGzip = StorageCodec.isGzip(stored.contentEncoding());
+    final var content = StoredContentDto.builder().lastModified(stored.lastModified())
+        .etag(isGzip && !acceptsGzip && stored.eTag() != null
+            ? "W/" + stored.eTag() : stored.eTag());
+    if (isCurrent(conditions, stored)) {
+      return content.notModified(true).build();
+    }
+    if (isGzip && acceptsGzip) {
+      return content.content(stored.content()).contentEncoding(StorageCodec.GZIP).build();
+    }
+    return content.content(storageCodec.decode(new ByteArrayInputStream(stored.content()),
+        stored.contentEncoding()).readAllBytes()).build();
+  }
+
+  /**
+   * Open the object contents to be streamed, rather than read in to memory. A compressed object is
+   * streamed as stored, with its Content-Encoding, when the encoding is accepted, otherwise it is
+   * decompressed as it is read and its length is not known.
+   *
+   * @param storageDto  holder for the bucket and object key
+   * @param acceptsGzip whether gzip compressed content may be returned
+   * @return the object content, which the caller must close
+   */
+  public ObjectContentStream openDownload(final StorageDto storageDto,
+      final boolean acceptsGzip) {
+    return openDownload(storageDto, new ConditionalRequestDto(), acceptsGzip);
+  }
+
+  /**
+   * Open the object contents to be streamed, unless the client's copy is current. The conditions
+   * are evaluated by S3 so that no content is transferred when it is not modified.
+   *
+   * @param storageDto  holder for the bucket and object key
+   * @param conditions  the If-None-Match and If-Modified-Since validators of the client's copy
+   * @param acceptsGzip whether gzip compressed content may be returned
+   * @return the object content, which the caller must close, or an empty not modified stream
+   * @see #openDownload(StorageDto, boolean)
+   */
+  public ObjectContentStream openDownload(final StorageDto storageDto,
+      final ConditionalRequestDto conditions, final boolean acceptsGzip) {
+    log.info("Open file: {} from bucket: {} for download", storageDto.getKey(),
+        storageDto.getBucketName());
+    ResponseInputStream<GetObjectResponse> object = null;
+    try {
+      object = amazonS3.getObject(GetObjectRequest.builder()
+          .bucket(storageDto.getBucketName()).key(storageDto.getKey())
+          .ifNoneMatch(s3IfNoneMatch(conditions))
+          .ifModifiedSince(s3IfModifiedSince(conditions))
+          .build());
+      final String contentEncoding = object.response().contentEncoding();
+      if (StorageCodec.isGzip(contentEncoding) && !acceptsGzip) {
+        return new ObjectContentStream(object, storageCodec.decode(object, contentEncoding),
+            null, null);
+      }
+      return new ObjectContentStream(object, object, object.response().contentLength(),
+          StorageCodec.isGzip(contentEncoding) ? StorageCodec.GZIP : null);
+    } catch (Exception e) {
+      if (object != null) {
+        object.abort();
+      }
+      if (isNotModified(e)) {
+        log.info("File: {} from bucket: {} not modified", storageDto.getKey(),
+            storageDto.getBucketName());
+        return ObjectContentStream.notModified(notModifiedETag((S3Exception) e, conditions),
+            notModifiedLastModified((S3Exception) e));
+      }
+      log.error("Fail to open file: {} from bucket: {} for download", storageDto.getKey(),
+          storageDto.getBucketName(), e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Resolve the byte ranges requested of an object against its current version. The ranges are
+   * not used, and the whole object should be sent, when the client's copy is current, when an
+   * If-Range validator does not match the object, when the object would have to be decompressed,
+   * or when multiple ranges add up to more than the object.
+   *
+   * @param storageDto  holder for the bucket and object key
+   * @param ranges      the ranges requested
+   * @param conditions  the validators of the client's copy and the If-Range validator the ranges
+   *                    depend on
+   * @param acceptsGzip whether gzip compressed content may be returned
+   * @return the ranges to send, which may be unsatisfiable, or empty to send the whole object
+   */
+  public Optional<RangedDownload> planRanges(final StorageDto storageDto,
+      final List<HttpRange> ranges, final ConditionalRequestDto conditions,
+      final boolean acceptsGzip) {
+    try {
+      final HeadObjectResponse head = amazonS3.headObject(HeadObjectRequest.builder()
+          .bucket(storageDto.getBucketName()).key(storageDto.getKey())
+          .ifNoneMatch(s3IfNoneMatch(conditions))
+          .ifModifiedSince(s3IfModifiedSince(conditions))
+          .build());
+      if (ranges.isEmpty() || head.contentLength() == null
+          || !ifRangeMatches(conditions.getIfRange(), head)
+          || (StorageCodec.isGzip(head.contentEncoding()) && !acceptsGzip)) {
+        return Optional.empty();
+      }
+
+      final long length = head.contentLength();
+      final List<RangedDownload.ByteRange> satisfiable = ranges.stream()
+          .filter(range -> range.getRangeStart(length) < length)
+          .map(range -> new RangedDownload.ByteRange(range.getRangeStart(length),
+              range.getRangeEnd(length)))
+          .toList();
+      if (satisfiable.size() > 1
+          && satisfiable.stream().mapToLong(RangedDownload.ByteRange::length).sum() > length) {
+        return Optional.empty();
+      }
+      return Optional.of(new RangedDownload(length, head.eTag(),
+          StorageCodec.isGzip(head.contentEncoding()) ? StorageCodec.GZIP : null, satisfiable));
+    } catch (Exception e) {
+      if (isNotModified(e)) {
+        return Optional.empty();
+      }
+      log.error("Fail to get file: {} from bucket: {} for a range request", storageDto.getKey(),
+          storageDto.getBucketName(), e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Open a byte range of an object to be streamed. The range is only read from the object version
+   * the ranges were resolved against.
+   *
+   * @param storageDto holder for the bucket and object key
+   * @param download   the ranges resolved by {@link #planRanges}
+   * @param range      the range to open
+   * @return the range content, which the caller must close
+   */
+  public ObjectContentStream openRange(final StorageDto storageDto,
+      final RangedDownload download, final RangedDownload.ByteRange range) {
+    try {
+      final var object = amazonS3.getObject(GetObjectRequest.builder()
+          .bucket(storageDto.getBucketName()).key(storageDto.getKey())
+          .range(range.toHeader())
+          .ifMatch(download.getETag())
+          .build());
+      return new ObjectContentStream(object, object, range.length(),
+          download.getContentEncoding());
+    } catch (Exception e) {
+      log.error("Fail to open range: {} of file: {} from bucket: {}", range.toHeader(),
+          storageDto.getKey(), storageDto.getBucketName(), e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Whether an If-Range validator matches an object, an entity tag must match exactly and a date
+   * must be the object's last modified date. Weak entity tags never match.
+   */
+  private static boolean ifRangeMatches(final String ifRange, final HeadObjectResponse head) {
+    if (ifRange == null) {
+      return true;
+    }
+    final String validator = ifRange.trim();
+    if (validator.startsWith("\"")) {
+      return validator.equals(head.eTag());
+    }
+    if (validator.startsWith("W/") || head.lastModified() == null) {
+      return false;
+    }
+    return head.lastModified().truncatedTo(ChronoUnit.SECONDS).equals(parseHttpDate(validator));
+  }
+
+  /**
+   * The If-None-Match entity tags for S3, which holds only strong entity tags. The comparison is
+   * weak, so a weak tag sent for decompressed content matches the stored object.
+   */
+  private static String s3IfNoneMatch(final ConditionalRequestDto conditions) {
+    final String ifNoneMatch = conditions.getIfNoneMatch();
+    return ifNoneMatch == null ? null : ifNoneMatch.replace("W/\"", "\"");
+  }
+
+  /**
+   * The If-Modified-Since date for S3, which is ignored when entity tags are given or the date is
+   * invalid.
+   */
+  private static Instant s3IfModifiedSince(final ConditionalRequestDto conditions) {
+    return conditions.getIfNoneMatch() == null && conditions.getIfModifiedSince() != null
+        ? parseHttpDate(conditions.getIfModifiedSince()) : null;
+  }
+
+  /**
+   * Whether the client's copy is current with an object version, evaluated as S3 evaluates the
+   * conditions for a version which has already been read.
+   */
+  private static boolean isCurrent(final ConditionalRequestDto conditions,
+      final CachedContent stored) {
+    final String ifNoneMatch = s3IfNoneMatch(conditions);
+    if (ifNoneMatch != null) {
+      return stored.eTag() != null && Arrays.stream(ifNoneMatch.split(","))
+          .map(String::trim)
+          .anyMatch(eTag -> eTag.equals("*") || eTag.equals(stored.eTag()));
+    }
+    final Instant ifModifiedSince = s3IfModifiedSince(conditions);
+    return ifModifiedSince != null && stored.lastModified() != null
+        && !stored.lastModified().truncatedTo(ChronoUnit.SECONDS).isAfter(ifModifiedSince);
+  }
+
+  private static boolean isNotModified(final Exception e) {
+    return e instanceof S3Exception s3Exception
+        && s3Exception.statusCode() == HttpStatus.NOT_MODIFIED.value();
+  }
+
+  /**
+   * The entity tag of a not modified object, which is weak when the client's copy was sent with a
+   * weak entity tag.
+   */
+  private static String notModifiedETag(final S3Exception e,
+      final ConditionalRequestDto conditions) {
+    return notModifiedHeader(e, HttpHeaders.ETAG)
+        .map(eTag -> conditions.getIfNoneMatch() != null
+            && conditions.getIfNoneMatch().contains("W/" + eTag) ? "W/" + eTag : eTag)
+        .orElse(null);
+  }
+
+  private static Instant notModifiedLastModified(final S3Exception e) {
+    return notModifiedHeader(e, HttpHeaders.LAST_MODIFIED)
+        .map(AwsStorageService::parseHttpDate)
+        .orElse(null);
+  }
+
+  private static Optional<String> notModifiedHeader(final S3Exception e, final String name) {
+    return Optional.ofNullable(e.awsErrorDetails())
+        .map(AwsErrorDetails::sdkHttpResponse)
+        .flatMap(response -> response.firstMatchingHeader(name));
+  }
+
+  /**
+   * Parse an HTTP date, returning null if it is not a valid date.
+   */
+  private static Instant parseHttpDate(final String date) {
+    try {
+      return ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Remove the cached metadata and content of an object which has been changed.
+   */
+  private void invalidateCached(final String bucketName, final String key) {
+    metadataCache.invalidate(bucketName, key);
+    contentCache.invalidate(bucketName, key);
+  }
+
   /**
    * Get the object contents as a string.
    *
@@ -164,7 +850,8 @@ public class AwsStorageService {
     try (ResponseInputStream<GetObjectResponse> object = amazonS3.getObject(
         GetObjectRequest.builder().bucket(storageDto.getBucketName()).key(storageDto.getKey())
             .build())) {
-      return IOUtils.toString(object, StandardCharsets.UTF_8);
+      return IOUtils.toString(storageCodec.decode(object, object.response().contentEncoding()),
+          StandardCharsets.UTF_8);
     } catch (Exception e) {
       log.error("Unable to retrieve object from S3 as a String", e);
       throw new AwsStorageException(e.getMessage());
@@ -176,33 +863,113 @@ public class AwsStorageService {
    *
    * @param storageDto      holder for the bucket and folderPath (key prefix)
    * @param includeMetadata whether all custom metadata should be included
-   * @param sort            A sort key and direction, See <a
-   *                        href="https://docs.spring.io/spring-data/rest/docs/current/reference/html/#paging-and-sorting.sorting">...</a>
+   * @param sort            Sort keys and directions, see {@link FileSummarySort#compile(String)}
    * @return a list of summaries for objects which were found
    */
   public List<FileSummaryDto> listFiles(final StorageDto storageDto,
       final boolean includeMetadata, final String sort) {
+    final var query = ListQueryDto.builder().includeCustomMetadata(includeMetadata).sort(sort)
+        .build();
+    return listFiles(storageDto, query).getFiles();
+  }
+
+  /**
+   * List objects in a bucket under a given prefix. When a page size is given only a single page is
+   * listed, starting from the cursor, otherwise all objects under the prefix are listed. Unless
+   * strong consistency is requested, buckets held in the metadata index are listed from the index
+   * without any S3 requests. With a metadata mode of NONE no user metadata is requested, the file
+   * name and type are derived from the key.
+   *
+   * @param storageDto holder for the bucket and folderPath (key prefix)
+   * @param query      the listing options, filtering, sorting and the limit are applied within
+   *                   the listed page, so a filtered page may hold fewer than the page size
+   * @return the summaries for objects which were found and the cursor for the next page, if any
+   */
+  public FileListDto listFiles(final StorageDto storageDto, final ListQueryDto query) {
+    return listFiles(storageDto, query, null);
+  }
+
+  /**
+   * List objects in a bucket under a given prefix, as {@link #listFiles(StorageDto, ListQueryDto)},
+   * unless the listing is unchanged. The entity tag of the listing is checked against the client's
+   * If-None-Match header before any object metadata is requested.
+   *
+   * @param storageDto  holder for the bucket and folderPath (key prefix)
+   * @param query       the listing options
+   * @param ifNoneMatch the entity tags of the client's copies of the listing, may be null
+   * @return the listing with its entity tag, or only the entity tag and a not modified flag when
+   *     the client's copy is current
+   */
+  public FileListDto listFiles(final StorageDto storageDto, final ListQueryDto query,
+      final String ifNoneMatch) {
     String bucketName = storageDto.getBucketName();
+    final Integer pageSize = query.getPageSize();
+    validatePageSize(pageSize);
+    if (query.getLimit() != null && query.getLimit() < 1) {
+      throw new AwsStorageException("Limit must be at least 1");
+    }
+    final var fileSort = FileSummarySort.compile(query.getSort());
+
     try {
-      final var listObjects = amazonS3
-          .listObjects(ListObjectsRequest.builder().bucket(bucketName)
-              .prefix(storageDto.getFolderPath() + "/")
-              .build());
-      var fileSummaryList = listObjects.contents().stream()
-          .map(summary -> buildFileSummary(summary, bucketName, includeMetadata)).collect(toList());
+      final String prefix = storageDto.getFolderPath() + "/";
+      final var filter = compileFilter(query, prefix);
+      final boolean includeCustomMetadata = isIncludeCustomMetadata(query);
+      final var cursor = decodeCursor(query.getCursor());
+      final var listingEtag = ListingEtag.start(bucketName, prefix, query);
+      List<FileSummaryDto> fileSummaryList = new ArrayList<>();
+      final String etag;
+      String nextCursor = null;
 
-      if (StringUtils.isNotBlank(sort) && sort.split(SORT_DELIM).length < 3) {
-        String[] sortEntry = sort.split(SORT_DELIM);
-        String sortKey = sortEntry[0];
-        String sortDirection = sortEntry[1];
+      if (isIndexServed(bucketName, query, cursor)) {
+        final var page = listIndexedPage(bucketName, prefix, pageSize, cursor);
+        page.objects().forEach(object -> listingEtag.add(object.getKey(), object.getETag(),
+            object.getLastModified()));
+        etag = listingEtag.value();
+        if (ListingEtag.matches(ifNoneMatch, etag)) {
+          return FileListDto.builder().etag(etag).notModified(true).build();
+        }
 
-        Function<FileSummaryDto, String> extractor = o -> getStringProperty(o, sortKey);
-        Comparator<String> comparator = Objects.equals(sortDirection, "desc")
-            ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        for (IndexedObjectDto object : page.objects()) {
+          if (filter.matchesKey(object.getKey()) && filter.matchesMetadata(object.getMetadata())) {
+            fileSummaryList.add(buildFileSummary(object, includeCustomMetadata));
+          }
+        }
+        nextCursor = page.nextCursor();
+      } else {
+        final List<S3Object> listedObjects;
+        if (pageSize == null) {
+          listedObjects = listAllObjects(bucketName, prefix, cursor);
+        } else {
+          final var page = listObjectsPage(bucketName, prefix, pageSize, cursor);
+          listedObjects = page.contents();
+          if (Boolean.TRUE.equals(page.isTruncated())) {
+            nextCursor = encodeCursor(page.nextContinuationToken());
+          }
+        }
+        listedObjects.forEach(object -> listingEtag.add(object.key(), object.eTag(),
+            object.lastModified()));
+        etag = listingEtag.value();
+        if (ListingEtag.matches(ifNoneMatch, etag)) {
+          return FileListDto.builder().etag(etag).notModified(true).build();
+        }
 
-        fileSummaryList.sort(Comparator.comparing(extractor, Comparator.nullsLast(comparator)));
+        final var objects = listedObjects.stream()
+            .filter(object -> filter.matchesKey(object.key()))
+            .toList();
+        final var metadataList = query.getMetadataMode() == ListMetadataMode.NONE
+            ? objects.stream().map(object -> deriveMetadata(object.key())).toList()
+            : metadataResolver.resolve(bucketName, objects);
+        for (int i = 0; i < objects.size(); i++) {
+          final var metadata = metadataList.get(i);
+          if (filter.matchesMetadata(metadata)) {
+            fileSummaryList.add(buildFileSummary(objects.get(i), bucketName, metadata,
+                includeCustomMetadata));
+          }
+        }
       }
-      return fileSummaryList;
+
+      final var files = fileSort.apply(fileSummaryList, query.getLimit());
+      return FileListDto.builder().files(files).nextCursor(nextCursor).etag(etag).build();
     } catch (Exception e) {
       log.error("Fail to list files from bucket: {} with folderPath: {}",
           bucketName, storageDto.getFolderPath(), e);
@@ -210,6 +977,91 @@ public class AwsStorageService {
     }
   }
 
+  /**
+   * Stream summaries of the objects in a bucket under a given prefix, unsorted. Each summary is
+   * passed to the consumer as soon as its metadata is available, one listed page at a time.
+   *
+   * @param storageDto holder for the bucket and folderPath (key prefix)
+   * @param query      the listing options, when a page size is given only that page is streamed
+   * @param consumer   the consumer of each summary, called on the calling thread
+   */
+  public void streamFiles(final StorageDto storageDto, final ListQueryDto query,
+      final Consumer<FileSummaryDto> consumer) {
+    String bucketName = storageDto.getBucketName();
+    final Integer pageSize = query.getPageSize();
+    validatePageSize(pageSize);
+
+    try {
+      final String prefix = storageDto.getFolderPath() + "/";
+      final var filter = compileFilter(query, prefix);
+      final boolean includeCustomMetadata = isIncludeCustomMetadata(query);
+      ListCursor cursor = decodeCursor(query.getCursor());
+
+      if (isIndexServed(bucketName, query, cursor)) {
+        final var page = listIndexedPage(bucketName, prefix, pageSize, cursor);
+        for (IndexedObjectDto object : page.objects()) {
+          if (filter.matchesKey(object.getKey()) && filter.matchesMetadata(object.getMetadata())) {
+            consumer.accept(buildFileSummary(object, includeCustomMetadata));
+          }
+        }
+        return;
+      }
+
+      do {
+        final var page = listObjectsPage(bucketName, prefix, pageSize, cursor);
+        final var objects = page.contents().stream()
+            .filter(object -> filter.matchesKey(object.key()))
+            .toList();
+        final BiConsumer<S3Object, Map<String, String>> summaryConsumer = (object, metadata) -> {
+          if (filter.matchesMetadata(metadata)) {
+            consumer.accept(buildFileSummary(object, bucketName, metadata, includeCustomMetadata));
+          }
+        };
+        if (query.getMetadataMode() == ListMetadataMode.NONE) {
+          objects.forEach(object -> summaryConsumer.accept(object, deriveMetadata(object.key())));
+        } else {
+          metadataResolver.resolveEach(bucketName, objects, summaryConsumer);
+        }
+        cursor = pageSize == null && Boolean.TRUE.equals(page.isTruncated())
+            ? new ListCursor(page.nextContinuationToken(), null) : null;
+      } while (cursor != null);
+    } catch (Exception e) {
+      log.error("Fail to stream files from bucket: {} with folderPath: {}",
+          bucketName, storageDto.getFolderPath(), e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Aggregate statistics of the objects in a bucket under a given prefix. Every listed page is
+   * added to the statistics as it is read, no per-object requests are made.
+   *
+   * @param storageDto holder for the bucket and folderPath (key prefix)
+   * @return the object count, total size, size histogram and counts by file type
+   */
+  public FolderStatsDto getStats(final StorageDto storageDto) {
+    String bucketName = storageDto.getBucketName();
+
+    try {
+      final String prefix = storageDto.getFolderPath() + "/";
+      final var stats = new FolderStatsAccumulator();
+      ListCursor cursor = null;
+
+      do {
+        final var page = listObjectsPage(bucketName, prefix, null, cursor);
+        page.contents().forEach(object -> stats.add(object.key(), object.size()));
+        cursor = Boolean.TRUE.equals(page.isTruncated())
+            ? new ListCursor(page.nextContinuationToken(), null) : null;
+      } while (cursor != null);
+
+      return stats.toDto(bucketName, storageDto.getFolderPath());
+    } catch (Exception e) {
+      log.error("Fail to get stats from bucket: {} with folderPath: {}",
+          bucketName, storageDto.getFolderPath(), e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
   /**
    * Delete the object identified by a key in a bucket.
    * The type of delete is determined by the USER_METADATA_DELETE_TYPE field in object metadata.
@@ -249,6 +1101,9 @@ public class AwsStorageService {
       amazonS3.deleteObject(
           DeleteObjectRequest.builder().bucket(storageDto.getBucketName()).key(storageDto.getKey())
               .build());
+      invalidateCached(storageDto.getBucketName(), storageDto.getKey());
+      metadataIndex.ifPresent(index -> updateIndex(storageDto.getBucketName(), storageDto.getKey(),
+          () -> index.remove(storageDto.getBucketName(), storageDto.getKey())));
       log.info("File is removed successfully.");
 
       DeleteEventDto deleteEventDto = DeleteEventDto.builder()
@@ -298,16 +1153,23 @@ public class AwsStorageService {
             LifecycleState.DELETED.name());
         strOriginalContent = jsonNode.toString();
       }
-      final var inputStream = new ByteArrayInputStream(strOriginalContent.getBytes());
+      byte[] content = strOriginalContent.getBytes(StandardCharsets.UTF_8);
 
       // Metadata
       Map<String, String> newMetadata = new HashMap<>(originalMetadata);
       newMetadata.put(USER_METADATA_LIFE_CYCLE_STATE, LifecycleState.DELETED.name());
+      newMetadata.put(USER_METADATA_CONTENT_SHA256, sha256(new ByteArrayInputStream(content)));
 
-      long contentLength = strOriginalContent.length();
-      final var request = PutObjectRequest.builder().bucket(bucket).key(key).metadata(newMetadata)
-          .contentLength(contentLength).build();
-      amazonS3.putObject(request, RequestBody.fromInputStream(inputStream, contentLength));
+      final var request = PutObjectRequest.builder().bucket(bucket).key(key).metadata(newMetadata);
+      if (storageCodec.shouldCompress(newMetadata)) {
+        content = storageCodec.encode(content);
+        request.contentEncoding(StorageCodec.GZIP);
+      }
+      long contentLength = content.length;
+      final var response = amazonS3.putObject(request.contentLength(contentLength).build(),
+          RequestBody.fromBytes(content));
+      invalidateCached(bucket, key);
+      indexObject(bucket, key, response, contentLength, newMetadata);
 
       deletePreviousVersions(bucket, key);
 
@@ -344,30 +1206,230 @@ public class AwsStorageService {
     }
   }
 
-  private void createBucketIfNotExist(final String bucketName) {
+  private List<S3Object> listAllObjects(final String bucketName, final String prefix,
+      final ListCursor cursor) {
+    List<S3Object> objects = new ArrayList<>();
+    ListCursor pageCursor = cursor;
+
+    do {
+      final var page = listObjectsPage(bucketName, prefix, null, pageCursor);
+      objects.addAll(page.contents());
+      pageCursor = Boolean.TRUE.equals(page.isTruncated())
+          ? new ListCursor(page.nextContinuationToken(), null) : null;
+    } while (pageCursor != null);
+
+    return objects;
+  }
+
+  private ListObjectsV2Response listObjectsPage(final String bucketName, final String prefix,
+      final Integer maxKeys, final ListCursor cursor) {
+    return amazonS3.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(prefix)
+        .maxKeys(maxKeys)
+        .continuationToken(cursor == null ? null : cursor.continuationToken())
+        .startAfter(cursor == null ? null : cursor.startAfter())
+        .build());
+  }
+
+  /**
+   * Whether a listing can be served from the metadata index. Buckets which are not yet indexed are
+   * registered once, so they are indexed by the next reconciliation.
+   */
+  private boolean isIndexServed(final String bucketName, final ListQueryDto query,
+      final ListCursor cursor) {
+    if (metadataIndex.isEmpty() || query.getConsistency() == Consistency.STRONG
+        || (cursor != null && cursor.continuationToken() != null)) {
+      return false;
+    }
+    final var index = metadataIndex.get();
+    if (index.isIndexed(bucketName)) {
+      return true;
+    }
+    if (!registeredBuckets.contains(bucketName)) {
+      index.register(bucketName);
+      registeredBuckets.add(bucketName);
+    }
+    return false;
+  }
+
+  private IndexedPage listIndexedPage(final String bucketName, final String prefix,
+      final Integer pageSize, final ListCursor cursor) {
+    final var objects = metadataIndex.orElseThrow().list(bucketName, prefix,
+        cursor == null ? null : cursor.startAfter(), pageSize == null ? null : pageSize + 1);
+    if (pageSize != null && objects.size() > pageSize) {
+      final var page = objects.subList(0, pageSize);
+      return new IndexedPage(page, encodeKeyCursor(page.get(pageSize - 1).getKey()));
+    }
+    return new IndexedPage(objects, null);
+  }
+
+  /**
+   * Write an uploaded object through to the metadata index, with user metadata keys lower-cased
+   * as they would be returned by S3. The upload time stands in for the last modified time until
+   * the next reconciliation, which also fills in a null size.
+   */
+  private void indexObject(final String bucketName, final String key,
+      final PutObjectResponse response, final Long size, final Map<String, String> metadata) {
+    final Instant lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    metadataIndex.ifPresent(index -> updateIndex(bucketName, key, () -> {
+      Map<String, String> userMetadata = new HashMap<>();
+      metadata.forEach((name, value) -> userMetadata.put(name.toLowerCase(), value));
+      index.putAll(List.of(IndexedObjectDto.builder()
+          .bucketName(bucketName)
+          .key(key)
+          .eTag(response.eTag())
+          .size(size)
+          .lastModified(lastModified)
+          .fileName(userMetadata.get(USER_METADATA_FILE_NAME))
+          .fileType(userMetadata.get(USER_METADATA_FILE_TYPE))
+          .metadata(userMetadata)
+          .build()));
+    }));
+  }
+
+  /**
+   * Apply an update to the metadata index, a failure is only logged as the S3 change has already
+   * been made and the reconciler will correct the index.
+   */
+  private static void updateIndex(final String bucketName, final String key,
+      final Runnable update) {
     try {
-      amazonS3.headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
-      return;
-    } catch (NoSuchBucketException e) {
-      // expected
+      update.run();
+    } catch (Exception e) {
+      log.warn("Failed to update metadata index for bucket: {} with key: {}", bucketName, key, e);
     }
-    amazonS3.createBucket(CreateBucketRequest.builder().bucket(bucketName)
-        .build());
   }
 
-  private FileSummaryDto buildFileSummary(final S3Object summary, final String bucketName,
-      final boolean includeCustomMetadata) {
-    final var head = amazonS3
-        .headObject(HeadObjectRequest.builder().bucket(bucketName).key(summary.key())
-            .build());
-    var metadata = head.metadata();
-    log.debug("Metadata details for file:{}, Metadata: {}", summary.key(), metadata);
+  private static void validatePageSize(final Integer pageSize) {
+    if (pageSize != null && (pageSize < 1 || pageSize > MAX_PAGE_SIZE)) {
+      throw new AwsStorageException(
+          format("Page size must be between 1 and %d", MAX_PAGE_SIZE));
+    }
+  }
+
+  private static String encodeCursor(final String continuationToken) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(continuationToken.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String encodeKeyCursor(final String lastKey) {
+    return encodeCursor(KEY_CURSOR_PREFIX + lastKey);
+  }
+
+  /**
+   * Decode a list cursor, which holds either an S3 continuation token or, for listings served
+   * from the metadata index, the last key listed.
+   */
+  private static ListCursor decodeCursor(final String cursor) {
+    if (StringUtils.isBlank(cursor)) {
+      return null;
+    }
+    final String decoded;
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new AwsStorageException("Invalid list cursor: " + cursor);
+    }
+    return decoded.startsWith(KEY_CURSOR_PREFIX)
+        ? new ListCursor(null, decoded.substring(KEY_CURSOR_PREFIX.length()))
+        : new ListCursor(decoded, null);
+  }
+
+  /**
+   * Calculate the base64 encoded SHA-256 digest of a file's content.
+   */
+  private static String sha256(final MultipartFile file) throws IOException {
+    try (InputStream content = file.getInputStream()) {
+      return sha256(content);
+    }
+  }
+
+  private static String sha256(final InputStream content) throws IOException {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+      IOUtils.consume(new DigestInputStream(content, digest));
+      return Base64.getEncoder().encodeToString(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available.", e);
+    }
+  }
+
+  /**
+   * Forget a bucket which was found to be missing, so it is checked and created on its next use.
+   */
+  private void forgetMissingBucket(final String bucketName, final Exception e) {
+    if (e instanceof NoSuchBucketException) {
+      log.warn("Bucket: {} no longer exists.", bucketName);
+      bucketRegistry.invalidate(bucketName);
+    }
+  }
+
+  /**
+   * Compile the filter of a listing, user metadata filters are rejected when no user metadata is
+   * requested rather than silently matching nothing.
+   */
+  private static FileFilter compileFilter(final ListQueryDto query, final String prefix) {
+    final var filter = FileFilter.compile(query, prefix);
+    if (query.getMetadataMode() == ListMetadataMode.NONE && filter.requiresUserMetadata()) {
+      throw new AwsStorageException(
+          "Lifecycle state and metadata filters are not supported without metadata");
+    }
+    return filter;
+  }
+
+  private static boolean isIncludeCustomMetadata(final ListQueryDto query) {
+    return query.isIncludeCustomMetadata() && query.getMetadataMode() != ListMetadataMode.NONE;
+  }
+
+  /**
+   * Derive the name and type metadata from an object key, as set by {@link #upload}.
+   */
+  private static Map<String, String> deriveMetadata(final String key) {
+    final String fileName = key.substring(key.lastIndexOf('/') + 1);
+    return Map.of(USER_METADATA_FILE_NAME, fileName,
+        USER_METADATA_FILE_TYPE, getExtension(fileName));
+  }
+
+  private FileSummaryDto buildFileSummary(final S3Object object, final String bucketName,
+      final Map<String, String> metadata, final boolean includeCustomMetadata) {
     return FileSummaryDto.builder()
         .bucketName(bucketName)
-        .key(summary.key())
+        .key(object.key())
         .fileName(metadata.get(USER_METADATA_FILE_NAME))
         .fileType(metadata.get(USER_METADATA_FILE_TYPE))
+        .size(object.size())
+        .etag(object.eTag())
+        .lastModified(object.lastModified())
         .customMetadata(includeCustomMetadata ? metadata : null)
         .build();
   }
+
+  private FileSummaryDto buildFileSummary(final IndexedObjectDto object,
+      final boolean includeCustomMetadata) {
+    return FileSummaryDto.builder()
+        .bucketName(object.getBucketName())
+        .key(object.getKey())
+        .fileName(object.getFileName())
+        .fileType(object.getFileType())
+        .size(object.getSize())
+        .etag(object.getETag())
+        .lastModified(object.getLastModified())
+        .customMetadata(includeCustomMetadata ? object.getMetadata() : null)
+        .build();
+  }
+
+  private record ListCursor(String continuationToken, String startAfter) {
+
+  }
+
+  private record IndexedPage(List<IndexedObjectDto> objects, String nextCursor) {
+
+  }
+
+  /**
+   * The result of uploading one file, stored is false where the object was already up to date.
+   */
+  private record FileUpload(String key, PutObjectResponse response, boolean stored) {
+
+  }
 }
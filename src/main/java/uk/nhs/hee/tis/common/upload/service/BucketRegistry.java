@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+
+/**
+ * A registry of buckets known to exist, so that a bucket is only checked, and created if missing,
+ * once per time to live rather than on every upload. Concurrent first uses of a bucket wait for a
+ * single check instead of racing to create it.
+ */
+@Slf4j
+@Component
+public class BucketRegistry {
+
+  private final S3Client amazonS3;
+  private final Cache<String, Boolean> verifiedBuckets;
+
+  /**
+   * Create a registry of buckets known to exist.
+   *
+   * @param amazonS3 The S3 client to check and create buckets with.
+   * @param ttl      How long a bucket is remembered after it was verified.
+   */
+  BucketRegistry(S3Client amazonS3, @Value("${app.upload.bucket-cache-ttl}") Duration ttl) {
+    this.amazonS3 = amazonS3;
+    verifiedBuckets = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  /**
+   * Make sure a bucket exists, creating it if it does not. Only the first call for a bucket within
+   * the time to live makes any request.
+   *
+   * @param bucketName The bucket to check.
+   */
+  public void ensureExists(final String bucketName) {
+    verifiedBuckets.get(bucketName, this::createIfNotExist);
+  }
+
+  /**
+   * Forget a bucket, e.g. after it was found to be missing, so that it is checked again on its
+   * next use.
+   *
+   * @param bucketName The bucket to forget.
+   */
+  public void invalidate(final String bucketName) {
+    verifiedBuckets.invalidate(bucketName);
+  }
+
+  private Boolean createIfNotExist(final String bucketName) {
+    try {
+      amazonS3.headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+      return Boolean.TRUE;
+    } catch (NoSuchBucketException e) {
+      // expected
+    }
+
+    try {
+      log.info("Creating bucket: {}", bucketName);
+      amazonS3.createBucket(CreateBucketRequest.builder().bucket(bucketName)
+          .build());
+    } catch (BucketAlreadyOwnedByYouException e) {
+      log.debug("Bucket: {} was created by another request.", bucketName);
+    }
+    return Boolean.TRUE;
+  }
+}
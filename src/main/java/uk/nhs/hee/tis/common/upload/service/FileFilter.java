@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
+import uk.nhs.hee.tis.common.upload.enumeration.LifecycleState;
+
+/**
+ * A filter of listed objects, compiled from the filter options of a {@link ListQueryDto}. The key
+ * glob and file type can be checked against the key before any metadata is requested, the
+ * remaining filters need the object's user metadata.
+ */
+public final class FileFilter {
+
+  private final String prefix;
+  private final PathMatcher keyMatcher;
+  private final Set<String> fileTypes;
+  private final Set<String> lifecycleStates;
+  private final Set<String> excludedLifecycleStates;
+  private final Map<String, String> metadata;
+
+  private FileFilter(String prefix, PathMatcher keyMatcher, Set<String> fileTypes,
+      Set<String> lifecycleStates, Set<String> excludedLifecycleStates,
+      Map<String, String> metadata) {
+    this.prefix = prefix;
+    this.keyMatcher = keyMatcher;
+    this.fileTypes = fileTypes;
+    this.lifecycleStates = lifecycleStates;
+    this.excludedLifecycleStates = excludedLifecycleStates;
+    this.metadata = metadata;
+  }
+
+  /**
+   * Compile the filter options of a listing.
+   *
+   * @param query  The listing options.
+   * @param prefix The listed key prefix, which key globs are relative to.
+   * @return The compiled filter.
+   */
+  public static FileFilter compile(final ListQueryDto query, final String prefix) {
+    PathMatcher keyMatcher = StringUtils.isBlank(query.getKeyGlob()) ? null
+        : FileSystems.getDefault().getPathMatcher("glob:" + query.getKeyGlob());
+
+    Map<String, String> metadata = query.getMetadata() == null ? Map.of()
+        : query.getMetadata().entrySet().stream().collect(Collectors.toMap(
+            entry -> entry.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue));
+
+    return new FileFilter(prefix, keyMatcher, lowerCase(query.getFileType()),
+        names(query.getLifecycleState()), names(query.getExcludeLifecycleState()), metadata);
+  }
+
+  private static Set<String> lowerCase(final Collection<String> values) {
+    return values == null ? Set.of()
+        : values.stream().map(value -> value.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+  }
+
+  private static Set<String> names(final Collection<LifecycleState> states) {
+    return states == null ? Set.of()
+        : states.stream().map(LifecycleState::name).collect(Collectors.toSet());
+  }
+
+  /**
+   * Whether any filter needs user metadata which can not be derived from the object key, the file
+   * type filter can be checked against the key's extension.
+   *
+   * @return true if there are lifecycle state or metadata filters.
+   */
+  public boolean requiresUserMetadata() {
+    return !lifecycleStates.isEmpty() || !excludedLifecycleStates.isEmpty() || !metadata.isEmpty();
+  }
+
+  /**
+   * Check the object key against the key glob, relative to the listed prefix, and the file type
+   * against the key's extension.
+   *
+   * @param key The object key.
+   * @return true if the key matches, or there is no key glob or file type filter.
+   */
+  public boolean matchesKey(final String key) {
+    if (!fileTypes.isEmpty()
+        && !fileTypes.contains(FilenameUtils.getExtension(key).toLowerCase(Locale.ROOT))) {
+      return false;
+    }
+    if (keyMatcher == null) {
+      return true;
+    }
+    String relativeKey = key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+    return !relativeKey.isEmpty() && keyMatcher.matches(Path.of(relativeKey));
+  }
+
+  /**
+   * Check the object's user metadata against the lifecycle state and metadata filters, the file
+   * type is only checked against the key by {@link #matchesKey(String)}.
+   *
+   * @param objectMetadata The object's user metadata.
+   * @return true if the metadata matches all filters.
+   */
+  public boolean matchesMetadata(final Map<String, String> objectMetadata) {
+    String lifecycleState = objectMetadata.get(
+        AwsStorageService.USER_METADATA_LIFE_CYCLE_STATE);
+    if (!lifecycleStates.isEmpty() && !lifecycleStates.contains(lifecycleState)) {
+      return false;
+    }
+    if (lifecycleState != null && excludedLifecycleStates.contains(lifecycleState)) {
+      return false;
+    }
+
+    return metadata.entrySet().stream()
+        .allMatch(entry -> Objects.equals(objectMetadata.get(entry.getKey()), entry.getValue()));
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+
+/**
+ * A sort of file summaries, compiled from a sort parameter such as
+ * {@code fileType,asc;fileName,desc}. Each sort key is resolved once to a typed extractor, custom
+ * metadata can be sorted on using {@code customMetadata.<name>}, and size and lastModified by their
+ * natural order. Nulls are always sorted last.
+ */
+@Slf4j
+public final class FileSummarySort {
+
+  public static final String SORT_DELIM = ",";
+  public static final String SORT_KEY_DELIM = ";";
+  private static final String CUSTOM_METADATA_PREFIX = "customMetadata.";
+  private static final String DESCENDING = "desc";
+
+  private static final FileSummarySort UNSORTED = new FileSummarySort(null);
+
+  private final Comparator<FileSummaryDto> comparator;
+
+  private FileSummarySort(Comparator<FileSummaryDto> comparator) {
+    this.comparator = comparator;
+  }
+
+  /**
+   * Compile a sort parameter, unsupported sort keys are ignored.
+   *
+   * @param sort The sort keys and optional directions, separated by {@value SORT_KEY_DELIM}.
+   * @return The compiled sort.
+   */
+  public static FileSummarySort compile(final String sort) {
+    if (StringUtils.isBlank(sort)) {
+      return UNSORTED;
+    }
+
+    Comparator<FileSummaryDto> comparator = null;
+    for (String sortEntry : sort.split(SORT_KEY_DELIM)) {
+      Comparator<FileSummaryDto> keyComparator = compileKey(sortEntry.trim());
+
+      if (keyComparator != null) {
+        comparator = comparator == null ? keyComparator : comparator.thenComparing(keyComparator);
+      }
+    }
+    return comparator == null ? UNSORTED : new FileSummarySort(comparator);
+  }
+
+  private static Comparator<FileSummaryDto> compileKey(final String sortEntry) {
+    String[] sortParts = sortEntry.split(SORT_DELIM);
+    if (sortParts.length > 2) {
+      log.warn("Ignoring invalid sort [{}].", sortEntry);
+      return null;
+    }
+    String sortKey = sortParts[0];
+    boolean descending = sortParts.length == 2 && DESCENDING.equals(sortParts[1]);
+
+    return switch (sortKey) {
+      case "bucketName" -> comparing(FileSummaryDto::getBucketName, descending);
+      case "key" -> comparing(FileSummaryDto::getKey, descending);
+      case "fileName" -> comparing(FileSummaryDto::getFileName, descending);
+      case "fileType" -> comparing(FileSummaryDto::getFileType, descending);
+      case "size" -> comparing(FileSummaryDto::getSize, descending);
+      case "lastModified" -> comparing(FileSummaryDto::getLastModified, descending);
+      default -> {
+        if (sortKey.startsWith(CUSTOM_METADATA_PREFIX)) {
+          String name = sortKey.substring(CUSTOM_METADATA_PREFIX.length());
+          yield comparing(file -> file.getCustomMetadata() == null
+              ? null : file.getCustomMetadata().get(name), descending);
+        }
+        log.warn("Couldn't find the sort property [{}] on FileSummary.", sortKey);
+        yield null;
+      }
+    };
+  }
+
+  private static <T extends Comparable<? super T>> Comparator<FileSummaryDto> comparing(
+      final Function<FileSummaryDto, T> extractor, final boolean descending) {
+    Comparator<T> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+    return Comparator.comparing(extractor, Comparator.nullsLast(order));
+  }
+
+  /**
+   * Sort the summaries, when a limit is given only the first {@code limit} sorted summaries are
+   * kept using a bounded heap rather than a full sort. Summaries which compare equal keep their
+   * original order.
+   *
+   * @param files The summaries to sort.
+   * @param limit The maximum number of summaries to return, or null for all.
+   * @return The sorted summaries.
+   */
+  public List<FileSummaryDto> apply(final List<FileSummaryDto> files, final Integer limit) {
+    if (comparator == null) {
+      return limit == null || limit >= files.size() ? files : files.subList(0, limit);
+    }
+
+    if (limit == null || limit >= files.size()) {
+      List<FileSummaryDto> sorted = new ArrayList<>(files);
+      sorted.sort(comparator);
+      return sorted;
+    }
+
+    Comparator<IndexedFile> indexedComparator = Comparator
+        .comparing(IndexedFile::file, comparator)
+        .thenComparingInt(IndexedFile::index);
+    PriorityQueue<IndexedFile> heap = new PriorityQueue<>(limit + 1,
+        indexedComparator.reversed());
+
+    for (int i = 0; i < files.size(); i++) {
+      heap.offer(new IndexedFile(i, files.get(i)));
+      if (heap.size() > limit) {
+        heap.poll();
+      }
+    }
+
+    List<IndexedFile> top = new ArrayList<>(heap);
+    top.sort(indexedComparator);
+    return top.stream().map(IndexedFile::file).toList();
+  }
+
+  private record IndexedFile(int index, FileSummaryDto file) {
+
+  }
+}
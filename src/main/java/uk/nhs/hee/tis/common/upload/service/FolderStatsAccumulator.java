@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.apache.commons.io.FilenameUtils.getExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import uk.nhs.hee.tis.common.upload.dto.FolderStatsDto;
+import uk.nhs.hee.tis.common.upload.dto.FolderStatsDto.SizeBucketDto;
+
+/**
+ * An incremental aggregation of object statistics, objects are added as they are listed so memory
+ * use depends only on the number of distinct file types.
+ */
+final class FolderStatsAccumulator {
+
+  /**
+   * The inclusive upper bounds of the size histogram buckets, a final bucket holds larger objects.
+   */
+  static final long[] SIZE_BUCKET_BOUNDS = {
+      1L << 10, // 1 KiB
+      1L << 16, // 64 KiB
+      1L << 20, // 1 MiB
+      1L << 24, // 16 MiB
+      1L << 28, // 256 MiB
+      1L << 30  // 1 GiB
+  };
+
+  private final long[] sizeBucketCounts = new long[SIZE_BUCKET_BOUNDS.length + 1];
+  private final Map<String, Long> countByFileType = new TreeMap<>();
+  private long count;
+  private long totalSize;
+
+  /**
+   * Add a listed object to the statistics.
+   *
+   * @param key  The object key, the file type is taken from its extension.
+   * @param size The object size in bytes, may be null.
+   */
+  void add(final String key, final Long size) {
+    final long objectSize = size == null ? 0 : size;
+    count++;
+    totalSize += objectSize;
+    sizeBucketCounts[sizeBucket(objectSize)]++;
+    countByFileType.merge(getExtension(key), 1L, Long::sum);
+  }
+
+  /**
+   * Build the statistics from the objects added so far.
+   *
+   * @param bucketName The bucket the objects were listed from.
+   * @param folderPath The folder the objects were listed from.
+   * @return The folder statistics.
+   */
+  FolderStatsDto toDto(final String bucketName, final String folderPath) {
+    List<SizeBucketDto> histogram = new ArrayList<>(sizeBucketCounts.length);
+    for (int i = 0; i < sizeBucketCounts.length; i++) {
+      histogram.add(SizeBucketDto.builder()
+          .maxSize(i < SIZE_BUCKET_BOUNDS.length ? SIZE_BUCKET_BOUNDS[i] : null)
+          .count(sizeBucketCounts[i])
+          .build());
+    }
+    return FolderStatsDto.builder()
+        .bucketName(bucketName)
+        .folderPath(folderPath)
+        .count(count)
+        .totalSize(totalSize)
+        .sizeHistogram(histogram)
+        .countByFileType(new TreeMap<>(countByFileType))
+        .build();
+  }
+
+  private static int sizeBucket(final long size) {
+    for (int i = 0; i < SIZE_BUCKET_BOUNDS.length; i++) {
+      if (size <= SIZE_BUCKET_BOUNDS[i]) {
+        return i;
+      }
+    }
+    return SIZE_BUCKET_BOUNDS.length;
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+
+/**
+ * A {@link MetadataIndex} stored in a relational database, by default an embedded file-backed H2
+ * database configured by {@code spring.datasource}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.index.enabled", havingValue = "true")
+public class JdbcMetadataIndex implements MetadataIndex {
+
+  private static final TypeReference<Map<String, String>> METADATA_TYPE = new TypeReference<>() {
+  };
+  private static final String SELECT_OBJECTS = """
+      SELECT bucket_name, object_key, e_tag, object_size, last_modified, file_name, file_type,
+        metadata
+      FROM object_metadata
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  JdbcMetadataIndex(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public List<IndexedObjectDto> list(String bucketName, String prefix, String afterKey,
+      Integer limit) {
+    var params = new MapSqlParameterSource()
+        .addValue("bucketName", bucketName)
+        .addValue("prefix", escapeLike(prefix) + "%")
+        .addValue("afterKey", afterKey == null ? "" : afterKey)
+        .addValue("limit", limit == null ? Integer.MAX_VALUE : limit);
+    return jdbcTemplate.query(SELECT_OBJECTS + """
+            WHERE bucket_name = :bucketName AND object_key LIKE :prefix ESCAPE '\\'
+              AND object_key > :afterKey
+            ORDER BY object_key
+            LIMIT :limit
+            """,
+        params, this::mapObject);
+  }
+
+  @Override
+  public Map<String, IndexedObjectDto> get(String bucketName, Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return Map.of();
+    }
+    var params = new MapSqlParameterSource()
+        .addValue("bucketName", bucketName)
+        .addValue("keys", keys);
+    return jdbcTemplate.query(SELECT_OBJECTS
+                + "WHERE bucket_name = :bucketName AND object_key IN (:keys)", params,
+            this::mapObject).stream()
+        .collect(Collectors.toMap(IndexedObjectDto::getKey, Function.identity()));
+  }
+
+  @Override
+  @Transactional
+  public void putAll(Collection<IndexedObjectDto> objects) {
+    if (objects.isEmpty()) {
+      return;
+    }
+    long now = Instant.now().toEpochMilli();
+    var batch = objects.stream()
+        .map(object -> new MapSqlParameterSource()
+            .addValue("bucketName", object.getBucketName())
+            .addValue("key", object.getKey())
+            .addValue("eTag", object.getETag())
+            .addValue("size", object.getSize())
+            .addValue("lastModified", object.getLastModified() == null
+                ? null : object.getLastModified().toEpochMilli())
+            .addValue("fileName", object.getFileName())
+            .addValue("fileType", object.getFileType())
+            .addValue("metadata", writeMetadata(object.getMetadata()))
+            .addValue("indexedAt", now))
+        .toArray(MapSqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate("""
+        MERGE INTO object_metadata (bucket_name, object_key, e_tag, object_size, last_modified,
+          file_name, file_type, metadata, indexed_at)
+        KEY (bucket_name, object_key)
+        VALUES (:bucketName, :key, :eTag, :size, :lastModified, :fileName, :fileType, :metadata,
+          :indexedAt)
+        """, batch);
+  }
+
+  @Override
+  public void touch(String bucketName, Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    var params = new MapSqlParameterSource()
+        .addValue("bucketName", bucketName)
+        .addValue("keys", keys)
+        .addValue("indexedAt", Instant.now().toEpochMilli());
+    jdbcTemplate.update("""
+        UPDATE object_metadata SET indexed_at = :indexedAt
+        WHERE bucket_name = :bucketName AND object_key IN (:keys)
+        """, params);
+  }
+
+  @Override
+  public void remove(String bucketName, String key) {
+    var params = new MapSqlParameterSource()
+        .addValue("bucketName", bucketName)
+        .addValue("key", key);
+    jdbcTemplate.update(
+        "DELETE FROM object_metadata WHERE bucket_name = :bucketName AND object_key = :key",
+        params);
+  }
+
+  @Override
+  public int removeNotIndexedSince(String bucketName, Instant time) {
+    var params = new MapSqlParameterSource()
+        .addValue("bucketName", bucketName)
+        .addValue("time", time.toEpochMilli());
+    return jdbcTemplate.update(
+        "DELETE FROM object_metadata WHERE bucket_name = :bucketName AND indexed_at < :time",
+        params);
+  }
+
+  @Override
+  public void register(String bucketName) {
+    jdbcTemplate.update("MERGE INTO indexed_bucket (bucket_name) KEY (bucket_name) "
+        + "VALUES (:bucketName)", Map.of("bucketName", bucketName));
+  }
+
+  @Override
+  public void markReconciled(String bucketName, Instant time) {
+    var params = new MapSqlParameterSource()
+        .addValue("bucketName", bucketName)
+        .addValue("time", time.toEpochMilli());
+    jdbcTemplate.update("MERGE INTO indexed_bucket (bucket_name, reconciled_at) KEY (bucket_name) "
+        + "VALUES (:bucketName, :time)", params);
+  }
+
+  @Override
+  public boolean isIndexed(String bucketName) {
+    Integer count = jdbcTemplate.queryForObject("""
+        SELECT COUNT(*) FROM indexed_bucket
+        WHERE bucket_name = :bucketName AND reconciled_at IS NOT NULL
+        """, Map.of("bucketName", bucketName), Integer.class);
+    return count != null && count > 0;
+  }
+
+  @Override
+  public Set<String> buckets() {
+    return new HashSet<>(jdbcTemplate.queryForList("SELECT bucket_name FROM indexed_bucket",
+        Map.of(), String.class));
+  }
+
+  private IndexedObjectDto mapObject(ResultSet rs, int rowNum) throws SQLException {
+    long objectSize = rs.getLong("object_size");
+    Long size = rs.wasNull() ? null : objectSize;
+    long lastModified = rs.getLong("last_modified");
+    Instant lastModifiedInstant = rs.wasNull() ? null : Instant.ofEpochMilli(lastModified);
+    return IndexedObjectDto.builder()
+        .bucketName(rs.getString("bucket_name"))
+        .key(rs.getString("object_key"))
+        .eTag(rs.getString("e_tag"))
+        .size(size)
+        .lastModified(lastModifiedInstant)
+        .fileName(rs.getString("file_name"))
+        .fileType(rs.getString("file_type"))
+        .metadata(readMetadata(rs.getString("metadata")))
+        .build();
+  }
+
+  private String writeMetadata(Map<String, String> metadata) {
+    try {
+      return metadata == null ? null : objectMapper.writeValueAsString(metadata);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to serialise object metadata.", e);
+    }
+  }
+
+  private Map<String, String> readMetadata(String metadata) {
+    try {
+      return metadata == null ? Map.of() : objectMapper.readValue(metadata, METADATA_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to deserialise indexed object metadata.", e);
+    }
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto.PartDto;
+
+/**
+ * An {@link UploadSessionStore} stored in a relational database, by default the embedded
+ * file-backed H2 database configured by {@code spring.datasource}.
+ */
+@Component
+public class JdbcUploadSessionStore implements UploadSessionStore {
+
+  private static final TypeReference<Map<String, String>> METADATA_TYPE = new TypeReference<>() {
+  };
+  private static final String SELECT_SESSIONS = """
+      SELECT session_id, bucket_name, object_key, upload_id, metadata, chunk_size, expires_at
+      FROM upload_session
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  JdbcUploadSessionStore(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void create(UploadSessionDto session) {
+    var params = new MapSqlParameterSource()
+        .addValue("sessionId", session.getSessionId())
+        .addValue("bucketName", session.getBucketName())
+        .addValue("key", session.getKey())
+        .addValue("uploadId", session.getUploadId())
+        .addValue("metadata", writeMetadata(session.getMetadata()))
+        .addValue("chunkSize", session.getChunkSize())
+        .addValue("createdAt", Instant.now().toEpochMilli())
+        .addValue("expiresAt", session.getExpiresAt().toEpochMilli());
+    jdbcTemplate.update("""
+        INSERT INTO upload_session (session_id, bucket_name, object_key, upload_id, metadata,
+          chunk_size, created_at, expires_at)
+        VALUES (:sessionId, :bucketName, :key, :uploadId, :metadata, :chunkSize, :createdAt,
+          :expiresAt)
+        """, params);
+  }
+
+  @Override
+  public Optional<UploadSessionDto> get(String sessionId, Instant now) {
+    var params = new MapSqlParameterSource()
+        .addValue("sessionId", sessionId)
+        .addValue("now", now.toEpochMilli());
+    var sessions = jdbcTemplate.query(SELECT_SESSIONS
+        + "WHERE session_id = :sessionId AND expires_at > :now", params, this::mapSession);
+    if (sessions.isEmpty()) {
+      return Optional.empty();
+    }
+
+    var session = sessions.get(0);
+    var parts = jdbcTemplate.query("""
+            SELECT part_number, e_tag, part_size FROM upload_session_part
+            WHERE session_id = :sessionId
+            ORDER BY part_number
+            """, params,
+        (rs, rowNum) -> PartDto.builder()
+            .partNumber(rs.getInt("part_number"))
+            .eTag(rs.getString("e_tag"))
+            .size(rs.getLong("part_size"))
+            .build());
+    session.setParts(parts);
+    session.setReceivedBytes(parts.stream().mapToLong(PartDto::getSize).sum());
+    return Optional.of(session);
+  }
+
+  @Override
+  @Transactional
+  public void addPart(String sessionId, PartDto part, Instant expiresAt) {
+    var params = new MapSqlParameterSource()
+        .addValue("sessionId", sessionId)
+        .addValue("partNumber", part.getPartNumber())
+        .addValue("eTag", part.getETag())
+        .addValue("size", part.getSize())
+        .addValue("expiresAt", expiresAt.toEpochMilli());
+    jdbcTemplate.update("""
+        INSERT INTO upload_session_part (session_id, part_number, e_tag, part_size)
+        VALUES (:sessionId, :partNumber, :eTag, :size)
+        """, params);
+    jdbcTemplate.update(
+        "UPDATE upload_session SET expires_at = :expiresAt WHERE session_id = :sessionId",
+        params);
+  }
+
+  @Override
+  @Transactional
+  public void delete(String sessionId) {
+    var params = Map.of("sessionId", sessionId);
+    jdbcTemplate.update("DELETE FROM upload_session_part WHERE session_id = :sessionId", params);
+    jdbcTemplate.update("DELETE FROM upload_session WHERE session_id = :sessionId", params);
+  }
+
+  @Override
+  public List<UploadSessionDto> listExpired(Instant now) {
+    return jdbcTemplate.query(SELECT_SESSIONS + "WHERE expires_at <= :now",
+        Map.of("now", now.toEpochMilli()), this::mapSession);
+  }
+
+  private UploadSessionDto mapSession(ResultSet rs, int rowNum) throws SQLException {
+    return UploadSessionDto.builder()
+        .sessionId(rs.getString("session_id"))
+        .bucketName(rs.getString("bucket_name"))
+        .key(rs.getString("object_key"))
+        .uploadId(rs.getString("upload_id"))
+        .metadata(readMetadata(rs.getString("metadata")))
+        .chunkSize(rs.getLong("chunk_size"))
+        .expiresAt(Instant.ofEpochMilli(rs.getLong("expires_at")))
+        .build();
+  }
+
+  private String writeMetadata(Map<String, String> metadata) {
+    try {
+      return metadata == null ? null : objectMapper.writeValueAsString(metadata);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to serialise upload session metadata.", e);
+    }
+  }
+
+  private Map<String, String> readMetadata(String metadata) {
+    try {
+      return metadata == null ? Map.of() : objectMapper.readValue(metadata, METADATA_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to deserialise upload session metadata.", e);
+    }
+  }
+}
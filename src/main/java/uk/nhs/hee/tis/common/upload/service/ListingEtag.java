@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
+
+/**
+ * A strong entity tag for a file listing, a digest of the listing options and the key, ETag and
+ * last modified time of every listed object. It can be computed from the listing alone, before any
+ * object metadata is requested.
+ */
+final class ListingEtag {
+
+  private static final char FIELD_DELIM = '\0';
+  private static final char RECORD_DELIM = '\n';
+  private static final String WEAK_PREFIX = "W/";
+  private static final String ANY = "*";
+
+  private final MessageDigest digest;
+
+  private ListingEtag(MessageDigest digest) {
+    this.digest = digest;
+  }
+
+  /**
+   * Start a listing entity tag.
+   *
+   * @param bucketName The listed bucket.
+   * @param prefix     The listed key prefix.
+   * @param query      The listing options, which change the response so are part of the tag.
+   * @return The listing entity tag, to which each listed object should be added.
+   */
+  static ListingEtag start(final String bucketName, final String prefix,
+      final ListQueryDto query) {
+    try {
+      var etag = new ListingEtag(MessageDigest.getInstance("SHA-256"));
+      etag.update(bucketName).update(prefix).update(query);
+      etag.digest.update((byte) RECORD_DELIM);
+      return etag;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available.", e);
+    }
+  }
+
+  /**
+   * Add a listed object to the entity tag.
+   *
+   * @param key          The object key.
+   * @param objectEtag   The object ETag.
+   * @param lastModified The object last modified time.
+   * @return This entity tag.
+   */
+  ListingEtag add(final String key, final String objectEtag, final Instant lastModified) {
+    update(key).update(objectEtag).update(Objects.toString(lastModified, null));
+    digest.update((byte) RECORD_DELIM);
+    return this;
+  }
+
+  /**
+   * Complete the entity tag, no further objects can be added.
+   *
+   * @return The quoted entity tag value.
+   */
+  String value() {
+    return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + '"';
+  }
+
+  /**
+   * Check an If-None-Match header against an entity tag, using the weak comparison required for
+   * GET requests.
+   *
+   * @param ifNoneMatch The If-None-Match header value, may be null.
+   * @param etag        The quoted entity tag of the current listing.
+   * @return true if the client's copy of the listing is current.
+   */
+  static boolean matches(final String ifNoneMatch, final String etag) {
+    if (StringUtils.isBlank(ifNoneMatch)) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = StringUtils.removeStart(candidate.trim(), WEAK_PREFIX);
+      if (tag.equals(ANY) || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add the listing options in a canonical form, each option by name in a fixed order with the
+   * values of unordered options sorted, so equivalent queries have the same tag however they were
+   * given.
+   */
+  private ListingEtag update(final ListQueryDto query) {
+    return option("includeCustomMetadata", query.isIncludeCustomMetadata())
+        .option("sort", query.getSort())
+        .option("limit", query.getLimit())
+        .option("pageSize", query.getPageSize())
+        .option("cursor", query.getCursor())
+        .option("fileType", query.getFileType() == null ? null : query.getFileType().stream()
+            .map(fileType -> fileType.toLowerCase(Locale.ROOT)))
+        .option("lifecycleState", query.getLifecycleState() == null ? null
+            : query.getLifecycleState().stream().map(Enum::name))
+        .option("excludeLifecycleState", query.getExcludeLifecycleState() == null ? null
+            : query.getExcludeLifecycleState().stream().map(Enum::name))
+        .option("keyGlob", query.getKeyGlob())
+        .option("metadata", query.getMetadata() == null ? null
+            : query.getMetadata().entrySet().stream().map(entry ->
+                entry.getKey().toLowerCase(Locale.ROOT) + FIELD_DELIM + entry.getValue()))
+        .option("consistency", query.getConsistency())
+        .option("metadataMode", query.getMetadataMode());
+  }
+
+  private ListingEtag option(final String name, final Object value) {
+    return update(name).update(Objects.toString(value, null));
+  }
+
+  private ListingEtag option(final String name, final Stream<String> values) {
+    update(name);
+    if (values == null) {
+      return update(null);
+    }
+    values.sorted().forEach(this::update);
+    digest.update((byte) RECORD_DELIM);
+    return this;
+  }
+
+  private ListingEtag update(final String value) {
+    if (value != null) {
+      digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+    digest.update((byte) FIELD_DELIM);
+    return this;
+  }
+}
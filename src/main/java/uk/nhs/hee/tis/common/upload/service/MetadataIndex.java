@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+
+/**
+ * A local index of object metadata, used to serve eventually consistent listings without S3.
+ */
+public interface MetadataIndex {
+
+  /**
+   * List indexed objects under a prefix, ordered by key.
+   *
+   * @param bucketName The bucket to list.
+   * @param prefix     The key prefix to list.
+   * @param afterKey   Only list keys after this key, or null to list from the start.
+   * @param limit      The maximum number of objects to list, or null for all.
+   * @return The indexed objects.
+   */
+  List<IndexedObjectDto> list(String bucketName, String prefix, String afterKey, Integer limit);
+
+  /**
+   * Get the indexed objects for a set of keys.
+   *
+   * @param bucketName The bucket containing the objects.
+   * @param keys       The keys to get.
+   * @return The indexed objects, by key, missing keys are not included.
+   */
+  Map<String, IndexedObjectDto> get(String bucketName, Collection<String> keys);
+
+  /**
+   * Add or replace indexed objects.
+   *
+   * @param objects The objects to index.
+   */
+  void putAll(Collection<IndexedObjectDto> objects);
+
+  /**
+   * Mark indexed objects as current, without changing their metadata.
+   *
+   * @param bucketName The bucket containing the objects.
+   * @param keys       The keys of the current objects.
+   */
+  void touch(String bucketName, Collection<String> keys);
+
+  /**
+   * Remove an object from the index.
+   *
+   * @param bucketName The bucket containing the object.
+   * @param key        The key of the object.
+   */
+  void remove(String bucketName, String key);
+
+  /**
+   * Remove objects which have not been indexed or touched since a given time.
+   *
+   * @param bucketName The bucket to remove objects from.
+   * @param time       The time objects must have been indexed since to be kept.
+   * @return The number of objects removed.
+   */
+  int removeNotIndexedSince(String bucketName, Instant time);
+
+  /**
+   * Register a bucket to be indexed by the next reconciliation.
+   *
+   * @param bucketName The bucket to index.
+   */
+  void register(String bucketName);
+
+  /**
+   * Mark a bucket as fully reconciled with S3.
+   *
+   * @param bucketName The reconciled bucket.
+   * @param time       The time the reconciliation started.
+   */
+  void markReconciled(String bucketName, Instant time);
+
+  /**
+   * Whether a bucket has been reconciled, so the index holds all of its objects.
+   *
+   * @param bucketName The bucket to check.
+   * @return true if listings of the bucket can be served from the index.
+   */
+  boolean isIndexed(String bucketName);
+
+  /**
+   * Get the buckets registered for indexing.
+   *
+   * @return The registered bucket names.
+   */
+  Set<String> buckets();
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+
+/**
+ * A periodic task which re-scans each indexed bucket with ListObjectsV2 and brings the
+ * {@link MetadataIndex} in line with it. Only new or changed objects, by ETag and last modified
+ * time, have their metadata fetched again, objects which are no longer listed are removed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.index.enabled", havingValue = "true")
+public class MetadataIndexReconciler {
+
+  private final S3Client amazonS3;
+  private final MetadataIndex index;
+  private final ObjectMetadataResolver metadataResolver;
+  private final Set<String> configuredBuckets;
+
+  MetadataIndexReconciler(S3Client amazonS3, MetadataIndex index,
+      ObjectMetadataResolver metadataResolver,
+      @Value("${app.index.buckets}") String[] configuredBuckets) {
+    this.amazonS3 = amazonS3;
+    this.index = index;
+    this.metadataResolver = metadataResolver;
+    this.configuredBuckets = new TreeSet<>(Arrays.stream(configuredBuckets)
+        .filter(StringUtils::isNotBlank)
+        .map(String::trim)
+        .toList());
+  }
+
+  /**
+   * Reconcile all configured and registered buckets, a failure for one bucket does not stop the
+   * others being reconciled.
+   */
+  @Scheduled(initialDelay = 0, fixedDelayString = "${app.index.reconcile-interval}")
+  public void reconcileAll() {
+    Set<String> buckets = new TreeSet<>(configuredBuckets);
+    buckets.addAll(index.buckets());
+
+    for (String bucketName : buckets) {
+      try {
+        reconcile(bucketName);
+      } catch (Exception e) {
+        log.error("Failed to reconcile metadata index for bucket: {}", bucketName, e);
+      }
+    }
+  }
+
+  /**
+   * Reconcile the index of a single bucket with its S3 listing.
+   *
+   * @param bucketName The bucket to reconcile.
+   */
+  public void reconcile(String bucketName) {
+    log.info("Reconciling metadata index for bucket: {}", bucketName);
+    final Instant start = Instant.now();
+    index.register(bucketName);
+    int updated = 0;
+
+    for (var page : amazonS3.listObjectsV2Paginator(
+        ListObjectsV2Request.builder().bucket(bucketName).build())) {
+      final var objects = page.contents();
+      final var indexed = index.get(bucketName, objects.stream().map(S3Object::key).toList());
+
+      List<S3Object> changed = new ArrayList<>();
+      List<String> unchanged = new ArrayList<>();
+      for (S3Object object : objects) {
+        if (isCurrent(indexed.get(object.key()), object)) {
+          unchanged.add(object.key());
+        } else {
+          changed.add(object);
+        }
+      }
+
+      final var metadataList = metadataResolver.resolve(bucketName, changed);
+      List<IndexedObjectDto> updates = new ArrayList<>(changed.size());
+      for (int i = 0; i < changed.size(); i++) {
+        updates.add(toIndexedObject(bucketName, changed.get(i), metadataList.get(i)));
+      }
+      index.putAll(updates);
+      index.touch(bucketName, unchanged);
+      updated += updates.size();
+    }
+
+    int removed = index.removeNotIndexedSince(bucketName, start);
+    index.markReconciled(bucketName, start);
+    log.info("Reconciled metadata index for bucket: {}, {} updated, {} removed.", bucketName,
+        updated, removed);
+  }
+
+  /**
+   * Build the index entry for a listed object.
+   *
+   * @param bucketName The bucket containing the object.
+   * @param object     The listed object.
+   * @param metadata   The user metadata of the object.
+   * @return The index entry.
+   */
+  static IndexedObjectDto toIndexedObject(String bucketName, S3Object object,
+      Map<String, String> metadata) {
+    return IndexedObjectDto.builder()
+        .bucketName(bucketName)
+        .key(object.key())
+        .eTag(object.eTag())
+        .size(object.size())
+        .lastModified(object.lastModified())
+        .fileName(metadata.get(AwsStorageService.USER_METADATA_FILE_NAME))
+        .fileType(metadata.get(AwsStorageService.USER_METADATA_FILE_TYPE))
+        .metadata(metadata)
+        .build();
+  }
+
+  private static boolean isCurrent(IndexedObjectDto indexed, S3Object object) {
+    return indexed != null
+        && Objects.equals(indexed.getETag(), object.eTag())
+        && Objects.equals(indexed.getLastModified(), object.lastModified());
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * An uploader which streams content to S3 a part at a time. Content smaller than a part is sent
+ * with a single PUT, larger content with a multipart upload whose parts are sent concurrently and
+ * retried individually. At most one part per permitted concurrent request, plus the part being
+ * read, is held in memory.
+ */
+@Slf4j
+@Component
+public class MultipartUploader {
+
+  /**
+   * The minimum size of every part except the last, set by S3.
+   */
+  static final DataSize MIN_PART_SIZE = DataSize.ofMegabytes(5);
+  static final String PART_TIMER = "s3.upload.part";
+
+  private final S3Client amazonS3;
+  private final ExecutorService executor;
+  private final MeterRegistry meterRegistry;
+  private final int partSize;
+  private final int concurrency;
+  private final int maxAttempts;
+  private final long threshold;
+
+  /**
+   * Create an uploader for streamed content.
+   *
+   * @param amazonS3      The S3 client to upload with.
+   * @param executor      The executor to upload parts on.
+   * @param meterRegistry The registry for the part upload timings.
+   * @param partSize      The size of each uploaded part, at least 5MB.
+   * @param concurrency   The maximum number of parts of one upload in flight at once.
+   * @param maxAttempts   The number of times a part is attempted before the upload fails.
+   * @param threshold     The size above which files of a known size use a multipart upload.
+   */
+  MultipartUploader(S3Client amazonS3,
+      @Qualifier("partUploadExecutor") ExecutorService executor, MeterRegistry meterRegistry,
+      @Value("${app.upload.part-size}") DataSize partSize,
+      @Value("${app.upload.part-concurrency}") int concurrency,
+      @Value("${app.upload.part-attempts}") int maxAttempts,
+      @Value("${app.upload.multipart-threshold}") DataSize threshold) {
+    if (partSize.compareTo(MIN_PART_SIZE) < 0) {
+      throw new IllegalArgumentException("Upload part size must be at least " + MIN_PART_SIZE);
+    }
+    this.amazonS3 = amazonS3;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.partSize = Math.toIntExact(partSize.toBytes());
+    this.concurrency = concurrency;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.threshold = threshold.toBytes();
+  }
+
+  /**
+   * Whether a file of a known size should be uploaded with a multipart upload.
+   *
+   * @param size The file size in bytes.
+   * @return true if the size is above the multipart threshold.
+   */
+  public boolean isMultipart(final long size) {
+    return size > threshold;
+  }
+
+  /**
+   * Upload the content of a stream as an object.
+   *
+   * @param bucketName The bucket to upload to.
+   * @param key        The key of the object.
+   * @param metadata   The user metadata of the object.
+   * @param content    The object content, read until the end of the stream but not closed.
+   * @return The result of storing the object.
+   * @throws IOException if the content could not be read.
+   */
+  public PutObjectResponse upload(final String bucketName, final String key,
+      final Map<String, String> metadata, final InputStream content) throws IOException {
+    byte[] buffer = new byte[partSize];
+    int length = IOUtils.read(content, buffer);
+
+    if (length < partSize) {
+      log.debug("Uploading {} bytes to bucket: {} with key: {} in a single request.", length,
+          bucketName, key);
+      return amazonS3.putObject(PutObjectRequest.builder().bucket(bucketName).key(key)
+              .metadata(metadata).contentLength((long) length).build(),
+          RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length));
+    }
+
+    final String uploadId = amazonS3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+        .bucket(bucketName).key(key).metadata(metadata).build()).uploadId();
+    log.debug("Started multipart upload: {} to bucket: {} with key: {}", uploadId, bucketName,
+        key);
+
+    final var upload = new MultipartUpload(bucketName, key, uploadId);
+    final var permits = new Semaphore(concurrency);
+    final var failure = new AtomicReference<Throwable>();
+    List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+
+    try {
+      while (length > 0 && failure.get() == null) {
+        permits.acquire();
+        final int partNumber = futures.size() + 1;
+        final byte[] partContent = buffer;
+        final int partLength = length;
+        futures.add(CompletableFuture
+            .supplyAsync(() -> uploadPart(upload, partNumber, partContent, partLength), executor)
+            .whenComplete((completedPart, e) -> {
+              if (e != null) {
+                failure.compareAndSet(null, e);
+              }
+              permits.release();
+            }));
+
+        buffer = new byte[partSize];
+        length = IOUtils.read(content, buffer);
+      }
+
+      List<CompletedPart> parts = futures.stream().map(CompletableFuture::join).toList();
+      final var response = amazonS3.completeMultipartUpload(
+          CompleteMultipartUploadRequest.builder().bucket(bucketName).key(key).uploadId(uploadId)
+              .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+              .build());
+      log.debug("Completed multipart upload: {} with {} parts.", uploadId, parts.size());
+      return PutObjectResponse.builder()
+          .eTag(response.eTag())
+          .versionId(response.versionId())
+          .build();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      abort(upload, futures);
+      throw new IOException("Interrupted while uploading parts.", e);
+    } catch (CompletionException e) {
+      abort(upload, futures);
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      abort(upload, futures);
+      throw e;
+    }
+  }
+
+  /**
+   * Upload a part, retrying failed attempts after the S3 client's own retries are exhausted. Each
+   * attempt is timed, tagged with its outcome.
+   */
+  private CompletedPart uploadPart(final MultipartUpload upload, final int partNumber,
+      final byte[] content, final int length) {
+    for (int attempt = 1; ; attempt++) {
+      final var sample = Timer.start(meterRegistry);
+      try {
+        final var response = amazonS3.uploadPart(UploadPartRequest.builder()
+                .bucket(upload.bucketName()).key(upload.key()).uploadId(upload.uploadId())
+                .partNumber(partNumber).contentLength((long) length).build(),
+            RequestBody.fromInputStream(new ByteArrayInputStream(content, 0, length), length));
+        sample.stop(meterRegistry.timer(PART_TIMER, "outcome", "success"));
+        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+      } catch (SdkException e) {
+        sample.stop(meterRegistry.timer(PART_TIMER, "outcome", "failure"));
+        if (attempt >= maxAttempts) {
+          throw e;
+        }
+        log.warn("Failed attempt {} of {} to upload part {} of upload: {}, retrying.", attempt,
+            maxAttempts, partNumber, upload.uploadId(), e);
+      }
+    }
+  }
+
+  private void abort(final MultipartUpload upload,
+      final List<CompletableFuture<CompletedPart>> futures) {
+    futures.forEach(future -> future.cancel(true));
+    try {
+      amazonS3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+          .bucket(upload.bucketName()).key(upload.key()).uploadId(upload.uploadId()).build());
+    } catch (RuntimeException e) {
+      log.warn("Failed to abort multipart upload: {} to bucket: {} with key: {}",
+          upload.uploadId(), upload.bucketName(), upload.key(), e);
+    }
+  }
+
+  private record MultipartUpload(String bucketName, String key, String uploadId) {
+
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * A memory bounded cache of small objects' content as it is stored. Entries are weighed by their
+ * size and evicted least frequently or recently used first. A cached entry must be revalidated
+ * with a conditional GET of its ETag before it is served.
+ */
+@Component
+public class ObjectContentCache {
+
+  static final String CACHE_NAME = "object-content";
+
+  private final Cache<ObjectId, CachedContent> cache;
+  private final boolean enabled;
+  private final long maxEntrySize;
+
+  /**
+   * Create a memory bounded cache of object content, with its hit rate and evictions published
+   * as cache metrics.
+   *
+   * @param maxSize       The total size of the content to cache, zero to disable the cache.
+   * @param maxEntrySize  The size of the largest object to cache.
+   * @param meterRegistry The registry for the cache metrics.
+   */
+  ObjectContentCache(@Value("${app.data.content-cache.max-size}") DataSize maxSize,
+      @Value("${app.data.content-cache.max-entry-size}") DataSize maxEntrySize,
+      MeterRegistry meterRegistry) {
+    this.enabled = maxSize.toBytes() > 0;
+    this.maxEntrySize = Math.min(maxEntrySize.toBytes(), maxSize.toBytes());
+    cache = Caffeine.newBuilder()
+        .maximumWeight(maxSize.toBytes())
+        .weigher((ObjectId id, CachedContent content) -> Math.max(1, content.content().length))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Get the cached content of an object, which may no longer be current.
+   *
+   * @param bucketName The bucket containing the object.
+   * @param key        The object key.
+   * @return The cached content, or null if not cached.
+   */
+  public CachedContent get(final String bucketName, final String key) {
+    return cache.getIfPresent(new ObjectId(bucketName, key));
+  }
+
+  /**
+   * Cache the content of a version of an object, if the cache is enabled and the content has an
+   * ETag to revalidate it by and is not too large, otherwise any content cached for an earlier
+   * version is removed. Empty content is weighed as one byte, so it still counts against the
+   * maximum size.
+   *
+   * @param bucketName The bucket containing the object.
+   * @param key        The object key.
+   * @param content    The content of the object version.
+   */
+  public void put(final String bucketName, final String key, final CachedContent content) {
+    final var id = new ObjectId(bucketName, key);
+    if (enabled && content.eTag() != null && content.content().length <= maxEntrySize) {
+      cache.put(id, content);
+    } else {
+      cache.invalidate(id);
+    }
+  }
+
+  /**
+   * Remove any cached content for an object.
+   *
+   * @param bucketName The bucket containing the object.
+   * @param key        The object key.
+   */
+  public void invalidate(final String bucketName, final String key) {
+    cache.invalidate(new ObjectId(bucketName, key));
+  }
+
+  private record ObjectId(String bucketName, String key) {
+
+  }
+
+  /**
+   * The content of an object version as it is stored.
+   *
+   * @param content         The stored bytes, which may be compressed.
+   * @param contentEncoding The stored Content-Encoding, or null if not encoded.
+   * @param eTag            The ETag of the object version.
+   * @param lastModified    The last modified time of the object version.
+   */
+  public record CachedContent(byte[] content, String contentEncoding, String eTag,
+      Instant lastModified) {
+
+  }
+}
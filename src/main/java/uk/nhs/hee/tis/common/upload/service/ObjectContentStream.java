@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * The content of an object opened to be streamed. The S3 connection is held until the stream is
+ * closed, a stream which is not read to the end should be aborted first so that the connection is
+ * dropped rather than drained of the remaining content. When the client's copy is current the
+ * object is not modified and there is no content to stream.
+ */
+public class ObjectContentStream implements Closeable {
+
+  private final ResponseInputStream<GetObjectResponse> object;
+  private final InputStream content;
+  private final Long contentLength;
+  private final String contentEncoding;
+  private final String eTag;
+  private final Instant lastModified;
+
+  /**
+   * Create a stream of an object's content.
+   *
+   * @param object          The S3 object stream.
+   * @param content         The content to send, the object stream or a decoding of it.
+   * @param contentLength   The length of the content, or null if it is not known.
+   * @param contentEncoding The encoding of the content, or null if it is not encoded.
+   */
+  public ObjectContentStream(ResponseInputStream<GetObjectResponse> object, InputStream content,
+      Long contentLength, String contentEncoding) {
+    this.object = object;
+    this.content = content;
+    this.contentLength = contentLength;
+    this.contentEncoding = contentEncoding;
+    final String objectETag = object.response().eTag();
+    this.eTag = objectETag == null || content == object ? objectETag : "W/" + objectETag;
+    this.lastModified = object.response().lastModified();
+  }
+
+  private ObjectContentStream(String eTag, Instant lastModified) {
+    this.object = null;
+    this.content = InputStream.nullInputStream();
+    this.contentLength = null;
+    this.contentEncoding = null;
+    this.eTag = eTag;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Create an empty stream for an object which is not modified since the client's copy.
+   *
+   * @param eTag         The entity tag of the object, or null if it is not known.
+   * @param lastModified The last modified date of the object, or null if it is not known.
+   * @return The not modified stream.
+   */
+  public static ObjectContentStream notModified(String eTag, Instant lastModified) {
+    return new ObjectContentStream(eTag, lastModified);
+  }
+
+  public InputStream getContent() {
+    return content;
+  }
+
+  public Long getContentLength() {
+    return contentLength;
+  }
+
+  public String getContentEncoding() {
+    return contentEncoding;
+  }
+
+  /**
+   * Get the entity tag of the content, which is weak when the content is decoded from the stored
+   * object as the bytes sent are not those stored.
+   *
+   * @return The entity tag, or null if the object has none.
+   */
+  public String getETag() {
+    return eTag;
+  }
+
+  public Instant getLastModified() {
+    return lastModified;
+  }
+
+  public boolean isNotModified() {
+    return object == null;
+  }
+
+  /**
+   * Drop the S3 connection without reading the rest of the content.
+   */
+  public void abort() {
+    if (object != null) {
+      object.abort();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    content.close();
+  }
+}
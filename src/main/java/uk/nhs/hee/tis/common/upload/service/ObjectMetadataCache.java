@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A size bounded cache of object user metadata, entries are only returned while the object's ETag
+ * and last modified time are unchanged.
+ */
+@Component
+public class ObjectMetadataCache {
+
+  private final Cache<ObjectId, CachedMetadata> cache;
+
+  /**
+   * Create a size bounded cache of object user metadata.
+   *
+   * @param maxEntries The maximum number of objects to cache metadata for.
+   */
+  ObjectMetadataCache(@Value("${app.list.metadata-cache.max-entries}") long maxEntries) {
+    cache = Caffeine.newBuilder()
+        .maximumSize(maxEntries)
+        .build();
+  }
+
+  /**
+   * Get the cached metadata for an object, if the cached version is still current.
+   *
+   * @param bucketName   The bucket containing the object.
+   * @param key          The object key.
+   * @param eTag         The object's current ETag.
+   * @param lastModified The object's current last modified time.
+   * @return The cached metadata, or null if not cached or the cached version is stale.
+   */
+  public Map<String, String> get(final String bucketName, final String key, final String eTag,
+      final Instant lastModified) {
+    if (eTag == null) {
+      return null;
+    }
+    CachedMetadata cached = cache.getIfPresent(new ObjectId(bucketName, key));
+
+    if (cached != null && cached.eTag().equals(eTag)
+        && Objects.equals(cached.lastModified(), lastModified)) {
+      return cached.metadata();
+    }
+    return null;
+  }
+
+  /**
+   * Cache the metadata for a version of an object.
+   *
+   * @param bucketName   The bucket containing the object.
+   * @param key          The object key.
+   * @param eTag         The ETag of the object version.
+   * @param lastModified The last modified time of the object version.
+   * @param metadata     The user metadata of the object version.
+   */
+  public void put(final String bucketName, final String key, final String eTag,
+      final Instant lastModified, final Map<String, String> metadata) {
+    if (eTag != null) {
+      cache.put(new ObjectId(bucketName, key), new CachedMetadata(eTag, lastModified, metadata));
+    }
+  }
+
+  /**
+   * Remove any cached metadata for an object.
+   *
+   * @param bucketName The bucket containing the object.
+   * @param key        The object key.
+   */
+  public void invalidate(final String bucketName, final String key) {
+    cache.invalidate(new ObjectId(bucketName, key));
+  }
+
+  private record ObjectId(String bucketName, String key) {
+
+  }
+
+  private record CachedMetadata(String eTag, Instant lastModified, Map<String, String> metadata) {
+
+  }
+}
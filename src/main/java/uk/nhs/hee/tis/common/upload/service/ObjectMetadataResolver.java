@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * A resolver for object user metadata, which issues the HEAD requests for a listing concurrently.
+ * Metadata is served from the {@link ObjectMetadataCache} while the listed ETag and last modified
+ * time match the cached version.
+ */
+@Slf4j
+@Component
+public class ObjectMetadataResolver {
+
+  private final S3Client amazonS3;
+  private final ExecutorService executor;
+  private final ObjectMetadataCache metadataCache;
+
+  /**
+   * Create a resolver for object user metadata.
+   *
+   * @param amazonS3      The S3 client to retrieve metadata with.
+   * @param executor      The executor to run the HEAD requests on, which bounds their concurrency.
+   * @param metadataCache The cache of previously retrieved metadata.
+   */
+  ObjectMetadataResolver(S3Client amazonS3,
+      @Qualifier("metadataExecutor") ExecutorService executor, ObjectMetadataCache metadataCache) {
+    this.amazonS3 = amazonS3;
+    this.executor = executor;
+    this.metadataCache = metadataCache;
+  }
+
+  /**
+   * Get the user metadata of each object, fetching them concurrently.
+   *
+   * @param bucketName The bucket containing the objects.
+   * @param objects    The objects to get the metadata of.
+   * @return The user metadata of each object, in the same order as {@code objects}.
+   */
+  public List<Map<String, String>> resolve(final String bucketName, final List<S3Object> objects) {
+    List<CompletableFuture<Map<String, String>>> futures = objects.stream()
+        .map(object -> {
+          var cached = metadataCache.get(bucketName, object.key(), object.eTag(),
+              object.lastModified());
+          return cached != null
+              ? CompletableFuture.completedFuture(cached)
+              : CompletableFuture.supplyAsync(() -> headMetadata(bucketName, object), executor);
+        })
+        .toList();
+
+    try {
+      return futures.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Pass the user metadata of each object to a consumer as soon as it is available, fetching them
+   * concurrently. Cached metadata is passed first, the rest in order of completion.
+   *
+   * @param bucketName The bucket containing the objects.
+   * @param objects    The objects to get the metadata of.
+   * @param consumer   The consumer of each object and its metadata, called on the calling thread.
+   */
+  public void resolveEach(final String bucketName, final List<S3Object> objects,
+      final BiConsumer<S3Object, Map<String, String>> consumer) {
+    CompletionService<ResolvedMetadata> completionService =
+        new ExecutorCompletionService<>(executor);
+    List<Future<ResolvedMetadata>> futures = new ArrayList<>();
+
+    try {
+      for (S3Object object : objects) {
+        var cached = metadataCache.get(bucketName, object.key(), object.eTag(),
+            object.lastModified());
+        if (cached != null) {
+          consumer.accept(object, cached);
+        } else {
+          futures.add(completionService.submit(
+              () -> new ResolvedMetadata(object, headMetadata(bucketName, object))));
+        }
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        ResolvedMetadata resolved = completionService.take().get();
+        consumer.accept(resolved.object(), resolved.metadata());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving object metadata.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private Map<String, String> headMetadata(final String bucketName, final S3Object object) {
+    final var head = amazonS3
+        .headObject(HeadObjectRequest.builder().bucket(bucketName).key(object.key())
+            .build());
+    var metadata = head.metadata();
+    log.debug("Metadata details for file:{}, Metadata: {}", object.key(), metadata);
+    metadataCache.put(bucketName, object.key(), head.eTag(), head.lastModified(), metadata);
+    return metadata;
+  }
+
+  private record ResolvedMetadata(S3Object object, Map<String, String> metadata) {
+
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.awscore.presign.PresignedRequest;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import uk.nhs.hee.tis.common.upload.dto.PresignedUrlDto;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+/**
+ * A service issuing presigned URLs, so that clients can transfer objects directly to and from S3
+ * instead of through this service.
+ */
+@Slf4j
+@Service
+public class PresignedUrlService {
+
+  private static final String HOST_HEADER = "host";
+
+  private final S3Presigner presigner;
+  private final S3Client amazonS3;
+  private final AwsStorageService storageService;
+  private final BucketRegistry bucketRegistry;
+  private final Duration ttl;
+
+  /**
+   * Create a service issuing presigned URLs.
+   *
+   * @param presigner      The presigner to sign URLs with.
+   * @param amazonS3       The S3 client to read uploaded objects with.
+   * @param storageService The storage service to record uploaded objects with.
+   * @param bucketRegistry The registry of buckets known to exist.
+   * @param ttl            How long an issued URL is valid for.
+   */
+  PresignedUrlService(S3Presigner presigner, S3Client amazonS3, AwsStorageService storageService,
+      BucketRegistry bucketRegistry, @Value("${app.presigned-url.ttl}") Duration ttl) {
+    this.presigner = presigner;
+    this.amazonS3 = amazonS3;
+    this.storageService = storageService;
+    this.bucketRegistry = bucketRegistry;
+    this.ttl = ttl;
+  }
+
+  /**
+   * Issue a URL to upload a file to the bucket with a prefix of folderPath, specified in
+   * {@code storageDto}. The URL is signed with the same user metadata as {@code upload} applies,
+   * so the client must send the returned headers with the upload.
+   *
+   * @param storageDto holder for the bucket, folderPath and custom metadata of the file
+   * @param fileName   the original name of the file
+   * @return the URL with the headers to send
+   */
+  public PresignedUrlDto presignUpload(final StorageDto storageDto, final String fileName) {
+    final var bucketName = storageDto.getBucketName();
+    final var key = format("%s/%s", storageDto.getFolderPath(), fileName);
+
+    try {
+      bucketRegistry.ensureExists(bucketName);
+      final var metadata = AwsStorageService.newObjectMetadata(storageDto.getCustomMetadata(),
+          fileName);
+      final var request = presigner.presignPutObject(PutObjectPresignRequest.builder()
+          .signatureDuration(ttl)
+          .putObjectRequest(PutObjectRequest.builder().bucket(bucketName).key(key)
+              .metadata(metadata).build())
+          .build());
+      log.info("Presigned upload to bucket: {} with key: {}", bucketName, key);
+      return toDto(bucketName, key, request);
+    } catch (Exception e) {
+      log.error("Failed to presign upload of file: {} to bucket: {}", fileName, bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Issue a URL to download an object.
+   *
+   * @param storageDto holder for the bucket and object key
+   * @return the URL
+   */
+  public PresignedUrlDto presignDownload(final StorageDto storageDto) {
+    final var bucketName = storageDto.getBucketName();
+    final var key = storageDto.getKey();
+
+    try {
+      final var request = presigner.presignGetObject(GetObjectPresignRequest.builder()
+          .signatureDuration(ttl)
+          .getObjectRequest(GetObjectRequest.builder().bucket(bucketName).key(key)
+              .responseContentDisposition("attachment; filename=\"" + key + "\"")
+              .build())
+          .build());
+      log.info("Presigned download from bucket: {} with key: {}", bucketName, key);
+      return toDto(bucketName, key, request);
+    } catch (Exception e) {
+      log.error("Failed to presign download of key: {} from bucket: {}", key, bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Record an object uploaded with a presigned URL, so that cached and indexed metadata for the key
+   * is current.
+   *
+   * @param storageDto holder for the bucket and object key
+   * @return the user metadata of the uploaded object
+   * @throws AwsStorageException if the object was not uploaded
+   */
+  public Map<String, String> completeUpload(final StorageDto storageDto) {
+    final var bucketName = storageDto.getBucketName();
+    final var key = storageDto.getKey();
+
+    try {
+      final var head = amazonS3.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+          .build());
+      storageService.recordStoredObject(bucketName, key, PutObjectResponse.builder()
+              .eTag(head.eTag())
+              .versionId(head.versionId())
+              .build(),
+          head.contentLength(), head.metadata());
+      log.info("Recorded presigned upload to bucket: {} with key: {}", bucketName, key);
+      return head.metadata();
+    } catch (Exception e) {
+      log.error("Failed to record presigned upload of key: {} to bucket: {}", key, bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  private static PresignedUrlDto toDto(final String bucketName, final String key,
+      final PresignedRequest request) {
+    Map<String, String> headers = request.signedHeaders().entrySet().stream()
+        .filter(header -> !HOST_HEADER.equalsIgnoreCase(header.getKey()))
+        .collect(Collectors.toMap(Map.Entry::getKey, header -> String.join(",",
+            header.getValue())));
+    return PresignedUrlDto.builder()
+        .bucketName(bucketName)
+        .key(key)
+        .method(request.httpRequest().method().name())
+        .url(request.url().toString())
+        .headers(headers)
+        .expiresAt(request.expiration())
+        .build();
+  }
+}
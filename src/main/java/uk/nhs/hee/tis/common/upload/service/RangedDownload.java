@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static java.lang.String.format;
+
+import java.util.List;
+
+/**
+ * The byte ranges of an object to download, resolved against the object's length. An object
+ * version is identified by its entity tag, so that every range is read from the same version.
+ */
+public class RangedDownload {
+
+  private final long objectLength;
+  private final String eTag;
+  private final String contentEncoding;
+  private final List<ByteRange> ranges;
+
+  /**
+   * Create the byte ranges of an object to download.
+   *
+   * @param objectLength    The length of the object.
+   * @param eTag            The entity tag of the object version.
+   * @param contentEncoding The encoding of the object, or null if it is not encoded.
+   * @param ranges          The satisfiable ranges requested, empty if none are satisfiable.
+   */
+  public RangedDownload(long objectLength, String eTag, String contentEncoding,
+      List<ByteRange> ranges) {
+    this.objectLength = objectLength;
+    this.eTag = eTag;
+    this.contentEncoding = contentEncoding;
+    this.ranges = ranges;
+  }
+
+  public long getObjectLength() {
+    return objectLength;
+  }
+
+  public String getETag() {
+    return eTag;
+  }
+
+  public String getContentEncoding() {
+    return contentEncoding;
+  }
+
+  public List<ByteRange> getRanges() {
+    return ranges;
+  }
+
+  public boolean isSatisfiable() {
+    return !ranges.isEmpty();
+  }
+
+  /**
+   * Get the Content-Range of a range of the object.
+   *
+   * @param range The range, or null for the Content-Range of an unsatisfiable request.
+   * @return The Content-Range header value.
+   */
+  public String contentRange(final ByteRange range) {
+    return range == null ? format("bytes */%d", objectLength)
+        : format("bytes %d-%d/%d", range.start(), range.end(), objectLength);
+  }
+
+  /**
+   * An inclusive range of bytes of an object.
+   *
+   * @param start The first byte of the range.
+   * @param end   The last byte of the range.
+   */
+  public record ByteRange(long start, long end) {
+
+    public long length() {
+      return end - start + 1;
+    }
+
+    String toHeader() {
+      return format("bytes=%d-%d", start, end);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * An uploaded file spooled to local disk, so that it can be stored after the request which sent
+ * it has finished.
+ */
+class SpooledFile implements MultipartFile {
+
+  private final String name;
+  private final String originalFilename;
+  private final String contentType;
+  private final long size;
+  private final Path path;
+
+  /**
+   * Spool an uploaded file to local disk.
+   *
+   * @param file The uploaded file.
+   * @param path The path to spool the file to.
+   * @throws IOException if the file could not be spooled.
+   */
+  SpooledFile(MultipartFile file, Path path) throws IOException {
+    file.transferTo(path);
+    this.name = file.getName();
+    this.originalFilename = file.getOriginalFilename();
+    this.contentType = file.getContentType();
+    this.size = file.getSize();
+    this.path = path;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getOriginalFilename() {
+    return originalFilename;
+  }
+
+  @Override
+  public String getContentType() {
+    return contentType;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public long getSize() {
+    return size;
+  }
+
+  @Override
+  public byte[] getBytes() throws IOException {
+    return Files.readAllBytes(path);
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return Files.newInputStream(path);
+  }
+
+  @Override
+  public void transferTo(File dest) throws IOException {
+    Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Delete the spooled file.
+   *
+   * @throws IOException if the file could not be deleted.
+   */
+  void delete() throws IOException {
+    Files.deleteIfExists(path);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A codec for the content of stored objects. Objects of the configured file types, or with a
+ * {@code compression} user metadata value of {@code gzip}, are stored gzip compressed with a
+ * Content-Encoding of gzip, and are decompressed again when read.
+ */
+@Component
+public class StorageCodec {
+
+  public static final String GZIP = "gzip";
+  static final String USER_METADATA_COMPRESSION = "compression";
+  private static final String NO_COMPRESSION = "none";
+
+  private final Set<String> compressedFileTypes;
+
+  /**
+   * Create a storage codec.
+   *
+   * @param compressedFileTypes The file types which are stored compressed, none if empty.
+   */
+  StorageCodec(@Value("${app.compression.file-types}") String[] compressedFileTypes) {
+    this.compressedFileTypes = Arrays.stream(compressedFileTypes)
+        .map(String::trim)
+        .filter(StringUtils::isNotEmpty)
+        .map(type -> type.toLowerCase(Locale.ROOT))
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Whether an object should be stored compressed. A compression metadata flag takes precedence
+   * over the object's file type.
+   *
+   * @param metadata The user metadata of the object.
+   * @return true if the object should be compressed.
+   */
+  public boolean shouldCompress(final Map<String, String> metadata) {
+    final String compression = metadata.get(USER_METADATA_COMPRESSION);
+    if (GZIP.equalsIgnoreCase(compression)) {
+      return true;
+    } else if (NO_COMPRESSION.equalsIgnoreCase(compression)) {
+      return false;
+    }
+    final String fileType = metadata.get(AwsStorageService.USER_METADATA_FILE_TYPE);
+    return fileType != null && compressedFileTypes.contains(fileType.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Compress content to be stored.
+   *
+   * @param content The uncompressed content.
+   * @return The gzip compressed content.
+   * @throws IOException if the content could not be compressed.
+   */
+  public byte[] encode(final byte[] content) throws IOException {
+    final var compressed = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(content);
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * Decompress stored content according to its Content-Encoding.
+   *
+   * @param content         The stored content.
+   * @param contentEncoding The Content-Encoding of the stored object, may be null.
+   * @return The uncompressed content.
+   * @throws IOException if the content could not be decompressed.
+   */
+  public InputStream decode(final InputStream content, final String contentEncoding)
+      throws IOException {
+    return isGzip(contentEncoding) ? new GZIPInputStream(content) : content;
+  }
+
+  /**
+   * Whether a Content-Encoding is gzip.
+   *
+   * @param contentEncoding The Content-Encoding, may be null.
+   * @return true if the encoding is gzip.
+   */
+  public static boolean isGzip(final String contentEncoding) {
+    return GZIP.equalsIgnoreCase(StringUtils.trim(contentEncoding));
+  }
+
+  /**
+   * Whether a client accepts gzip encoded responses, a gzip or wildcard coding with a quality of
+   * zero is not accepted.
+   *
+   * @param acceptEncoding The client's Accept-Encoding header, may be null.
+   * @return true if gzip is accepted.
+   */
+  public static boolean acceptsGzip(final String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      final String[] parameters = coding.split(";");
+      final String name = parameters[0].trim();
+      if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+        return Arrays.stream(parameters).skip(1)
+            .map(String::trim)
+            .filter(parameter -> parameter.startsWith("q="))
+            .noneMatch(parameter -> parameter.substring(2).matches("0(\\.0{0,3})?"));
+      }
+    }
+    return false;
+  }
+}
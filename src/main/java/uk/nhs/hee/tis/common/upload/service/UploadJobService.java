@@ -0,0 +1,285 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadJobDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadJobDto.FileDto;
+import uk.nhs.hee.tis.common.upload.enumeration.UploadJobStatus;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+/**
+ * A service for asynchronous uploads. The files of a request are spooled to local disk and the
+ * request is answered straight away, the files are then stored by a bounded pool of workers so
+ * that slow S3 requests do not hold request threads. Jobs are held in memory, as their spooled
+ * files are only available on the instance which accepted them.
+ */
+@Slf4j
+@Service
+public class UploadJobService {
+
+  private final AwsStorageService storageService;
+  private final ExecutorService uploadJobExecutor;
+  private final Path spoolDirectory;
+  private final Duration retention;
+  private final Map<String, UploadJobDto> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Create a service for asynchronous uploads.
+   *
+   * @param storageService    The storage service to store the files with.
+   * @param uploadJobExecutor The bounded executor to run jobs with.
+   * @param spoolDirectory    The directory to spool the files of pending jobs to.
+   * @param retention         How long the status of a finished job is kept.
+   */
+  UploadJobService(AwsStorageService storageService,
+      @Qualifier("uploadJobExecutor") ExecutorService uploadJobExecutor,
+      @Value("${app.upload.job.spool-dir}") String spoolDirectory,
+      @Value("${app.upload.job.retention}") Duration retention) {
+    this.storageService = storageService;
+    this.uploadJobExecutor = uploadJobExecutor;
+    this.spoolDirectory = Path.of(spoolDirectory);
+    this.retention = retention;
+  }
+
+  /**
+   * Remove the files spooled before a restart, their jobs were only held in memory so the files
+   * would never be stored or deleted. Only job directories, named by job ID, are removed so that
+   * nothing else is lost if the spool directory is shared.
+   */
+  @PostConstruct
+  void clearSpoolDirectory() {
+    if (!Files.isDirectory(spoolDirectory)) {
+      return;
+    }
+    try (Stream<Path> children = Files.list(spoolDirectory)) {
+      final long removed = children
+          .filter(UploadJobService::isJobDirectory)
+          .filter(jobDirectory -> FileUtils.deleteQuietly(jobDirectory.toFile()))
+          .count();
+      log.info("Removed {} orphaned jobs from upload job spool directory: {}", removed,
+          spoolDirectory);
+    } catch (IOException e) {
+      log.warn("Failed to clear upload job spool directory: {}", spoolDirectory, e);
+    }
+  }
+
+  private static boolean isJobDirectory(final Path path) {
+    if (!Files.isDirectory(path)) {
+      return false;
+    }
+    final String name = path.getFileName().toString();
+    try {
+      return UUID.fromString(name).toString().equals(name);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Accept files to be uploaded to the bucket with a prefix of folderPath, specified in
+   * {@code storageDto}. The files are spooled before this returns, so the request may finish
+   * before they are stored. Each file is stored as by {@link AwsStorageService#upload}, but a
+   * failed file does not roll back the other files of the job.
+   *
+   * @param storageDto representation of files to be uploaded to S3
+   * @return the new job, with every file pending
+   * @throws AwsStorageException if the files could not be spooled, too many jobs are queued or
+   *                             the custom metadata sets reserved metadata
+   */
+  public UploadJobDto submit(final StorageDto storageDto) {
+    AwsStorageService.checkCustomMetadata(storageDto.getCustomMetadata());
+    final var jobId = UUID.randomUUID().toString();
+    final Path jobDirectory = spoolDirectory.resolve(jobId);
+    final List<SpooledFile> spooledFiles = new ArrayList<>();
+
+    try {
+      Files.createDirectories(jobDirectory);
+      for (MultipartFile file : storageDto.getFiles()) {
+        spooledFiles.add(
+            new SpooledFile(file, jobDirectory.resolve(String.valueOf(spooledFiles.size()))));
+      }
+    } catch (IOException e) {
+      log.error("Failed to spool the files of upload job: {}", jobId, e);
+      FileUtils.deleteQuietly(jobDirectory.toFile());
+      throw new AwsStorageException(e.getMessage());
+    }
+
+    final var target = StorageDto.builder()
+        .bucketName(storageDto.getBucketName())
+        .folderPath(storageDto.getFolderPath())
+        .customMetadata(storageDto.getCustomMetadata() == null ? null
+            : new HashMap<>(storageDto.getCustomMetadata()))
+        .build();
+    final var job = UploadJobDto.builder()
+        .jobId(jobId)
+        .bucketName(target.getBucketName())
+        .folderPath(target.getFolderPath())
+        .status(UploadJobStatus.PENDING)
+        .createdAt(Instant.now())
+        .files(spooledFiles.stream()
+            .map(file -> FileDto.builder()
+                .fileName(file.getOriginalFilename())
+                .key(format("%s/%s", target.getFolderPath(), file.getOriginalFilename()))
+                .size(file.getSize())
+                .status(UploadJobStatus.PENDING)
+                .build())
+            .toList())
+        .build();
+
+    jobs.put(jobId, job);
+    try {
+      uploadJobExecutor.execute(() -> run(job, target, spooledFiles, jobDirectory));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(jobId);
+      FileUtils.deleteQuietly(jobDirectory.toFile());
+      log.warn("Rejected upload job: {} as the job queue is full", jobId);
+      throw new AwsStorageException("Too many upload jobs are queued, try again later");
+    }
+    log.info("Accepted upload job: {} of {} files to bucket: {}", jobId, spooledFiles.size(),
+        target.getBucketName());
+    return snapshot(job);
+  }
+
+  /**
+   * Get the status of an upload job.
+   *
+   * @param jobId the ID of the job
+   * @return the job, with the status and result of each file
+   * @throws AwsStorageException if there is no job with the ID, or it finished too long ago
+   */
+  public UploadJobDto getStatus(final String jobId) {
+    final var job = jobs.get(jobId);
+    if (job == null) {
+      throw new AwsStorageException(format("Upload job %s was not found or has expired", jobId));
+    }
+    return snapshot(job);
+  }
+
+  /**
+   * Remove jobs which finished longer ago than the retention period.
+   */
+  @Scheduled(fixedDelayString = "${app.upload.job.cleanup-interval}")
+  public void removeFinishedJobs() {
+    final var finishedBefore = Instant.now().minus(retention);
+    jobs.values().removeIf(job -> {
+      synchronized (job) {
+        return job.getFinishedAt() != null && job.getFinishedAt().isBefore(finishedBefore);
+      }
+    });
+  }
+
+  /**
+   * Store the spooled files of a job one at a time, deleting each once it is stored.
+   */
+  private void run(final UploadJobDto job, final StorageDto target,
+      final List<SpooledFile> spooledFiles, final Path jobDirectory) {
+    synchronized (job) {
+      job.setStatus(UploadJobStatus.IN_PROGRESS);
+    }
+    try {
+      for (int i = 0; i < spooledFiles.size(); i++) {
+        final var file = spooledFiles.get(i);
+        final var fileStatus = job.getFiles().get(i);
+        synchronized (job) {
+          fileStatus.setStatus(UploadJobStatus.IN_PROGRESS);
+        }
+        try {
+          final var response = storageService.upload(StorageDto.builder()
+              .bucketName(target.getBucketName())
+              .folderPath(target.getFolderPath())
+              .customMetadata(target.getCustomMetadata())
+              .files(List.of(file))
+              .build()).get(0);
+          synchronized (job) {
+            fileStatus.setStatus(UploadJobStatus.COMPLETED);
+            fileStatus.setETag(response.eTag());
+            fileStatus.setVersionId(response.versionId());
+            job.setCompletedFiles(job.getCompletedFiles() + 1);
+          }
+        } catch (Exception e) {
+          log.error("Failed to upload file: {} of upload job: {}", file.getOriginalFilename(),
+              job.getJobId(), e);
+          synchronized (job) {
+            fileStatus.setStatus(UploadJobStatus.FAILED);
+            fileStatus.setError(e.getMessage());
+            job.setFailedFiles(job.getFailedFiles() + 1);
+          }
+        } finally {
+          deleteSpooledFile(file);
+        }
+      }
+    } finally {
+      FileUtils.deleteQuietly(jobDirectory.toFile());
+      synchronized (job) {
+        job.setStatus(job.getFailedFiles() == 0 ? UploadJobStatus.COMPLETED
+            : UploadJobStatus.FAILED);
+        job.setFinishedAt(Instant.now());
+        log.info("Finished upload job: {} with {} of {} files uploaded", job.getJobId(),
+            job.getCompletedFiles(), job.getFiles().size());
+      }
+    }
+  }
+
+  private void deleteSpooledFile(final SpooledFile file) {
+    try {
+      file.delete();
+    } catch (IOException e) {
+      log.warn("Failed to delete spooled file: {}", file.getOriginalFilename(), e);
+    }
+  }
+
+  /**
+   * Copy a job, so that it can be returned while its files are still being stored.
+   */
+  private static UploadJobDto snapshot(final UploadJobDto job) {
+    synchronized (job) {
+      return job.toBuilder()
+          .files(job.getFiles().stream().map(file -> file.toBuilder().build()).toList())
+          .build();
+    }
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static java.lang.String.format;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto.PartDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+/**
+ * A service for resumable uploads, where a file is sent as a series of chunks which are each
+ * acknowledged once stored. Each chunk is a part of an S3 multipart upload, so a client which loses
+ * its connection can ask for the session status and resume after the last acknowledged chunk.
+ */
+@Slf4j
+@Service
+public class UploadSessionService {
+
+  private final S3Client amazonS3;
+  private final AwsStorageService storageService;
+  private final UploadSessionStore sessionStore;
+  private final BucketRegistry bucketRegistry;
+  private final long chunkSize;
+  private final Duration ttl;
+
+  /**
+   * Create a service for resumable uploads.
+   *
+   * @param amazonS3       The S3 client to upload with.
+   * @param storageService The storage service to record completed uploads with.
+   * @param sessionStore   The store of upload sessions.
+   * @param bucketRegistry The registry of buckets known to exist.
+   * @param chunkSize      The size of every chunk except the last, at least 5MB.
+   * @param ttl            How long a session is kept after it was created or last received a chunk.
+   */
+  UploadSessionService(S3Client amazonS3, AwsStorageService storageService,
+      UploadSessionStore sessionStore, BucketRegistry bucketRegistry,
+      @Value("${app.upload.session.chunk-size}") DataSize chunkSize,
+      @Value("${app.upload.session.ttl}") Duration ttl) {
+    if (chunkSize.compareTo(MultipartUploader.MIN_PART_SIZE) < 0) {
+      throw new IllegalArgumentException(
+          "Upload session chunk size must be at least " + MultipartUploader.MIN_PART_SIZE);
+    }
+    this.amazonS3 = amazonS3;
+    this.storageService = storageService;
+    this.sessionStore = sessionStore;
+    this.bucketRegistry = bucketRegistry;
+    this.chunkSize = chunkSize.toBytes();
+    this.ttl = ttl;
+  }
+
+  /**
+   * Start a resumable upload of a file to the bucket with a prefix of folderPath, specified in
+   * {@code storageDto}.
+   *
+   * @param storageDto holder for the bucket, folderPath and custom metadata of the file
+   * @param fileName   the original name of the file
+   * @return the new session, with the chunk size to send
+   */
+  public UploadSessionDto create(final StorageDto storageDto, final String fileName) {
+    final var bucketName = storageDto.getBucketName();
+    final var key = format("%s/%s", storageDto.getFolderPath(), fileName);
+
+    try {
+      bucketRegistry.ensureExists(bucketName);
+      final var metadata = AwsStorageService.newObjectMetadata(storageDto.getCustomMetadata(),
+          fileName);
+      final var uploadId = amazonS3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+          .bucket(bucketName).key(key).metadata(metadata).build()).uploadId();
+
+      final var session = UploadSessionDto.builder()
+          .sessionId(UUID.randomUUID().toString())
+          .bucketName(bucketName)
+          .key(key)
+          .uploadId(uploadId)
+          .metadata(metadata)
+          .chunkSize(chunkSize)
+          .expiresAt(Instant.now().plus(ttl))
+          .parts(List.of())
+          .build();
+      sessionStore.create(session);
+      log.info("Created upload session: {} for bucket: {} with key: {}", session.getSessionId(),
+          bucketName, key);
+      return session;
+    } catch (Exception e) {
+      log.error("Failed to create upload session for file: {} in bucket: {}", fileName,
+          bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Get the status of an upload session.
+   *
+   * @param sessionId the ID of the session
+   * @return the session, with the number of bytes received so far
+   * @throws AwsStorageException if there is no unexpired session with the ID
+   */
+  public UploadSessionDto getStatus(final String sessionId) {
+    return getSession(sessionId);
+  }
+
+  /**
+   * Store the next chunk of an upload session. Every chunk except the last must be exactly the
+   * session's chunk size, and must start where the previous chunk ended.
+   *
+   * @param sessionId the ID of the session
+   * @param offset    the offset of the chunk in the file
+   * @param content   the chunk content
+   * @param length    the chunk length in bytes
+   * @return the session, with the number of bytes received including the chunk
+   * @throws AwsStorageException if the chunk is not the next one expected or was not stored
+   */
+  public UploadSessionDto uploadChunk(final String sessionId, final long offset,
+      final InputStream content, final long length) {
+    final var session = getSession(sessionId);
+
+    if (isLastChunkReceived(session)) {
+      throw new AwsStorageException("The last chunk of the upload session was already received");
+    }
+    if (offset != session.getReceivedBytes()) {
+      throw new AwsStorageException(format("Expected the chunk at offset %d",
+          session.getReceivedBytes()));
+    }
+    if (length <= 0 || length > session.getChunkSize()) {
+      throw new AwsStorageException(format("Chunks must be between 1 and %d bytes",
+          session.getChunkSize()));
+    }
+
+    final int partNumber = session.getParts().size() + 1;
+    try {
+      final var response = amazonS3.uploadPart(UploadPartRequest.builder()
+              .bucket(session.getBucketName()).key(session.getKey())
+              .uploadId(session.getUploadId()).partNumber(partNumber).contentLength(length)
+              .build(),
+          RequestBody.fromInputStream(content, length));
+
+      final var part = PartDto.builder()
+          .partNumber(partNumber)
+          .eTag(response.eTag())
+          .size(length)
+          .build();
+      final var expiresAt = Instant.now().plus(ttl);
+      sessionStore.addPart(sessionId, part, expiresAt);
+
+      List<PartDto> parts = new ArrayList<>(session.getParts());
+      parts.add(part);
+      session.setParts(parts);
+      session.setReceivedBytes(offset + length);
+      session.setExpiresAt(expiresAt);
+      return session;
+    } catch (Exception e) {
+      log.error("Failed to upload chunk at offset: {} of upload session: {}", offset, sessionId,
+          e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Complete an upload session, storing the object from its chunks.
+   *
+   * @param sessionId the ID of the session
+   * @return result of the attempt to store the object
+   * @throws AwsStorageException if no chunks were received or the object could not be stored
+   */
+  public PutObjectResponse complete(final String sessionId) {
+    final var session = getSession(sessionId);
+
+    if (session.getParts().isEmpty()) {
+      throw new AwsStorageException("No chunks of the upload session were received");
+    }
+
+    try {
+      final List<CompletedPart> parts = session.getParts().stream()
+          .map(part -> CompletedPart.builder()
+              .partNumber(part.getPartNumber())
+              .eTag(part.getETag())
+              .build())
+          .toList();
+      final var completed = amazonS3.completeMultipartUpload(
+          CompleteMultipartUploadRequest.builder()
+              .bucket(session.getBucketName()).key(session.getKey())
+              .uploadId(session.getUploadId())
+              .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+              .build());
+      final var response = PutObjectResponse.builder()
+          .eTag(completed.eTag())
+          .versionId(completed.versionId())
+          .build();
+
+      storageService.recordStoredObject(session.getBucketName(), session.getKey(), response,
+          session.getReceivedBytes(), session.getMetadata());
+      sessionStore.delete(sessionId);
+      log.info("Completed upload session: {} of {} bytes.", sessionId,
+          session.getReceivedBytes());
+      return response;
+    } catch (Exception e) {
+      log.error("Failed to complete upload session: {}", sessionId, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+  }
+
+  /**
+   * Abort the multipart uploads of expired sessions and remove them. A session whose upload could
+   * not be aborted is kept to be tried again.
+   */
+  @Scheduled(fixedDelayString = "${app.upload.session.cleanup-interval}")
+  public void removeExpiredSessions() {
+    for (UploadSessionDto session : sessionStore.listExpired(Instant.now())) {
+      try {
+        amazonS3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+            .bucket(session.getBucketName()).key(session.getKey())
+            .uploadId(session.getUploadId()).build());
+      } catch (NoSuchUploadException e) {
+        log.debug("Multipart upload of session: {} no longer exists.", session.getSessionId());
+      } catch (Exception e) {
+        log.warn("Failed to abort multipart upload of expired session: {}",
+            session.getSessionId(), e);
+        continue;
+      }
+      sessionStore.delete(session.getSessionId());
+      log.info("Removed expired upload session: {}", session.getSessionId());
+    }
+  }
+
+  private UploadSessionDto getSession(final String sessionId) {
+    return sessionStore.get(sessionId, Instant.now()).orElseThrow(() ->
+        new AwsStorageException(format("Upload session %s was not found or has expired",
+            sessionId)));
+  }
+
+  /**
+   * Whether the last chunk was received, which is the first chunk shorter than the chunk size.
+   */
+  private static boolean isLastChunkReceived(final UploadSessionDto session) {
+    final var parts = session.getParts();
+    return !parts.isEmpty() && parts.get(parts.size() - 1).getSize() < session.getChunkSize();
+  }
+}
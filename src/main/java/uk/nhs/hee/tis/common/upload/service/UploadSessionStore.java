@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto.PartDto;
+
+/**
+ * A local store of resumable upload sessions, which must survive restarts of the service.
+ */
+public interface UploadSessionStore {
+
+  /**
+   * Store a new session, without parts.
+   *
+   * @param session The session to store.
+   */
+  void create(UploadSessionDto session);
+
+  /**
+   * Get an unexpired session with its parts, ordered by part number.
+   *
+   * @param sessionId The ID of the session.
+   * @param now       The current time, sessions expiring before it are not returned.
+   * @return The session, or empty if there is no unexpired session with the ID.
+   */
+  Optional<UploadSessionDto> get(String sessionId, Instant now);
+
+  /**
+   * Add an acknowledged part to a session and extend the session's expiry.
+   *
+   * @param sessionId The ID of the session.
+   * @param part      The uploaded part.
+   * @param expiresAt The new expiry time of the session.
+   * @throws org.springframework.dao.DataIntegrityViolationException if the part was already added.
+   */
+  void addPart(String sessionId, PartDto part, Instant expiresAt);
+
+  /**
+   * Delete a session and its parts.
+   *
+   * @param sessionId The ID of the session.
+   */
+  void delete(String sessionId);
+
+  /**
+   * List the sessions which have expired, without their parts.
+   *
+   * @param now The current time.
+   * @return The expired sessions.
+   */
+  List<UploadSessionDto> listExpired(Instant now);
+}
@@ -0,0 +1,303 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static java.lang.String.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.ZipManifestDto;
+import uk.nhs.hee.tis.common.upload.dto.ZipManifestDto.EntryDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+/**
+ * A service for ingesting zip archives, each file in an archive is stored as its own object. The
+ * archive is read as a stream and never written to disk. Entries up to the multipart threshold are
+ * read in to memory and stored concurrently, a bounded number at a time, larger entries are
+ * streamed to S3 in parts as they are read. The number of entries, their total uncompressed size
+ * and the compression ratio of the archive are limited, so a zip bomb is rejected rather than
+ * expanded in to storage.
+ */
+@Slf4j
+@Service
+public class ZipIngestService {
+
+  /**
+   * The uncompressed size below which the compression ratio is not checked, as small archives of
+   * repetitive text can legitimately be highly compressed.
+   */
+  private static final long MIN_RATIO_CHECK_SIZE = DataSize.ofMegabytes(1).toBytes();
+
+  private final AwsStorageService storageService;
+  private final BucketRegistry bucketRegistry;
+  private final ExecutorService fileUploadExecutor;
+  private final int concurrency;
+  private final int bufferLimit;
+  private final int maxEntries;
+  private final long maxSize;
+  private final int maxCompressionRatio;
+
+  /**
+   * Create a service for ingesting zip archives.
+   *
+   * @param storageService      The storage service to store the entries with.
+   * @param bucketRegistry      The registry of buckets known to exist.
+   * @param fileUploadExecutor  The executor to store buffered entries with.
+   * @param concurrency         The maximum number of entries of an archive stored concurrently.
+   * @param bufferLimit         The size above which entries are streamed rather than buffered.
+   * @param maxEntries          The maximum number of entries in an archive.
+   * @param maxSize             The maximum total uncompressed size of the entries of an archive.
+   * @param maxCompressionRatio The maximum ratio of uncompressed to compressed archive size.
+   */
+  ZipIngestService(AwsStorageService storageService, BucketRegistry bucketRegistry,
+      @Qualifier("fileUploadExecutor") ExecutorService fileUploadExecutor,
+      @Value("${app.upload.zip.concurrency}") int concurrency,
+      @Value("${app.upload.multipart-threshold}") DataSize bufferLimit,
+      @Value("${app.upload.zip.max-entries}") int maxEntries,
+      @Value("${app.upload.zip.max-size}") DataSize maxSize,
+      @Value("${app.upload.zip.max-compression-ratio}") int maxCompressionRatio) {
+    this.storageService = storageService;
+    this.bucketRegistry = bucketRegistry;
+    this.fileUploadExecutor = fileUploadExecutor;
+    this.concurrency = concurrency;
+    this.bufferLimit = Math.toIntExact(bufferLimit.toBytes());
+    this.maxEntries = maxEntries;
+    this.maxSize = maxSize.toBytes();
+    this.maxCompressionRatio = maxCompressionRatio;
+  }
+
+  /**
+   * Store each file in a zip archive under the folderPath specified in {@code storageDto}, keeping
+   * the directories of the entries. Each object has the custom metadata and the name and type of
+   * its file. A failed entry does not stop the other entries being stored.
+   *
+   * @param storageDto holder for the bucket, folderPath and custom metadata of the files
+   * @param content    the zip archive
+   * @return the manifest of the archive, with the outcome of each entry
+   * @throws AwsStorageException if the bucket is not available, the archive has no files or
+   *                             exceeds a limit, or the custom metadata sets reserved metadata
+   */
+  public ZipManifestDto ingest(final StorageDto storageDto, final InputStream content) {
+    final var bucketName = storageDto.getBucketName();
+    AwsStorageService.checkCustomMetadata(storageDto.getCustomMetadata());
+    try {
+      bucketRegistry.ensureExists(bucketName);
+    } catch (Exception e) {
+      log.error("Failed to check bucket: {} for zip archive", bucketName, e);
+      throw new AwsStorageException(e.getMessage());
+    }
+
+    final var manifest = ZipManifestDto.builder()
+        .bucketName(bucketName)
+        .folderPath(storageDto.getFolderPath())
+        .build();
+    final Semaphore permits = new Semaphore(concurrency);
+    final List<EntryUpload> uploads = new ArrayList<>();
+
+    final var compressed = new CountingInputStream(content);
+    try (ZipInputStream zip = new ZipInputStream(compressed)) {
+      final var limited = new LimitedArchive(zip, compressed);
+      ZipEntry zipEntry;
+      while ((zipEntry = zip.getNextEntry()) != null) {
+        limited.countEntry();
+        if (!zipEntry.isDirectory()) {
+          uploads.add(uploadEntry(storageDto, zipEntry, limited, permits));
+        }
+        limited.checkLimits();
+      }
+    } catch (ArchiveLimitException e) {
+      final long stored = uploads.stream()
+          .filter(upload -> upload.result().handle((response, t) -> t == null).join())
+          .count();
+      log.error("Rejected zip archive for bucket: {}, {} entries were stored", bucketName,
+          stored, e);
+      throw new AwsStorageException(
+          format("%s, %d entries were stored before it was rejected", e.getMessage(), stored));
+    } catch (IOException e) {
+      log.error("Failed to read zip archive for bucket: {} after {} entries", bucketName,
+          uploads.size(), e);
+      manifest.setError(format("The archive could not be read after %d entries: %s",
+          uploads.size(), e.getMessage()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      manifest.setError("Interrupted while reading the archive");
+    }
+
+    if (uploads.isEmpty() && manifest.getError() == null) {
+      throw new AwsStorageException("The archive contains no files");
+    }
+
+    final List<EntryDto> entries = new ArrayList<>();
+    for (EntryUpload upload : uploads) {
+      final var entry = upload.entry();
+      try {
+        final PutObjectResponse response = upload.result().join();
+        entry.setStored(true);
+        entry.setETag(response.eTag());
+        entry.setVersionId(response.versionId());
+        manifest.setStoredEntries(manifest.getStoredEntries() + 1);
+      } catch (CompletionException e) {
+        entry.setError(e.getCause().getMessage());
+        manifest.setFailedEntries(manifest.getFailedEntries() + 1);
+      }
+      entries.add(entry);
+    }
+    manifest.setEntries(entries);
+    log.info("Ingested zip archive to bucket: {} with {} of {} entries stored", bucketName,
+        manifest.getStoredEntries(), entries.size());
+    return manifest;
+  }
+
+  /**
+   * Store an entry, an entry up to the buffer limit is stored in the background once a permit is
+   * available while a larger entry is streamed before the next entry is read.
+   */
+  private EntryUpload uploadEntry(final StorageDto storageDto, final ZipEntry zipEntry,
+      final InputStream zip, final Semaphore permits) throws IOException, InterruptedException {
+    final var entry = EntryDto.builder().entryName(zipEntry.getName()).build();
+    final String path = FilenameUtils.normalize(zipEntry.getName(), true);
+    if (path == null || FilenameUtils.getPrefixLength(path) != 0) {
+      return new EntryUpload(entry, CompletableFuture.failedFuture(
+          new AwsStorageException("The entry name is not a relative path")));
+    }
+
+    final String directory = FilenameUtils.getPathNoEndSeparator(path);
+    final String fileName = FilenameUtils.getName(path);
+    final var entryDto = StorageDto.builder()
+        .bucketName(storageDto.getBucketName())
+        .folderPath(directory.isEmpty() ? storageDto.getFolderPath()
+            : format("%s/%s", storageDto.getFolderPath(), directory))
+        .customMetadata(storageDto.getCustomMetadata())
+        .build();
+    entry.setKey(format("%s/%s", entryDto.getFolderPath(), fileName));
+
+    final byte[] buffered = zip.readNBytes(bufferLimit + 1);
+    if (buffered.length <= bufferLimit) {
+      entry.setSize(buffered.length);
+      permits.acquire();
+      try {
+        final var result = CompletableFuture.supplyAsync(
+            () -> storageService.uploadBytes(entryDto, fileName, buffered), fileUploadExecutor);
+        result.whenComplete((response, e) -> permits.release());
+        return new EntryUpload(entry, result);
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        return new EntryUpload(entry, CompletableFuture.failedFuture(e));
+      }
+    }
+
+    try {
+      final var response = storageService.uploadStream(entryDto, fileName,
+          new SequenceInputStream(new ByteArrayInputStream(buffered),
+              CloseShieldInputStream.wrap(zip)));
+      entry.setSize(zipEntry.getSize());
+      return new EntryUpload(entry, CompletableFuture.completedFuture(response));
+    } catch (AwsStorageException e) {
+      return new EntryUpload(entry, CompletableFuture.failedFuture(e));
+    }
+  }
+
+  private record EntryUpload(EntryDto entry, CompletableFuture<PutObjectResponse> result) {
+
+  }
+
+  /**
+   * The uncompressed content of an archive, which fails once the archive exceeds a limit. The
+   * failure is remembered, as an entry streamed to S3 reports it only as a failed entry.
+   */
+  private final class LimitedArchive extends ProxyInputStream {
+
+    private final CountingInputStream compressed;
+    private int entries;
+    private long size;
+    private ArchiveLimitException exceeded;
+
+    private LimitedArchive(InputStream zip, CountingInputStream compressed) {
+      super(zip);
+      this.compressed = compressed;
+    }
+
+    private void countEntry() throws ArchiveLimitException {
+      if (++entries > maxEntries) {
+        fail(format("The archive has more than %d entries", maxEntries));
+      }
+    }
+
+    @Override
+    protected void afterRead(int n) throws IOException {
+      if (n <= 0) {
+        return;
+      }
+      size += n;
+      if (size > maxSize) {
+        fail(format("The archive is larger than %d bytes uncompressed", maxSize));
+      }
+      if (size > MIN_RATIO_CHECK_SIZE
+          && size > (long) maxCompressionRatio * compressed.getByteCount()) {
+        fail(format("The archive is compressed more than %d times", maxCompressionRatio));
+      }
+    }
+
+    private void checkLimits() throws ArchiveLimitException {
+      if (exceeded != null) {
+        throw exceeded;
+      }
+    }
+
+    private void fail(String message) throws ArchiveLimitException {
+      exceeded = new ArchiveLimitException(message);
+      throw exceeded;
+    }
+  }
+
+  /**
+   * An archive exceeded one of the limits on its entries.
+   */
+  private static class ArchiveLimitException extends IOException {
+
+    private ArchiveLimitException(String message) {
+      super(message);
+    }
+  }
+}
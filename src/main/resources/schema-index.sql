@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS object_metadata (
+  bucket_name VARCHAR(63) NOT NULL,
+  object_key VARCHAR(1024) NOT NULL,
+  e_tag VARCHAR(128),
+  object_size BIGINT,
+  last_modified BIGINT,
+  file_name VARCHAR(1024),
+  file_type VARCHAR(255),
+  metadata CLOB,
+  indexed_at BIGINT NOT NULL,
+  PRIMARY KEY (bucket_name, object_key)
+);
+
+CREATE TABLE IF NOT EXISTS indexed_bucket (
+  bucket_name VARCHAR(63) NOT NULL PRIMARY KEY,
+  reconciled_at BIGINT
+);
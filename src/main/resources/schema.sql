@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS upload_session (
+  session_id VARCHAR(36) NOT NULL PRIMARY KEY,
+  bucket_name VARCHAR(63) NOT NULL,
+  object_key VARCHAR(1024) NOT NULL,
+  upload_id VARCHAR(1024) NOT NULL,
+  metadata CLOB,
+  chunk_size BIGINT NOT NULL,
+  created_at BIGINT NOT NULL,
+  expires_at BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS upload_session_part (
+  session_id VARCHAR(36) NOT NULL,
+  part_number INT NOT NULL,
+  e_tag VARCHAR(128) NOT NULL,
+  part_size BIGINT NOT NULL,
+  PRIMARY KEY (session_id, part_number)
+);
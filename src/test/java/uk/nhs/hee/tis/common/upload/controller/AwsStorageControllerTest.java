@@ -22,24 +22,45 @@
 package uk.nhs.hee.tis.common.upload.controller;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -47,12 +68,31 @@ import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import uk.nhs.hee.tis.common.upload.dto.ConditionalRequestDto;
+import uk.nhs.hee.tis.common.upload.dto.FileListDto;
 import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+import uk.nhs.hee.tis.common.upload.dto.FolderStatsDto;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
 import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.StoredContentDto;
+import uk.nhs.hee.tis.common.upload.dto.ZipManifestDto;
+import uk.nhs.hee.tis.common.upload.enumeration.Consistency;
+import uk.nhs.hee.tis.common.upload.enumeration.LifecycleState;
+import uk.nhs.hee.tis.common.upload.enumeration.ListMetadataMode;
 import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
 import uk.nhs.hee.tis.common.upload.service.AwsStorageService;
+import uk.nhs.hee.tis.common.upload.service.ObjectContentStream;
+import uk.nhs.hee.tis.common.upload.service.RangedDownload;
+import uk.nhs.hee.tis.common.upload.service.RangedDownload.ByteRange;
+import uk.nhs.hee.tis.common.upload.service.ZipIngestService;
 
 @WebMvcTest(AwsStorageController.class)
 class AwsStorageControllerTest {
@@ -62,6 +102,8 @@ class AwsStorageControllerTest {
   private static final String DOWNLOAD = "/download";
   private static final String LIST = "/list";
   private static final String DELETE = "/delete";
+  private static final String METADATA = "/metadata";
+  private static final String BOUNDARY = "test-boundary";
 
   @Autowired
   private MockMvc mockMvc;
@@ -69,9 +111,15 @@ class AwsStorageControllerTest {
   @MockBean
   private AwsStorageService storageServiceMock;
 
+  @MockBean
+  private ZipIngestService zipIngestServiceMock;
+
   @Captor
   private ArgumentCaptor<StorageDto> storageDtoCaptor;
 
+  @Captor
+  private ArgumentCaptor<ConditionalRequestDto> conditionsCaptor;
+
   private String folderPath;
   private String bucketName;
   private String key;
@@ -109,6 +157,89 @@ class AwsStorageControllerTest {
     assertThat(storageDtoCaptor.getValue(), equalTo(expectedDto));
   }
 
+  @Test
+  void shouldUpdateMetadata() throws Exception {
+    final String key = folderPath + "/test.txt";
+    when(storageServiceMock.updateMetadata(any())).thenReturn(
+        Map.of("name", "test.txt", "key", "value"));
+
+    mockMvc.perform(patch(STORAGE_URL + METADATA)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .param("bucketName", bucketName)
+            .param("key", key)
+            .param("customMetadata[key]", "value"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("test.txt"))
+        .andExpect(jsonPath("$.key").value("value"));
+
+    verify(storageServiceMock).updateMetadata(storageDtoCaptor.capture());
+    StorageDto expectedDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .customMetadata(Map.of("key", "value")).build();
+    assertThat(storageDtoCaptor.getValue(), equalTo(expectedDto));
+  }
+
+  @Test
+  void updateMetadataShouldThrowExceptionWhenNoCustomMetadata() throws Exception {
+    mockMvc.perform(patch(STORAGE_URL + METADATA)
+            .param("bucketName", bucketName)
+            .param("key", folderPath + "/test.txt"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(storageServiceMock);
+  }
+
+  @Test
+  void shouldStreamUploadedFiles() throws Exception {
+    final String body = formField("bucketName", bucketName)
+        + formField("folderPath", folderPath)
+        + formField("customMetadata[key]", "value")
+        + fileField("test.txt", "Spring Framework")
+        + "--" + BOUNDARY + "--\r\n";
+    final List<String> contents = new ArrayList<>();
+    when(storageServiceMock.uploadStream(any(), eq("test.txt"), any())).thenAnswer(
+        invocation -> {
+          contents.add(new String(invocation.getArgument(2, InputStream.class).readAllBytes(),
+              StandardCharsets.UTF_8));
+          return null;
+        });
+
+    mockMvc.perform(post(STORAGE_URL + UPLOAD + "/stream")
+            .contentType("multipart/form-data; boundary=" + BOUNDARY)
+            .content(body))
+        .andExpect(status().isOk());
+
+    verify(storageServiceMock).uploadStream(storageDtoCaptor.capture(), eq("test.txt"), any());
+    StorageDto expectedDto = StorageDto.builder().bucketName(bucketName).folderPath(folderPath)
+        .customMetadata(Map.of("key", "value")).build();
+    assertThat(storageDtoCaptor.getValue(), equalTo(expectedDto));
+    assertThat(contents, equalTo(List.of("Spring Framework")));
+  }
+
+  @Test
+  void streamUploadShouldThrowExceptionWhenFileBeforeBucketName() throws Exception {
+    final String body = fileField("test.txt", "Spring Framework")
+        + formField("bucketName", bucketName)
+        + formField("folderPath", folderPath)
+        + "--" + BOUNDARY + "--\r\n";
+
+    mockMvc.perform(post(STORAGE_URL + UPLOAD + "/stream")
+            .contentType("multipart/form-data; boundary=" + BOUNDARY)
+            .content(body))
+        .andExpect(status().is4xxClientError());
+
+    verifyNoInteractions(storageServiceMock);
+  }
+
+  @Test
+  void streamUploadShouldThrowExceptionWhenNotMultipart() throws Exception {
+    mockMvc.perform(post(STORAGE_URL + UPLOAD + "/stream")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .content("Spring Framework"))
+        .andExpect(status().is4xxClientError());
+
+    verifyNoInteractions(storageServiceMock);
+  }
+
   @Test
   void shouldUploadMultipleFiles() throws Exception {
     final var file1 = new MockMultipartFile("files", "test1.txt",
@@ -135,20 +266,222 @@ class AwsStorageControllerTest {
         .andExpect(status().is4xxClientError());
   }
 
+  @Test
+  void shouldUploadZipArchive() throws Exception {
+    final var manifest = ZipManifestDto.builder().bucketName(bucketName).folderPath(folderPath)
+        .storedEntries(1).entries(List.of(ZipManifestDto.EntryDto.builder()
+            .entryName("test.txt").key(key).stored(true).build()))
+        .build();
+    when(zipIngestServiceMock.ingest(storageDtoCaptor.capture(), any())).thenReturn(manifest);
+
+    mockMvc.perform(post(STORAGE_URL + UPLOAD + "/zip")
+            .contentType("application/zip")
+            .content(new byte[]{80, 75, 5, 6})
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .param("customMetadata[key]", "value"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.storedEntries").value(1))
+        .andExpect(jsonPath("$.entries[0].key").value(key))
+        .andExpect(jsonPath("$.entries[0].stored").value(true));
+
+    final var storageDto = storageDtoCaptor.getValue();
+    assertThat(storageDto.getBucketName(), equalTo(bucketName));
+    assertThat(storageDto.getFolderPath(), equalTo(folderPath));
+    assertThat(storageDto.getCustomMetadata(), equalTo(Map.of("key", "value")));
+  }
+
+  @Test
+  void uploadZipShouldThrowExceptionWhenNoFolderPath() throws Exception {
+    mockMvc.perform(post(STORAGE_URL + UPLOAD + "/zip")
+            .contentType("application/zip")
+            .content(new byte[]{80, 75, 5, 6})
+            .param("bucketName", bucketName))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(zipIngestServiceMock);
+  }
+
   @Test
   void shouldDownloadFile() throws Exception {
     final var content = "This is test file";
-    when(storageServiceMock.download(any())).thenReturn(content.getBytes());
-    mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+    when(storageServiceMock.openDownload(any(), any(), eq(false))).thenReturn(
+        contentStream(content.getBytes(), null));
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
             .param("bucketName", bucketName)
             .param("key", key))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
         .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length()))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
         .andExpect(content().string(content));
   }
 
+  @Test
+  void shouldDownloadCompressedFileWhenGzipAccepted() throws Exception {
+    final var content = new byte[]{31, -117, 8, 0};
+    when(storageServiceMock.openDownload(any(), any(), eq(true))).thenReturn(
+        contentStream(content, "gzip"));
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(content().bytes(content));
+  }
+
+  @Test
+  void shouldAbortDownloadWhenCopyFails() throws Exception {
+    final var download = mock(ObjectContentStream.class);
+    final var content = mock(InputStream.class);
+    when(content.read(any(byte[].class))).thenThrow(new IOException("Broken pipe"));
+    when(download.getContent()).thenReturn(content);
+    when(storageServiceMock.openDownload(any(), any(), anyBoolean())).thenReturn(download);
+
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    result.getAsyncResult();
+
+    verify(download).abort();
+    verify(download).close();
+  }
+
+  @Test
+  void shouldDownloadSingleRange() throws Exception {
+    final var range = new ByteRange(2, 5);
+    final var download = new RangedDownload(10, "\"etag\"", null, List.of(range));
+    when(storageServiceMock.planRanges(any(), any(),
+        eq(ConditionalRequestDto.builder().ifRange("\"etag\"").build()), eq(false)))
+        .thenReturn(Optional.of(download));
+    when(storageServiceMock.openRange(any(), eq(download), eq(range))).thenReturn(
+        contentStream("2345".getBytes(), null));
+
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.RANGE, "bytes=2-5")
+            .header(HttpHeaders.IF_RANGE, "\"etag\"")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+        .andExpect(content().string("2345"));
+  }
+
+  @Test
+  void shouldDownloadMultipleRangesAsMultipart() throws Exception {
+    final var first = new ByteRange(0, 1);
+    final var second = new ByteRange(8, 9);
+    final var download = new RangedDownload(10, "\"etag\"", null, List.of(first, second));
+    when(storageServiceMock.planRanges(any(), any(), any(), anyBoolean()))
+        .thenReturn(Optional.of(download));
+    when(storageServiceMock.openRange(any(), eq(download), eq(first))).thenReturn(
+        contentStream("01".getBytes(), null));
+    when(storageServiceMock.openRange(any(), eq(download), eq(second))).thenReturn(
+        contentStream("89".getBytes(), null));
+
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.RANGE, "bytes=0-1, -2")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    final String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(CONTENT_TYPE, startsWith("multipart/byteranges; boundary=")))
+        .andReturn().getResponse().getContentAsString();
+    assertThat(body, containsString("Content-Range: bytes 0-1/10\r\n\r\n01\r\n"));
+    assertThat(body, containsString("Content-Range: bytes 8-9/10\r\n\r\n89\r\n"));
+  }
+
+  @Test
+  void shouldRespond416WhenNoRangeSatisfiable() throws Exception {
+    when(storageServiceMock.planRanges(any(), any(), any(), anyBoolean()))
+        .thenReturn(Optional.of(new RangedDownload(10, "\"etag\"", null, List.of())));
+
+    mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.RANGE, "bytes=10-")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isRequestedRangeNotSatisfiable())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    verify(storageServiceMock, never()).openRange(any(), any(), any());
+  }
+
+  @Test
+  void shouldDownloadWholeFileWhenRangeInvalid() throws Exception {
+    when(storageServiceMock.openDownload(any(), any(), eq(false))).thenReturn(
+        contentStream("test".getBytes(), null));
+
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.RANGE, "lines=1-2")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+        .andExpect(content().string("test"));
+    verify(storageServiceMock, never()).planRanges(any(), any(), any(), anyBoolean());
+  }
+
+  @Test
+  void shouldRespondNotModifiedWhenDownloadCurrent() throws Exception {
+    final var lastModified = Instant.parse("2024-01-01T10:15:30Z");
+    when(storageServiceMock.openDownload(any(), conditionsCaptor.capture(), eq(false)))
+        .thenReturn(ObjectContentStream.notModified("W/\"etag\"", lastModified));
+
+    mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.IF_NONE_MATCH, "W/\"etag\"")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "W/\"etag\""))
+        .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModified.toEpochMilli()))
+        .andExpect(content().bytes(new byte[0]));
+    assertEquals("W/\"etag\"", conditionsCaptor.getValue().getIfNoneMatch());
+  }
+
+  @Test
+  void shouldRespondNotModifiedBeforeRanges() throws Exception {
+    when(storageServiceMock.planRanges(any(), any(), any(), anyBoolean()))
+        .thenReturn(Optional.empty());
+    when(storageServiceMock.openDownload(any(), any(), anyBoolean()))
+        .thenReturn(ObjectContentStream.notModified("\"etag\"", null));
+
+    mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
+            .header(HttpHeaders.RANGE, "bytes=0-9")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"etag\"")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isNotModified())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE));
+    verify(storageServiceMock, never()).openRange(any(), any(), any());
+  }
+
   @Test
   void downloadFileShouldThrowExceptionWhenNoKeyProvided() throws Exception {
-    when(storageServiceMock.download(any())).thenReturn("test".getBytes());
+    when(storageServiceMock.openDownload(any(), any(), anyBoolean())).thenReturn(
+        contentStream("test".getBytes(), null));
     mockMvc.perform(get(STORAGE_URL + DOWNLOAD)
             .param("bucketName", bucketName))
         .andExpect(status().is4xxClientError());
@@ -156,8 +489,10 @@ class AwsStorageControllerTest {
 
   @Test
   void getDataShouldRespondWithExpectedData() throws Exception {
-    when(storageServiceMock.getData(storageDtoCaptor.capture())).thenReturn(
-        "{\"table\": \"Concern\",  \"data\": {\"id\": 40,\"name\": \"Dolore, Harold\"}}");
+    when(storageServiceMock.download(storageDtoCaptor.capture(), any(), eq(false))).thenReturn(
+        StoredContentDto.builder().content(
+            "{\"table\": \"Concern\",  \"data\": {\"id\": 40,\"name\": \"Dolore, Harold\"}}"
+                .getBytes(StandardCharsets.UTF_8)).build());
     mockMvc.perform(get(STORAGE_URL + "/data")
             .param("bucketName", bucketName)
             .param("key", key))
@@ -170,9 +505,111 @@ class AwsStorageControllerTest {
     assertEquals(key, actualStorageDto.getKey());
   }
 
+  @Test
+  void getDataShouldRespondWithCompressedDataWhenGzipAccepted() throws Exception {
+    final var content = new byte[]{31, -117, 8, 0};
+    when(storageServiceMock.download(storageDtoCaptor.capture(), any(), eq(true))).thenReturn(
+        StoredContentDto.builder().content(content).contentEncoding("gzip").build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(content().bytes(content));
+    assertEquals(key, storageDtoCaptor.getValue().getKey());
+  }
+
+  @Test
+  void getDataShouldRespondWithNegotiatedContentTypeWhenCompressed() throws Exception {
+    final var content = new byte[]{31, -117, 8, 0};
+    when(storageServiceMock.download(any(), any(), eq(true))).thenReturn(
+        StoredContentDto.builder().content(content).contentEncoding("gzip").build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(content().bytes(content));
+  }
+
+  @Test
+  void getDataShouldRespondWithNegotiatedContentTypeWhenUncompressed() throws Exception {
+    when(storageServiceMock.download(any(), any(), eq(false))).thenReturn(
+        StoredContentDto.builder()
+            .content("{\"table\": \"Concern\"}".getBytes(StandardCharsets.UTF_8)).build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+        .andExpect(jsonPath("$.table", equalTo("Concern")));
+  }
+
+  @Test
+  void getDataShouldRespondWithPlainTextByDefault() throws Exception {
+    when(storageServiceMock.download(any(), any(), eq(false))).thenReturn(
+        StoredContentDto.builder().content("text".getBytes(StandardCharsets.UTF_8)).build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/plain;charset=UTF-8"))
+        .andExpect(content().string("text"));
+  }
+
+  @Test
+  void getDataShouldRespondWithUncompressedDataWhenGzipAccepted() throws Exception {
+    when(storageServiceMock.download(any(), any(), eq(true))).thenReturn(
+        StoredContentDto.builder()
+            .content("{\"table\": \"Concern\"}".getBytes(StandardCharsets.UTF_8)).build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(jsonPath("$.table", equalTo("Concern")));
+  }
+
+  @Test
+  void getDataShouldRespondWithValidators() throws Exception {
+    final var lastModified = Instant.parse("2024-01-01T10:15:30Z");
+    when(storageServiceMock.download(any(), any(), eq(false))).thenReturn(
+        StoredContentDto.builder().content("{}".getBytes(StandardCharsets.UTF_8))
+            .etag("\"etag\"").lastModified(lastModified).build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+        .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModified.toEpochMilli()));
+  }
+
+  @Test
+  void getDataShouldRespondNotModifiedWhenCopyCurrent() throws Exception {
+    when(storageServiceMock.download(any(), conditionsCaptor.capture(), eq(false))).thenReturn(
+        StoredContentDto.builder().etag("\"etag\"").notModified(true).build());
+    mockMvc.perform(get(STORAGE_URL + "/data")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"etag\"")
+            .header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 01 Jan 2024 10:15:30 GMT")
+            .param("bucketName", bucketName)
+            .param("key", key))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+        .andExpect(content().bytes(new byte[0]));
+    assertEquals("\"etag\"", conditionsCaptor.getValue().getIfNoneMatch());
+    assertEquals("Mon, 01 Jan 2024 10:15:30 GMT",
+        conditionsCaptor.getValue().getIfModifiedSince());
+  }
+
   @Test
   void getDataShouldRespond4xxOnStorageException() throws Exception {
-    when(storageServiceMock.getData(storageDtoCaptor.capture()))
+    when(storageServiceMock.download(storageDtoCaptor.capture(), any(), anyBoolean()))
         .thenThrow(new AwsStorageException("Storage Exception"));
 
     mockMvc.perform(get(STORAGE_URL + "/data")
@@ -188,8 +625,10 @@ class AwsStorageControllerTest {
         .customMetadata(defaultMetadataMap)
         .fileName(metadataFileName).fileType(metadataFileType).build();
     final var fileSummaryDtoList = List.of(fileSummaryDto);
-    when(storageServiceMock.listFiles(any(), eq(false), eq("interest.score,desc")))
-        .thenReturn(fileSummaryDtoList);
+    final var query = ListQueryDto.builder().includeCustomMetadata(false)
+        .sort("interest.score,desc").build();
+    when(storageServiceMock.listFiles(any(), eq(query), any()))
+        .thenReturn(FileListDto.builder().files(fileSummaryDtoList).build());
     mockMvc.perform(get(STORAGE_URL + LIST)
             .param("bucketName", bucketName)
             .param("folderPath", folderPath)
@@ -198,6 +637,154 @@ class AwsStorageControllerTest {
         .andExpect(content().string(objectMapper.writeValueAsString(fileSummaryDtoList)));
   }
 
+  @Test
+  void shouldListPageOfFilesWithNextCursor() throws Exception {
+    final var fileSummaryDto = FileSummaryDto.builder().bucketName(bucketName).key(key)
+        .fileName(metadataFileName).fileType(metadataFileType).build();
+    final var fileSummaryDtoList = List.of(fileSummaryDto);
+    final var query = ListQueryDto.builder().pageSize(1).cursor("cursor1").build();
+    when(storageServiceMock.listFiles(any(), eq(query), any())).thenReturn(
+        FileListDto.builder().files(fileSummaryDtoList).nextCursor("cursor2").build());
+
+    mockMvc.perform(get(STORAGE_URL + LIST)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .param("pageSize", "1")
+            .param("cursor", "cursor1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(AwsStorageController.NEXT_CURSOR_HEADER, "cursor2"))
+        .andExpect(content().string(objectMapper.writeValueAsString(fileSummaryDtoList)));
+  }
+
+  @Test
+  void shouldReturnListingEtag() throws Exception {
+    final var query = ListQueryDto.builder().build();
+    when(storageServiceMock.listFiles(any(), eq(query), eq("\"old\""))).thenReturn(
+        FileListDto.builder().files(List.of()).etag("\"new\"").build());
+
+    mockMvc.perform(get(STORAGE_URL + LIST)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"new\""));
+  }
+
+  @Test
+  void shouldReturnNotModifiedWhenListingUnchanged() throws Exception {
+    final var query = ListQueryDto.builder().build();
+    when(storageServiceMock.listFiles(any(), eq(query), eq("\"current\""))).thenReturn(
+        FileListDto.builder().etag("\"current\"").notModified(true).build());
+
+    mockMvc.perform(get(STORAGE_URL + LIST)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"current\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"current\""))
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void shouldGetFolderStats() throws Exception {
+    final var stats = FolderStatsDto.builder().bucketName(bucketName).folderPath(folderPath)
+        .count(2).totalSize(42).countByFileType(Map.of("txt", 2L)).build();
+    when(storageServiceMock.getStats(any())).thenReturn(stats);
+
+    mockMvc.perform(get(STORAGE_URL + "/stats")
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count").value(2))
+        .andExpect(jsonPath("$.totalSize").value(42))
+        .andExpect(jsonPath("$.countByFileType.txt").value(2));
+
+    verify(storageServiceMock).getStats(storageDtoCaptor.capture());
+    assertThat(storageDtoCaptor.getValue(), equalTo(StorageDto.builder().bucketName(bucketName)
+        .folderPath(folderPath).build()));
+  }
+
+  @Test
+  void shouldBindListFilters() throws Exception {
+    final var query = ListQueryDto.builder()
+        .fileType(List.of("pdf", "json"))
+        .excludeLifecycleState(Set.of(LifecycleState.DELETED))
+        .keyGlob("*.pdf")
+        .metadata(Map.of("uploadedby", "Marvin"))
+        .build();
+    when(storageServiceMock.listFiles(any(), eq(query), any()))
+        .thenReturn(FileListDto.builder().files(List.of()).build());
+
+    mockMvc.perform(get(STORAGE_URL + LIST)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .param("fileType", "pdf,json")
+            .param("excludeLifecycleState", "DELETED")
+            .param("keyGlob", "*.pdf")
+            .param("metadata[uploadedby]", "Marvin"))
+        .andExpect(status().isOk());
+
+    verify(storageServiceMock).listFiles(any(), eq(query), any());
+  }
+
+  @Test
+  void shouldBindMetadataModeSeparatelyFromMetadataFilters() throws Exception {
+    final var query = ListQueryDto.builder()
+        .metadataMode(ListMetadataMode.NONE)
+        .consistency(Consistency.STRONG)
+        .build();
+    when(storageServiceMock.listFiles(any(), eq(query), any()))
+        .thenReturn(FileListDto.builder().files(List.of()).build());
+
+    mockMvc.perform(get(STORAGE_URL + LIST)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .param("metadata", "none")
+            .param("consistency", "strong"))
+        .andExpect(status().isOk());
+
+    verify(storageServiceMock).listFiles(any(), eq(query), any());
+  }
+
+  @Test
+  void shouldStreamFilesAsNdjson() throws Exception {
+    final var fileSummaryDto1 = FileSummaryDto.builder().bucketName(bucketName).key(key)
+        .fileName(metadataFileName).fileType(metadataFileType).build();
+    final var fileSummaryDto2 = FileSummaryDto.builder().bucketName(bucketName).key(key + "2")
+        .fileName(metadataFileName).fileType(metadataFileType).build();
+    final var query = ListQueryDto.builder().includeCustomMetadata(false).build();
+    doAnswer(invocation -> {
+      Consumer<FileSummaryDto> consumer = invocation.getArgument(2);
+      consumer.accept(fileSummaryDto1);
+      consumer.accept(fileSummaryDto2);
+      return null;
+    }).when(storageServiceMock).streamFiles(any(), eq(query), any());
+
+    MvcResult result = mockMvc.perform(get(STORAGE_URL + LIST)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+        .andExpect(content().string(objectMapper.writeValueAsString(fileSummaryDto1) + "\n"
+            + objectMapper.writeValueAsString(fileSummaryDto2) + "\n"));
+  }
+
+  @Test
+  void streamFilesShouldRespond4xxWhenSortProvided() throws Exception {
+    mockMvc.perform(get(STORAGE_URL + LIST)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .param("bucketName", bucketName)
+            .param("folderPath", folderPath)
+            .param("sort", "fileName,asc"))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(storageServiceMock);
+  }
+
   @Test
   void listAllFilesShouldThrowExceptionWhenFolderPathNotProvided() throws Exception {
     mockMvc.perform(get(STORAGE_URL + LIST)
@@ -234,4 +821,24 @@ class AwsStorageControllerTest {
         .andExpect(status().is4xxClientError());
     verifyNoInteractions(storageServiceMock);
   }
+
+  private static String formField(String name, String value) {
+    return "--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+        + value + "\r\n";
+  }
+
+  private static String fileField(String fileName, String content) {
+    return "--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"files\"; filename=\"" + fileName + "\"\r\n"
+        + "Content-Type: text/plain\r\n\r\n"
+        + content + "\r\n";
+  }
+
+  private static ObjectContentStream contentStream(byte[] content, String contentEncoding) {
+    final var object = new ResponseInputStream<>(
+        GetObjectResponse.builder().contentLength((long) content.length).build(),
+        AbortableInputStream.create(new ByteArrayInputStream(content)));
+    return new ObjectContentStream(object, object, (long) content.length, contentEncoding);
+  }
 }
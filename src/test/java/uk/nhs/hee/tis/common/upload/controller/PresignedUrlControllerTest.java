@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.nhs.hee.tis.common.upload.dto.PresignedUrlDto;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.service.PresignedUrlService;
+
+@WebMvcTest(PresignedUrlController.class)
+class PresignedUrlControllerTest {
+
+  private static final String PRESIGNED_URL = "/api/storage/presigned";
+  private static final String BUCKET = "tis-test-bucket";
+  private static final String KEY = "1/concern/test.txt";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private PresignedUrlService presignedUrlServiceMock;
+
+  @Captor
+  private ArgumentCaptor<StorageDto> storageDtoCaptor;
+
+  @Test
+  void shouldPresignUpload() throws Exception {
+    when(presignedUrlServiceMock.presignUpload(any(), eq("test.txt"))).thenReturn(
+        PresignedUrlDto.builder().method("PUT").url("https://example.com/upload")
+            .headers(Map.of("x-amz-meta-name", "test.txt")).build());
+
+    mockMvc.perform(post(PRESIGNED_URL + "/upload")
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .param("bucketName", BUCKET)
+            .param("folderPath", "1/concern")
+            .param("fileName", "../test.txt")
+            .param("customMetadata[key]", "value"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.method").value("PUT"))
+        .andExpect(jsonPath("$.url").value("https://example.com/upload"))
+        .andExpect(jsonPath("$.headers['x-amz-meta-name']").value("test.txt"));
+
+    verify(presignedUrlServiceMock).presignUpload(storageDtoCaptor.capture(), eq("test.txt"));
+    StorageDto expectedDto = StorageDto.builder().bucketName(BUCKET).folderPath("1/concern")
+        .customMetadata(Map.of("key", "value")).build();
+    assertThat(storageDtoCaptor.getValue(), equalTo(expectedDto));
+  }
+
+  @Test
+  void presignUploadShouldThrowExceptionWhenNoFolderPath() throws Exception {
+    mockMvc.perform(post(PRESIGNED_URL + "/upload")
+            .param("bucketName", BUCKET)
+            .param("fileName", "test.txt"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(presignedUrlServiceMock);
+  }
+
+  @Test
+  void shouldCompleteUpload() throws Exception {
+    when(presignedUrlServiceMock.completeUpload(any())).thenReturn(Map.of("name", "test.txt"));
+
+    mockMvc.perform(post(PRESIGNED_URL + "/upload/complete")
+            .param("bucketName", BUCKET)
+            .param("key", KEY))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("test.txt"));
+
+    verify(presignedUrlServiceMock).completeUpload(
+        StorageDto.builder().bucketName(BUCKET).key(KEY).build());
+  }
+
+  @Test
+  void shouldPresignDownload() throws Exception {
+    when(presignedUrlServiceMock.presignDownload(any())).thenReturn(
+        PresignedUrlDto.builder().method("GET").url("https://example.com/download").build());
+
+    mockMvc.perform(get(PRESIGNED_URL + "/download")
+            .param("bucketName", BUCKET)
+            .param("key", KEY))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.url").value("https://example.com/download"));
+
+    verify(presignedUrlServiceMock).presignDownload(
+        StorageDto.builder().bucketName(BUCKET).key(KEY).build());
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadJobDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadJobDto.FileDto;
+import uk.nhs.hee.tis.common.upload.enumeration.UploadJobStatus;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+import uk.nhs.hee.tis.common.upload.service.UploadJobService;
+
+@WebMvcTest(UploadJobController.class)
+class UploadJobControllerTest {
+
+  private static final String JOBS_URL = "/api/storage/upload/jobs";
+  private static final String JOB_ID = "job-id";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private UploadJobService jobServiceMock;
+
+  @Captor
+  private ArgumentCaptor<StorageDto> storageDtoCaptor;
+
+  private UploadJobDto job;
+
+  @BeforeEach
+  void setup() {
+    job = UploadJobDto.builder()
+        .jobId(JOB_ID)
+        .bucketName("tis-test-bucket")
+        .folderPath("1/concern")
+        .status(UploadJobStatus.PENDING)
+        .files(List.of(FileDto.builder()
+            .fileName("test.txt")
+            .key("1/concern/test.txt")
+            .size(16)
+            .status(UploadJobStatus.PENDING)
+            .build()))
+        .build();
+  }
+
+  @Test
+  void shouldAcceptJob() throws Exception {
+    final var file = new MockMultipartFile("files", "test.txt",
+        "text/plain", "Spring Framework".getBytes());
+    when(jobServiceMock.submit(any())).thenReturn(job);
+
+    mockMvc.perform(multipart(JOBS_URL)
+            .file(file)
+            .param("bucketName", "tis-test-bucket")
+            .param("folderPath", "1/concern"))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "http://localhost" + JOBS_URL + "/" + JOB_ID))
+        .andExpect(jsonPath("$.jobId").value(JOB_ID))
+        .andExpect(jsonPath("$.status").value("PENDING"))
+        .andExpect(jsonPath("$.files[0].key").value("1/concern/test.txt"));
+
+    verify(jobServiceMock).submit(storageDtoCaptor.capture());
+    final var storageDto = storageDtoCaptor.getValue();
+    assertThat(storageDto.getBucketName(), equalTo("tis-test-bucket"));
+    assertThat(storageDto.getFiles(), hasSize(1));
+  }
+
+  @Test
+  void submitJobShouldThrowExceptionWhenNoFiles() throws Exception {
+    mockMvc.perform(multipart(JOBS_URL)
+            .param("bucketName", "tis-test-bucket")
+            .param("folderPath", "1/concern"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(jobServiceMock);
+  }
+
+  @Test
+  void submitJobShouldRespond4xxWhenRejected() throws Exception {
+    final var file = new MockMultipartFile("files", "test.txt",
+        "text/plain", "Spring Framework".getBytes());
+    when(jobServiceMock.submit(any())).thenThrow(
+        new AwsStorageException("Too many upload jobs are queued, try again later"));
+
+    mockMvc.perform(multipart(JOBS_URL)
+            .file(file)
+            .param("bucketName", "tis-test-bucket")
+            .param("folderPath", "1/concern"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void shouldGetJob() throws Exception {
+    job.setStatus(UploadJobStatus.COMPLETED);
+    job.getFiles().get(0).setStatus(UploadJobStatus.COMPLETED);
+    when(jobServiceMock.getStatus(JOB_ID)).thenReturn(job);
+
+    mockMvc.perform(get(JOBS_URL + "/" + JOB_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.files[0].status").value("COMPLETED"));
+  }
+
+  @Test
+  void getJobShouldRespond4xxWhenNotFound() throws Exception {
+    when(jobServiceMock.getStatus(JOB_ID)).thenThrow(
+        new AwsStorageException("Upload job job-id was not found or has expired"));
+
+    mockMvc.perform(get(JOBS_URL + "/" + JOB_ID))
+        .andExpect(status().isBadRequest());
+  }
+}
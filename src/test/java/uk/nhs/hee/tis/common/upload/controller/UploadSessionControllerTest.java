@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+import uk.nhs.hee.tis.common.upload.service.UploadSessionService;
+
+@WebMvcTest(UploadSessionController.class)
+class UploadSessionControllerTest {
+
+  private static final String SESSIONS_URL = "/api/storage/upload/sessions";
+  private static final String SESSION_ID = "session-id";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private UploadSessionService sessionServiceMock;
+
+  @Captor
+  private ArgumentCaptor<StorageDto> storageDtoCaptor;
+
+  private UploadSessionDto session;
+
+  @BeforeEach
+  void setup() {
+    session = UploadSessionDto.builder()
+        .sessionId(SESSION_ID)
+        .bucketName("tis-test-bucket")
+        .key("1/concern/test.txt")
+        .uploadId("upload-id")
+        .chunkSize(8)
+        .receivedBytes(8)
+        .build();
+  }
+
+  @Test
+  void shouldCreateSession() throws Exception {
+    when(sessionServiceMock.create(any(), eq("test.txt"))).thenReturn(session);
+
+    mockMvc.perform(post(SESSIONS_URL)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .param("bucketName", "tis-test-bucket")
+            .param("folderPath", "1/concern")
+            .param("fileName", "test.txt")
+            .param("customMetadata[key]", "value"))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Location", "http://localhost" + SESSIONS_URL + "/"
+            + SESSION_ID))
+        .andExpect(jsonPath("$.sessionId").value(SESSION_ID))
+        .andExpect(jsonPath("$.chunkSize").value(8))
+        .andExpect(jsonPath("$.uploadId").doesNotExist());
+
+    verify(sessionServiceMock).create(storageDtoCaptor.capture(), eq("test.txt"));
+    StorageDto expectedDto = StorageDto.builder().bucketName("tis-test-bucket")
+        .folderPath("1/concern").customMetadata(Map.of("key", "value")).build();
+    assertThat(storageDtoCaptor.getValue(), equalTo(expectedDto));
+  }
+
+  @Test
+  void createSessionShouldThrowExceptionWhenNoBucketName() throws Exception {
+    mockMvc.perform(post(SESSIONS_URL)
+            .param("folderPath", "1/concern")
+            .param("fileName", "test.txt"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(sessionServiceMock);
+  }
+
+  @Test
+  void shouldGetSessionStatus() throws Exception {
+    when(sessionServiceMock.getStatus(SESSION_ID)).thenReturn(session);
+
+    mockMvc.perform(get(SESSIONS_URL + "/" + SESSION_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.receivedBytes").value(8));
+  }
+
+  @Test
+  void shouldUploadChunk() throws Exception {
+    final List<String> contents = new ArrayList<>();
+    when(sessionServiceMock.uploadChunk(eq(SESSION_ID), eq(8L), any(), eq(5L))).thenAnswer(
+        invocation -> {
+          contents.add(new String(invocation.getArgument(2, InputStream.class).readAllBytes(),
+              StandardCharsets.UTF_8));
+          return session;
+        });
+
+    mockMvc.perform(put(SESSIONS_URL + "/" + SESSION_ID)
+            .param("offset", "8")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .content("chunk"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.sessionId").value(SESSION_ID));
+
+    assertThat(contents, equalTo(List.of("chunk")));
+  }
+
+  @Test
+  void uploadChunkShouldReturnBadRequestWhenChunkRejected() throws Exception {
+    when(sessionServiceMock.uploadChunk(eq(SESSION_ID), anyLong(), any(), anyLong())).thenThrow(
+        new AwsStorageException("Expected the chunk at offset 8"));
+
+    mockMvc.perform(put(SESSIONS_URL + "/" + SESSION_ID)
+            .param("offset", "0")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .content("chunk"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Expected the chunk at offset 8"));
+  }
+
+  @Test
+  void shouldCompleteSession() throws Exception {
+    mockMvc.perform(post(SESSIONS_URL + "/" + SESSION_ID + "/complete"))
+        .andExpect(status().isOk());
+
+    verify(sessionServiceMock).complete(SESSION_ID);
+  }
+}
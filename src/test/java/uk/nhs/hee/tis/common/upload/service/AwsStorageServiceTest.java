@@ -25,26 +25,43 @@ import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
 import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -55,12 +72,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRange;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.BucketVersioningStatus;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CopyObjectResult;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetBucketVersioningRequest;
@@ -72,17 +96,28 @@ import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
-import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
-import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.ObjectVersion;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.ServerSideEncryption;
+import software.amazon.awssdk.services.s3.model.StorageClass;
+import uk.nhs.hee.tis.common.upload.dto.ConditionalRequestDto;
 import uk.nhs.hee.tis.common.upload.dto.DeleteEventDto;
+import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
 import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.StoredContentDto;
+import uk.nhs.hee.tis.common.upload.enumeration.Consistency;
 import uk.nhs.hee.tis.common.upload.enumeration.DeleteType;
 import uk.nhs.hee.tis.common.upload.enumeration.LifecycleState;
+import uk.nhs.hee.tis.common.upload.enumeration.ListMetadataMode;
 import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
 
 @ExtendWith(MockitoExtension.class)
@@ -96,6 +131,16 @@ class AwsStorageServiceTest {
 
   private AwsSnsService snsMock;
 
+  private ExecutorService metadataExecutor;
+
+  private ExecutorService fileUploadExecutor;
+
+  private ObjectMetadataCache metadataCache;
+
+  private ObjectContentCache contentCache;
+
+  private MultipartUploader multipartUploaderMock;
+
   @Mock
   private MultipartFile file1Mock;
 
@@ -130,7 +175,17 @@ class AwsStorageServiceTest {
   void setup() {
     s3Mock = mock(S3Client.class);
     snsMock = mock(AwsSnsService.class);
-    awsStorageService = new AwsStorageService(s3Mock, snsMock, new ObjectMapper());
+    metadataExecutor = Executors.newFixedThreadPool(4);
+    fileUploadExecutor = Executors.newFixedThreadPool(4);
+    metadataCache = new ObjectMetadataCache(100);
+    contentCache = new ObjectContentCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64),
+        new SimpleMeterRegistry());
+    multipartUploaderMock = mock(MultipartUploader.class);
+    awsStorageService = new AwsStorageService(s3Mock, snsMock, new ObjectMapper(),
+        new ObjectMetadataResolver(s3Mock, metadataExecutor, metadataCache), metadataCache,
+        Optional.empty(), multipartUploaderMock, fileUploadExecutor,
+        new BucketRegistry(s3Mock, Duration.ofHours(1)), new StorageCodec(new String[0]),
+        contentCache);
 
     fileName = faker.lorem().characters(10) + ".json";
     bucketName = faker.lorem().characters(10);
@@ -171,6 +226,12 @@ class AwsStorageServiceTest {
         .build();
   }
 
+  @AfterEach
+  void tearDown() {
+    metadataExecutor.shutdownNow();
+    fileUploadExecutor.shutdownNow();
+  }
+
   @Test
   void shouldUploadFile() throws IOException {
     final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
@@ -181,8 +242,8 @@ class AwsStorageServiceTest {
         .build())).thenReturn(headObjectResponse);
     when(file1Mock.getOriginalFilename()).thenReturn(fileName);
     when(file2Mock.getOriginalFilename()).thenReturn(fileName);
-    when(file1Mock.getInputStream()).thenReturn(inputStreamMock);
-    when(file2Mock.getInputStream()).thenReturn(inputStreamMock);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file2Mock.getInputStream()).thenAnswer(invocation -> content());
     when(s3Mock.putObject(putRequestCaptor.capture(), any(RequestBody.class))).thenReturn(
         putObjectResponse);
 
@@ -190,8 +251,9 @@ class AwsStorageServiceTest {
 
     assertThat(putObjectResult, hasSize(2));
     var actualUserMetadata = putRequestCaptor.getValue().metadata();
-    customMetadata.entrySet().forEach(entry ->
-        assertThat(actualUserMetadata.entrySet(), hasItem(entry)));
+    customMetadata.forEach((name, value) ->
+        assertThat(actualUserMetadata.get(name.toLowerCase()), is(value)));
+    assertThat(actualUserMetadata.containsKey("uploadedBy"), is(false));
     headObjectResponse.metadata().entrySet()
         .forEach(entry -> assertThat(actualUserMetadata.entrySet(), hasItem(entry)));
   }
@@ -206,8 +268,8 @@ class AwsStorageServiceTest {
         .build())).thenReturn(headObjectResponse);
     when(file1Mock.getOriginalFilename()).thenReturn(fileName);
     when(file2Mock.getOriginalFilename()).thenReturn(fileName);
-    when(file1Mock.getInputStream()).thenReturn(inputStreamMock);
-    when(file2Mock.getInputStream()).thenReturn(inputStreamMock);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file2Mock.getInputStream()).thenAnswer(invocation -> content());
     when(s3Mock.putObject(putRequestCaptor.capture(), any(RequestBody.class))).thenReturn(
         putObjectResponse);
 
@@ -232,8 +294,8 @@ class AwsStorageServiceTest {
         .build());
     when(file1Mock.getOriginalFilename()).thenReturn(fileName);
     when(file2Mock.getOriginalFilename()).thenReturn(fileName);
-    when(file1Mock.getInputStream()).thenReturn(inputStreamMock);
-    when(file2Mock.getInputStream()).thenReturn(inputStreamMock);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file2Mock.getInputStream()).thenAnswer(invocation -> content());
     when(s3Mock.putObject(putRequestCaptor.capture(), any(RequestBody.class))).thenReturn(
         putObjectResponse);
 
@@ -244,8 +306,9 @@ class AwsStorageServiceTest {
     assertThat(putObjectResult, hasSize(2));
     var actualUserMetadata =
         putRequestCaptor.getValue().metadata();
-    customMetadata.entrySet().forEach(entry ->
-        assertThat(actualUserMetadata.entrySet(), hasItem(entry)));
+    customMetadata.forEach((name, value) ->
+        assertThat(actualUserMetadata.get(name.toLowerCase()), is(value)));
+    assertThat(actualUserMetadata.containsKey("uploadedBy"), is(false));
     assertEquals(bucketName, headBucketRequestCaptor.getValue().bucket());
   }
 
@@ -253,7 +316,7 @@ class AwsStorageServiceTest {
   void shouldHandleExceptionIfUploadFails() throws IOException {
     when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
         .build());
-    when(file1Mock.getInputStream()).thenReturn(inputStreamMock);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
     when(s3Mock.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenThrow(
         AwsServiceException.class);
     final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
@@ -262,6 +325,296 @@ class AwsStorageServiceTest {
     assertThrows(AwsStorageException.class, () -> awsStorageService.upload(storageDto));
   }
 
+  @Test
+  void shouldNotUploadUnchangedFile() throws Exception {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).customMetadata(Map.of("answer", "42")).build();
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .eTag("etag").versionId("v1")
+        .metadata(Map.of("answer", "42", "name", fileName, "type", "json", "sha256",
+            contentSha256()))
+        .build());
+
+    final var putObjectResult = awsStorageService.upload(storageDto);
+
+    assertThat(putObjectResult.get(0).eTag(), is("etag"));
+    assertThat(putObjectResult.get(0).versionId(), is("v1"));
+    verify(s3Mock, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    verify(s3Mock, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void shouldOnlyUpdateMetadataWhenFileContentUnchanged() throws Exception {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).customMetadata(Map.of("answer", "43")).build();
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .eTag("etag").contentLength(10L)
+        .metadata(Map.of("answer", "42", "name", fileName, "type", "json", "sha256",
+            contentSha256()))
+        .build());
+    when(s3Mock.copyObject(any(CopyObjectRequest.class))).thenReturn(CopyObjectResponse.builder()
+        .copyObjectResult(CopyObjectResult.builder().eTag("new-etag").build()).build());
+
+    final var putObjectResult = awsStorageService.upload(storageDto);
+
+    assertThat(putObjectResult.get(0).eTag(), is("new-etag"));
+    ArgumentCaptor<CopyObjectRequest> captor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+    verify(s3Mock).copyObject(captor.capture());
+    assertThat(captor.getValue().metadata().get("answer"), is("43"));
+    assertThat(captor.getValue().copySourceIfMatch(), is("etag"));
+    verify(s3Mock, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void shouldUploadFileWhenContentChanged() throws Exception {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).build();
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .metadata(Map.of("name", fileName, "type", "json", "sha256", "other")).build());
+    when(s3Mock.putObject(putRequestCaptor.capture(), any(RequestBody.class))).thenReturn(
+        putObjectResponse);
+
+    awsStorageService.upload(storageDto);
+
+    assertThat(putRequestCaptor.getValue().metadata().get("sha256"), is(contentSha256()));
+    verify(s3Mock, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void shouldCheckBucketAgainAfterUploadFindsItMissing() throws IOException {
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .build());
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(s3Mock.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+        .thenThrow(NoSuchBucketException.builder().build())
+        .thenReturn(putObjectResponse);
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).build();
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.upload(storageDto));
+    awsStorageService.upload(storageDto);
+
+    verify(s3Mock, times(2)).headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+  }
+
+  @Test
+  void shouldReturnUploadResultsInFileOrder() throws IOException {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock, file2Mock)).build();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .build());
+    when(file1Mock.getOriginalFilename()).thenReturn("first.txt");
+    when(file2Mock.getOriginalFilename()).thenReturn("second.txt");
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file2Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(s3Mock.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(
+        invocation -> {
+          final String putKey = invocation.getArgument(0, PutObjectRequest.class).key();
+          if (putKey.endsWith("first.txt")) {
+            Thread.sleep(100);
+          }
+          return PutObjectResponse.builder().eTag(putKey).build();
+        });
+
+    final var putObjectResult = awsStorageService.upload(storageDto);
+
+    assertThat(putObjectResult.stream().map(PutObjectResponse::eTag).toList(),
+        is(List.of(folderName + "/first.txt", folderName + "/second.txt")));
+  }
+
+  @Test
+  void shouldRollBackUploadedFilesWhenAnyFileFails() throws IOException {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock, file2Mock)).build();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .build());
+    when(file1Mock.getOriginalFilename()).thenReturn("first.txt");
+    when(file2Mock.getOriginalFilename()).thenReturn("second.txt");
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file2Mock.getInputStream()).thenThrow(new IOException("unreadable"));
+    when(s3Mock.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenReturn(
+        PutObjectResponse.builder().versionId("v1").build());
+
+    final var exception = assertThrows(AwsStorageException.class,
+        () -> awsStorageService.upload(storageDto));
+
+    assertThat(exception.getMessage(), is("Failed to upload files: second.txt: unreadable"));
+    verify(s3Mock).deleteObject(DeleteObjectRequest.builder().bucket(bucketName)
+        .key(folderName + "/first.txt").versionId("v1").build());
+  }
+
+  @Test
+  void shouldNotRollBackUploadedFilesWithoutVersion() throws IOException {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock, file2Mock)).build();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .build());
+    when(file1Mock.getOriginalFilename()).thenReturn("first.txt");
+    when(file2Mock.getOriginalFilename()).thenReturn("second.txt");
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file2Mock.getInputStream()).thenThrow(new IOException("unreadable"));
+    when(s3Mock.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenReturn(
+        PutObjectResponse.builder().build());
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.upload(storageDto));
+
+    verify(s3Mock, never()).deleteObject(any(DeleteObjectRequest.class));
+  }
+
+  @Test
+  void shouldUploadLargeFileInParts() throws IOException {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).build();
+    key = format("%s/%s", folderName, fileName);
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .build());
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getSize()).thenReturn(100L);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content())
+        .thenReturn(inputStreamMock);
+    when(multipartUploaderMock.isMultipart(100L)).thenReturn(true);
+    when(multipartUploaderMock.upload(eq(bucketName), eq(key), any(), eq(inputStreamMock)))
+        .thenReturn(putObjectResponse);
+
+    final var putObjectResult = awsStorageService.upload(storageDto);
+
+    assertThat(putObjectResult, is(List.of(putObjectResponse)));
+    verify(s3Mock, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    verify(inputStreamMock).close();
+  }
+
+  @Test
+  void shouldUploadStreamedFileWithMetadata() throws IOException {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .customMetadata(customMetadata).build();
+    final var content = new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8));
+    key = format("%s/%s", folderName, fileName);
+    Map<String, String> expectedMetadata = new HashMap<>(customMetadata);
+    expectedMetadata.put("name", fileName);
+    expectedMetadata.put("type", "json");
+    when(multipartUploaderMock.upload(bucketName, key, expectedMetadata, content))
+        .thenReturn(putObjectResponse);
+
+    final var response = awsStorageService.uploadStream(storageDto, fileName, content);
+
+    assertThat(response, is(putObjectResponse));
+    verify(s3Mock).headBucket(HeadBucketRequest.builder().bucket(bucketName).build());
+  }
+
+  @Test
+  void shouldHandleExceptionIfStreamedUploadFails() throws IOException {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var content = new ByteArrayInputStream(new byte[0]);
+    when(multipartUploaderMock.upload(any(), any(), any(), any()))
+        .thenThrow(new IOException("expected"));
+
+    assertThrows(AwsStorageException.class,
+        () -> awsStorageService.uploadStream(storageDto, fileName, content));
+  }
+
+  @Test
+  void shouldUpdateMetadataWithServerSideCopy() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .customMetadata(Map.of("answer", "43")).build();
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(HeadObjectResponse.builder().eTag("etag").contentLength(10L)
+            .contentType("application/pdf").metadata(Map.of("name", fileName, "answer", "42"))
+            .build());
+    when(s3Mock.copyObject(any(CopyObjectRequest.class))).thenReturn(CopyObjectResponse.builder()
+        .copyObjectResult(CopyObjectResult.builder().eTag("new-etag").build()).build());
+
+    final var metadata = awsStorageService.updateMetadata(storageDto);
+
+    assertThat(metadata, is(Map.of("name", fileName, "answer", "43")));
+    ArgumentCaptor<CopyObjectRequest> captor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+    verify(s3Mock).copyObject(captor.capture());
+    final var request = captor.getValue();
+    assertThat(request.sourceBucket(), is(bucketName));
+    assertThat(request.sourceKey(), is(key));
+    assertThat(request.destinationBucket(), is(bucketName));
+    assertThat(request.destinationKey(), is(key));
+    assertThat(request.copySourceIfMatch(), is("etag"));
+    assertThat(request.metadataDirective(), is(MetadataDirective.REPLACE));
+    assertThat(request.metadata(), is(metadata));
+    assertThat(request.contentType(), is("application/pdf"));
+    verify(s3Mock, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void shouldKeepStorageClassAndEncryptionWhenUpdatingMetadata() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .customMetadata(Map.of("Answer", "43")).build();
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(HeadObjectResponse.builder().eTag("etag").contentLength(10L)
+            .contentEncoding("gzip").storageClass(StorageClass.STANDARD_IA)
+            .serverSideEncryption(ServerSideEncryption.AWS_KMS).ssekmsKeyId("key-id")
+            .metadata(Map.of("answer", "42")).build());
+    when(s3Mock.copyObject(any(CopyObjectRequest.class))).thenReturn(CopyObjectResponse.builder()
+        .copyObjectResult(CopyObjectResult.builder().eTag("new-etag").build()).build());
+
+    final var metadata = awsStorageService.updateMetadata(storageDto);
+
+    assertThat(metadata, is(Map.of("answer", "43")));
+    ArgumentCaptor<CopyObjectRequest> captor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+    verify(s3Mock).copyObject(captor.capture());
+    final var request = captor.getValue();
+    assertThat(request.contentEncoding(), is("gzip"));
+    assertThat(request.storageClass(), is(StorageClass.STANDARD_IA));
+    assertThat(request.serverSideEncryption(), is(ServerSideEncryption.AWS_KMS));
+    assertThat(request.ssekmsKeyId(), is("key-id"));
+  }
+
+  @Test
+  void shouldRejectReservedCustomMetadataWhenUpdatingMetadata() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .customMetadata(Map.of("sha256", "forged")).build();
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.updateMetadata(storageDto));
+
+    verify(s3Mock, never()).headObject(any(HeadObjectRequest.class));
+    verify(s3Mock, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void shouldRejectReservedCustomMetadataWhenUploading() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).customMetadata(Map.of("Type", "pdf")).build();
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.upload(storageDto));
+
+    verify(s3Mock, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void shouldNotUpdateMetadataOfObjectTooLargeToCopy() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .customMetadata(Map.of("answer", "43")).build();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .contentLength(AwsStorageService.MAX_COPY_SIZE + 1).build());
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.updateMetadata(storageDto));
+
+    verify(s3Mock, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void shouldHandleExceptionIfMetadataUpdateFails() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .customMetadata(Map.of("answer", "43")).build();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .eTag("etag").build());
+    when(s3Mock.copyObject(any(CopyObjectRequest.class))).thenThrow(AwsServiceException.class);
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.updateMetadata(storageDto));
+  }
+
   @Test
   void shouldDownloadFileFromS3() {
     final ResponseInputStream<GetObjectResponse> responseResponseInputStream = createObject(
@@ -312,15 +665,402 @@ class AwsStorageServiceTest {
     assertThat(actual.getMessage(), startsWith(expectedMessage));
   }
 
+  @Test
+  void shouldUploadCompressedFileWhenFileTypeIsCompressed() throws Exception {
+    final var compressingService = createCompressingService();
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).build();
+    key = format("%s/%s", storageDto.getFolderPath(), fileName);
+
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(HeadObjectResponse.builder().build());
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file1Mock.getBytes()).thenReturn(fileContent.getBytes(StandardCharsets.UTF_8));
+    when(s3Mock.putObject(putRequestCaptor.capture(), requestBodyCaptor.capture())).thenReturn(
+        putObjectResponse);
+
+    compressingService.upload(storageDto);
+
+    final PutObjectRequest request = putRequestCaptor.getValue();
+    assertThat("Unexpected content encoding.", request.contentEncoding(), is("gzip"));
+    assertThat("Unexpected content digest.", request.metadata().get("sha256"),
+        is(contentSha256()));
+    final var compressed = requestBodyCaptor.getValue().contentStreamProvider().newStream()
+        .readAllBytes();
+    assertThat("Unexpected content length.", request.contentLength(),
+        is((long) compressed.length));
+    assertThat("Unexpected content.", new String(
+        new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(),
+        StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void shouldUploadCompressedFileWhenCompressionIsFlagged() throws IOException {
+    fileName = faker.lorem().characters(10) + ".txt";
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).customMetadata(Map.of("compression", "gzip")).build();
+    key = format("%s/%s", storageDto.getFolderPath(), fileName);
+
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(HeadObjectResponse.builder().build());
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file1Mock.getBytes()).thenReturn(fileContent.getBytes(StandardCharsets.UTF_8));
+    when(s3Mock.putObject(putRequestCaptor.capture(), any(RequestBody.class))).thenReturn(
+        putObjectResponse);
+
+    awsStorageService.upload(storageDto);
+
+    assertThat("Unexpected content encoding.", putRequestCaptor.getValue().contentEncoding(),
+        is("gzip"));
+  }
+
+  @Test
+  void shouldUploadBytesWithoutCheckingExistingObject() throws Exception {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .customMetadata(customMetadata).build();
+    when(s3Mock.putObject(putRequestCaptor.capture(), requestBodyCaptor.capture())).thenReturn(
+        putObjectResponse);
+
+    awsStorageService.uploadBytes(storageDto, fileName,
+        fileContent.getBytes(StandardCharsets.UTF_8));
+
+    verify(s3Mock, never()).headObject(any(HeadObjectRequest.class));
+    final PutObjectRequest request = putRequestCaptor.getValue();
+    assertThat(request.key(), is(folderName + "/" + fileName));
+    assertThat(request.contentEncoding(), nullValue());
+    assertThat(request.metadata().get("name"), is(fileName));
+    assertThat(request.metadata().get("type"), is("json"));
+    assertThat(request.metadata().get("answer"), is("42"));
+    assertThat(request.metadata().get("sha256"), is(contentSha256()));
+    assertThat(new String(requestBodyCaptor.getValue().contentStreamProvider().newStream()
+        .readAllBytes(), StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void shouldDecompressCompressedObjectOnDownload() throws IOException {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createCompressedObject(fileContent));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final byte[] content = awsStorageService.download(storageDto);
+
+    assertThat(new String(content, StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void shouldDownloadCompressedObjectAsStoredWhenGzipAccepted() throws IOException {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createCompressedObject(fileContent));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final StoredContentDto content = awsStorageService.download(storageDto, true);
+
+    assertThat(content.getContentEncoding(), is("gzip"));
+    assertThat(new String(
+        new GZIPInputStream(new ByteArrayInputStream(content.getContent())).readAllBytes(),
+        StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void shouldNotSetEncodingOfUncompressedObjectWhenGzipAccepted() {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createObject(fileContent));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final StoredContentDto content = awsStorageService.download(storageDto, true);
+
+    assertThat(content.getContentEncoding(), nullValue());
+    assertThat(new String(content.getContent(), StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void downloadShouldServeCachedContentWhenNotModified() {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(createObject(fileContent, "\"etag\""));
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifNoneMatch("\"etag\"").build())).thenThrow(notModified("\"etag\""));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    awsStorageService.download(storageDto);
+    final byte[] content = awsStorageService.download(storageDto);
+
+    assertThat(new String(content, StandardCharsets.UTF_8), is(fileContent));
+    verify(s3Mock).getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifNoneMatch("\"etag\"").build());
+  }
+
+  @Test
+  void downloadShouldReplaceCachedContentWhenModified() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    contentCache.put(bucketName, key, new ObjectContentCache.CachedContent(
+        "stale".getBytes(StandardCharsets.UTF_8), null, "\"stale\"", null));
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifNoneMatch("\"stale\"").build())).thenReturn(createObject(fileContent, "\"etag\""));
+
+    final byte[] content = awsStorageService.download(storageDto);
+
+    assertThat(new String(content, StandardCharsets.UTF_8), is(fileContent));
+    assertThat(contentCache.get(bucketName, key).eTag(), is("\"etag\""));
+  }
+
+  @Test
+  void downloadShouldEvaluateConditionsAgainstCachedContent() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    contentCache.put(bucketName, key, new ObjectContentCache.CachedContent(
+        fileContent.getBytes(StandardCharsets.UTF_8), null, "\"etag\"", null));
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifNoneMatch("\"etag\"").build())).thenThrow(notModified("\"etag\""));
+
+    final var current = ConditionalRequestDto.builder().ifNoneMatch("\"other\", \"etag\"")
+        .build();
+    final var stale = ConditionalRequestDto.builder().ifNoneMatch("\"other\"").build();
+
+    assertThat(awsStorageService.download(storageDto, current, false).isNotModified(),
+        is(true));
+    final StoredContentDto content = awsStorageService.download(storageDto, stale, false);
+    assertThat(content.isNotModified(), is(false));
+    assertThat(content.getEtag(), is("\"etag\""));
+    assertThat(new String(content.getContent(), StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void shouldOpenObjectForStreamingDownload() throws IOException {
+    final var object = new ResponseInputStream<>(
+        GetObjectResponse.builder().contentLength((long) fileContent.length()).build(),
+        new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8)));
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(object);
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    try (var download = awsStorageService.openDownload(storageDto, false)) {
+      assertThat(download.getContentLength(), is((long) fileContent.length()));
+      assertThat(download.getContentEncoding(), nullValue());
+      assertThat(new String(download.getContent().readAllBytes(), StandardCharsets.UTF_8),
+          is(fileContent));
+    }
+  }
+
+  @Test
+  void shouldOpenCompressedObjectDecompressedWhenGzipNotAccepted() throws IOException {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createCompressedObject(fileContent));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    try (var download = awsStorageService.openDownload(storageDto, false)) {
+      assertThat(download.getContentLength(), nullValue());
+      assertThat(download.getContentEncoding(), nullValue());
+      assertThat(new String(download.getContent().readAllBytes(), StandardCharsets.UTF_8),
+          is(fileContent));
+    }
+  }
+
+  @Test
+  void shouldOpenCompressedObjectAsStoredWhenGzipAccepted() throws IOException {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createCompressedObject(fileContent));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    try (var download = awsStorageService.openDownload(storageDto, true)) {
+      assertThat(download.getContentEncoding(), is("gzip"));
+      assertThat(new String(new GZIPInputStream(download.getContent()).readAllBytes(),
+          StandardCharsets.UTF_8), is(fileContent));
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionWhenOpenDownloadFileNotFound() {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenThrow(AwsServiceException.class);
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    assertThrows(AwsStorageException.class,
+        () -> awsStorageService.openDownload(storageDto, false));
+  }
+
+  @Test
+  void shouldOpenDownloadNotModifiedWhenEtagMatches() throws IOException {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifNoneMatch("\"etag\"").build())).thenThrow(notModified("\"etag\""));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var conditions = ConditionalRequestDto.builder().ifNoneMatch("W/\"etag\"")
+        .ifModifiedSince("Mon, 01 Jan 2024 10:15:30 GMT").build();
+    try (var download = awsStorageService.openDownload(storageDto, conditions, false)) {
+      assertThat(download.isNotModified(), is(true));
+      assertThat(download.getETag(), is("W/\"etag\""));
+      assertThat(download.getLastModified(), is(Instant.parse("2024-01-01T10:15:30Z")));
+      assertThat(download.getContent().read(), is(-1));
+    }
+  }
+
+  @Test
+  void shouldOpenDownloadWithValidators() throws IOException {
+    final var lastModified = Instant.parse("2024-01-01T10:15:30Z");
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifModifiedSince(Instant.parse("2023-12-31T00:00:00Z")).build()))
+        .thenReturn(new ResponseInputStream<>(GetObjectResponse.builder().contentEncoding("gzip")
+            .eTag("\"etag\"").lastModified(lastModified).build(),
+            createCompressedObject(fileContent)));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var conditions = ConditionalRequestDto.builder()
+        .ifModifiedSince("Sun, 31 Dec 2023 00:00:00 GMT").build();
+    try (var download = awsStorageService.openDownload(storageDto, conditions, false)) {
+      assertThat(download.isNotModified(), is(false));
+      assertThat(download.getETag(), is("W/\"etag\""));
+      assertThat(download.getLastModified(), is(lastModified));
+    }
+  }
+
+  @Test
+  void downloadShouldReturnNotModifiedWhenModifiedSinceUnchanged() {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .ifModifiedSince(Instant.parse("2024-01-01T10:15:30Z")).build()))
+        .thenThrow(notModified("\"etag\""));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var conditions = ConditionalRequestDto.builder()
+        .ifModifiedSince("Mon, 01 Jan 2024 10:15:30 GMT").build();
+    final StoredContentDto content = awsStorageService.download(storageDto, conditions, true);
+
+    assertThat(content.isNotModified(), is(true));
+    assertThat(content.getContent(), nullValue());
+    assertThat(content.getEtag(), is("\"etag\""));
+  }
+
+  @Test
+  void downloadShouldIgnoreInvalidModifiedSince() {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(new ResponseInputStream<>(GetObjectResponse.builder().eTag("\"etag\"").build(),
+            new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8))));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var conditions = ConditionalRequestDto.builder().ifModifiedSince("yesterday").build();
+    final StoredContentDto content = awsStorageService.download(storageDto, conditions, false);
+
+    assertThat(content.isNotModified(), is(false));
+    assertThat(content.getEtag(), is("\"etag\""));
+    assertThat(new String(content.getContent(), StandardCharsets.UTF_8), is(fileContent));
+  }
+
+  @Test
+  void shouldResolveRequestedRangesAgainstObjectLength() {
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(HeadObjectResponse.builder().contentLength(100L).eTag("\"etag\"").build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var download = awsStorageService.planRanges(storageDto,
+        HttpRange.parseRanges("bytes=0-9, 90-, -5, 200-"), new ConditionalRequestDto(), false)
+        .orElseThrow();
+
+    assertThat(download.getObjectLength(), is(100L));
+    assertThat(download.getETag(), is("\"etag\""));
+    assertThat(download.getRanges(), is(List.of(new RangedDownload.ByteRange(0, 9),
+        new RangedDownload.ByteRange(90, 99), new RangedDownload.ByteRange(95, 99))));
+    assertThat(download.contentRange(download.getRanges().get(1)), is("bytes 90-99/100"));
+  }
+
+  @Test
+  void shouldNotSatisfyRangesBeyondObjectLength() {
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(HeadObjectResponse.builder().contentLength(100L).eTag("\"etag\"").build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var download = awsStorageService.planRanges(storageDto,
+        HttpRange.parseRanges("bytes=100-"), new ConditionalRequestDto(), false).orElseThrow();
+
+    assertThat(download.isSatisfiable(), is(false));
+    assertThat(download.contentRange(null), is("bytes */100"));
+  }
+
+  @Test
+  void shouldIgnoreRangesWhenIfRangeDoesNotMatch() {
+    final var lastModified = Instant.parse("2024-01-01T10:15:30Z");
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(HeadObjectResponse.builder().contentLength(100L).eTag("\"etag\"")
+            .lastModified(lastModified).build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var ranges = HttpRange.parseRanges("bytes=0-9");
+
+    assertThat(awsStorageService.planRanges(storageDto, ranges, ifRange("\"other\""), false)
+        .isPresent(), is(false));
+    assertThat(awsStorageService.planRanges(storageDto, ranges, ifRange("W/\"etag\""), false)
+        .isPresent(), is(false));
+    assertThat(awsStorageService.planRanges(storageDto, ranges,
+        ifRange("Mon, 01 Jan 2024 10:15:31 GMT"), false).isPresent(), is(false));
+    assertThat(awsStorageService.planRanges(storageDto, ranges, ifRange("\"etag\""), false)
+        .isPresent(), is(true));
+    assertThat(awsStorageService.planRanges(storageDto, ranges,
+        ifRange("Mon, 01 Jan 2024 10:15:30 GMT"), false).isPresent(), is(true));
+  }
+
+  @Test
+  void shouldIgnoreRangesOfCompressedObjectWhenGzipNotAccepted() {
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()))
+        .thenReturn(HeadObjectResponse.builder().contentLength(100L).contentEncoding("gzip")
+            .build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var ranges = HttpRange.parseRanges("bytes=0-9");
+
+    assertThat(awsStorageService.planRanges(storageDto, ranges, new ConditionalRequestDto(), false)
+        .isPresent(), is(false));
+    assertThat(awsStorageService.planRanges(storageDto, ranges, new ConditionalRequestDto(), true)
+        .orElseThrow().getContentEncoding(), is("gzip"));
+  }
+
+  @Test
+  void shouldIgnoreRangesWhenNotModified() {
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .ifNoneMatch("\"etag\"").build())).thenThrow(notModified("\"etag\""));
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var conditions = ConditionalRequestDto.builder().ifNoneMatch("\"etag\"").build();
+
+    assertThat(awsStorageService.planRanges(storageDto, HttpRange.parseRanges("bytes=0-9"),
+        conditions, false).isPresent(), is(false));
+  }
+
+  @Test
+  void shouldOpenRangeOfResolvedObjectVersion() {
+    final var object = new ResponseInputStream<>(GetObjectResponse.builder().build(),
+        new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8)));
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .range("bytes=10-19").ifMatch("\"etag\"").build())).thenReturn(object);
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final var range = new RangedDownload.ByteRange(10, 19);
+    final var download = new RangedDownload(100, "\"etag\"", null, List.of(range));
+
+    final var content = awsStorageService.openRange(storageDto, download, range);
+
+    assertThat(content.getContentLength(), is(10L));
+    assertThat(content.getContentEncoding(), nullValue());
+  }
+
+  @Test
+  void getDataShouldDecompressCompressedObject() throws IOException {
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createCompressedObject(jsonFileContent));
+
+    final StorageDto input = StorageDto.builder().bucketName(bucketName).key(key).build();
+    final String actual = awsStorageService.getData(input);
+
+    assertEquals(jsonFileContent, actual);
+  }
+
   @Test
   void shouldListFilesFromS3() {
     key = folderName + "/test.txt";
     final S3Object s3ObjectSummary = createSummary(key);
-    ListObjectsResponse listObjectsResponse = ListObjectsResponse.builder()
+    ListObjectsV2Response listObjectsResponse = ListObjectsV2Response.builder()
         .contents(List.of(s3ObjectSummary))
         .build();
-    when(s3Mock.listObjects(ListObjectsRequest.builder().bucket(bucketName).prefix(folderName + "/")
-        .build())).thenReturn(listObjectsResponse);
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(listObjectsResponse);
     HeadObjectResponse headObjectResp = HeadObjectResponse.builder()
         .metadata(Map.of("destination", "unknown")).build();
     expectMetadataInteractions(bucketName, key, headObjectResp, "test.txt", "txt");
@@ -341,11 +1081,11 @@ class AwsStorageServiceTest {
   void shouldListFilesFromS3WithoutMetadata() {
     key = folderName + "/test.txt";
     final S3Object s3ObjectSummary = createSummary(key);
-    ListObjectsResponse listObjectsResponse = ListObjectsResponse.builder()
+    ListObjectsV2Response listObjectsResponse = ListObjectsV2Response.builder()
         .contents(List.of(s3ObjectSummary))
         .build();
-    when(s3Mock.listObjects(ListObjectsRequest.builder().bucket(bucketName).prefix(folderName + "/")
-        .build())).thenReturn(listObjectsResponse);
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(listObjectsResponse);
     expectMetadataInteractions(bucketName, key, HeadObjectResponse.builder().build(), null, null);
 
     final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
@@ -364,13 +1104,285 @@ class AwsStorageServiceTest {
         .bucketName(bucketName)
         .folderPath(folderName)
         .build();
-    when(s3Mock.listObjects(ListObjectsRequest.builder().bucket(bucketName).prefix(folderName + "/")
-        .build()))
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build()))
         .thenThrow(AwsServiceException.class);
     assertThrows(AwsStorageException.class, () -> awsStorageService.listFiles(storageDto, false,
         null));
   }
 
+  @Test
+  void shouldListFilesAcrossAllPages() {
+    final String key1 = folderName + "/1.txt";
+    final String key2 = folderName + "/2.txt";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(List.of(createSummary(key1))).isTruncated(true).nextContinuationToken("token")
+        .build());
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").continuationToken("token").build())).thenReturn(
+        ListObjectsV2Response.builder().contents(List.of(createSummary(key2))).isTruncated(false)
+            .build());
+    expectMetadataInteractions(bucketName, key1, HeadObjectResponse.builder().build(), "1.txt",
+        "txt");
+    expectMetadataInteractions(bucketName, key2, HeadObjectResponse.builder().build(), "2.txt",
+        "txt");
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var objectSummaries = awsStorageService.listFiles(storageDto, false, null);
+
+    assertThat(objectSummaries, hasSize(2));
+    assertThat(objectSummaries.get(0).getKey(), is(key1));
+    assertThat(objectSummaries.get(1).getKey(), is(key2));
+  }
+
+  @Test
+  void shouldListSinglePageWithCursor() {
+    final String key2 = folderName + "/2.txt";
+    final String cursor = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString("token".getBytes(StandardCharsets.UTF_8));
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").maxKeys(1).continuationToken("token").build())).thenReturn(
+        ListObjectsV2Response.builder().contents(List.of(createSummary(key2))).isTruncated(true)
+            .nextContinuationToken("token2").build());
+    expectMetadataInteractions(bucketName, key2, HeadObjectResponse.builder().build(), "2.txt",
+        "txt");
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().pageSize(1).cursor(cursor).build();
+    final var fileList = awsStorageService.listFiles(storageDto, query);
+
+    assertThat(fileList.getFiles(), hasSize(1));
+    assertThat(fileList.getFiles().get(0).getKey(), is(key2));
+    assertThat(new String(Base64.getUrlDecoder().decode(fileList.getNextCursor()),
+        StandardCharsets.UTF_8), is("token2"));
+  }
+
+  @Test
+  void shouldNotReturnCursorForLastPage() {
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").maxKeys(10).build())).thenReturn(
+        ListObjectsV2Response.builder().isTruncated(false).build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().pageSize(10).build();
+    final var fileList = awsStorageService.listFiles(storageDto, query);
+
+    assertThat(fileList.getFiles(), hasSize(0));
+    assertThat(fileList.getNextCursor(), nullValue());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1001})
+  void shouldThrowExceptionWhenPageSizeOutOfRange(int pageSize) {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().pageSize(pageSize).build();
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.listFiles(storageDto, query));
+    verify(s3Mock, never()).listObjectsV2(any(ListObjectsV2Request.class));
+  }
+
+  @Test
+  void shouldFilterByKeyBeforeRequestingMetadata() {
+    final String pdfKey = folderName + "/1.pdf";
+    final String txtKey = folderName + "/2.txt";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(List.of(createSummary(pdfKey), createSummary(txtKey))).build());
+    expectMetadataInteractions(bucketName, pdfKey, HeadObjectResponse.builder().build(), "1.pdf",
+        "pdf");
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().keyGlob("*.pdf").build();
+    final var fileList = awsStorageService.listFiles(storageDto, query);
+
+    assertThat(fileList.getFiles(), hasSize(1));
+    assertThat(fileList.getFiles().get(0).getKey(), is(pdfKey));
+    verify(s3Mock, never()).headObject(HeadObjectRequest.builder().bucket(bucketName).key(txtKey)
+        .build());
+  }
+
+  @Test
+  void shouldFilterByFileTypeBeforeRequestingMetadata() {
+    final String pdfKey = folderName + "/1.pdf";
+    final String txtKey = folderName + "/2.txt";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(List.of(createSummary(pdfKey), createSummary(txtKey))).build());
+    expectMetadataInteractions(bucketName, pdfKey, HeadObjectResponse.builder().build(), "1.pdf",
+        "pdf");
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().fileType(List.of("pdf")).build();
+    final var fileList = awsStorageService.listFiles(storageDto, query);
+
+    assertThat(fileList.getFiles(), hasSize(1));
+    assertThat(fileList.getFiles().get(0).getKey(), is(pdfKey));
+    verify(s3Mock, never()).headObject(HeadObjectRequest.builder().bucket(bucketName).key(txtKey)
+        .build());
+  }
+
+  @Test
+  void shouldFilterByFileTypeOfKeyWithoutTypeMetadata() {
+    final String pdfKey = folderName + "/1.pdf";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(List.of(createSummary(pdfKey))).build());
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(pdfKey).build()))
+        .thenReturn(HeadObjectResponse.builder().build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().fileType(List.of("pdf")).build();
+    final var fileList = awsStorageService.listFiles(storageDto, query);
+
+    assertThat(fileList.getFiles(), hasSize(1));
+    assertThat(fileList.getFiles().get(0).getKey(), is(pdfKey));
+  }
+
+  @Test
+  void shouldFilterByMetadata() {
+    final String deletedKey = folderName + "/1.json";
+    final String submittedKey = folderName + "/2.json";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(List.of(createSummary(deletedKey), createSummary(submittedKey))).build());
+    expectMetadataInteractions(bucketName, deletedKey, HeadObjectResponse.builder()
+        .metadata(Map.of("lifecyclestate", LifecycleState.DELETED.name())).build(), "1.json",
+        "json");
+    expectMetadataInteractions(bucketName, submittedKey, HeadObjectResponse.builder()
+        .metadata(Map.of("lifecyclestate", "SUBMITTED")).build(), "2.json", "json");
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder()
+        .excludeLifecycleState(Set.of(LifecycleState.DELETED))
+        .fileType(List.of("JSON"))
+        .build();
+    final var fileList = awsStorageService.listFiles(storageDto, query);
+
+    assertThat(fileList.getFiles(), hasSize(1));
+    assertThat(fileList.getFiles().get(0).getKey(), is(submittedKey));
+  }
+
+  @Test
+  void shouldStreamFilesAcrossAllPages() {
+    final String key1 = folderName + "/1.txt";
+    final String key2 = folderName + "/2.txt";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(List.of(createSummary(key1))).isTruncated(true).nextContinuationToken("token")
+        .build());
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").continuationToken("token").build())).thenReturn(
+        ListObjectsV2Response.builder().contents(List.of(createSummary(key2))).build());
+    expectMetadataInteractions(bucketName, key1, HeadObjectResponse.builder().build(), "1.txt",
+        "txt");
+    expectMetadataInteractions(bucketName, key2, HeadObjectResponse.builder().build(), "2.txt",
+        "txt");
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    List<FileSummaryDto> streamed = new ArrayList<>();
+    awsStorageService.streamFiles(storageDto, ListQueryDto.builder().build(), streamed::add);
+
+    assertThat(streamed, hasSize(2));
+    assertThat(streamed.get(0).getFileName(), is("1.txt"));
+    assertThat(streamed.get(1).getFileName(), is("2.txt"));
+  }
+
+  @Test
+  void shouldListFilesWithoutMetadataRequests() {
+    final Instant lastModified = Instant.parse("2024-01-01T00:00:00Z");
+    final String key1 = folderName + "/report.final.pdf";
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(S3Object.builder().key(key1).size(42L).eTag("etag").lastModified(lastModified)
+            .build())
+        .isTruncated(false).build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().metadataMode(ListMetadataMode.NONE)
+        .includeCustomMetadata(true).fileType(List.of("pdf")).build();
+    final var files = awsStorageService.listFiles(storageDto, query).getFiles();
+
+    assertThat(files, hasSize(1));
+    assertThat(files.get(0).getKey(), is(key1));
+    assertThat(files.get(0).getFileName(), is("report.final.pdf"));
+    assertThat(files.get(0).getFileType(), is("pdf"));
+    assertThat(files.get(0).getSize(), is(42L));
+    assertThat(files.get(0).getEtag(), is("etag"));
+    assertThat(files.get(0).getLastModified(), is(lastModified));
+    assertThat(files.get(0).getCustomMetadata(), nullValue());
+    verify(s3Mock, never()).headObject(any(HeadObjectRequest.class));
+  }
+
+  @Test
+  void shouldRejectUserMetadataFiltersWithoutMetadata() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().metadataMode(ListMetadataMode.NONE)
+        .lifecycleState(Set.of(LifecycleState.DELETED)).build();
+
+    assertThrows(AwsStorageException.class, () -> awsStorageService.listFiles(storageDto, query));
+    verify(s3Mock, never()).listObjectsV2(any(ListObjectsV2Request.class));
+  }
+
+  @Test
+  void shouldReturnNotModifiedBeforeRequestingMetadata() {
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(S3Object.builder().key(folderName + "/1.txt").eTag("etag").build())
+        .isTruncated(false).build());
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var query = ListQueryDto.builder().build();
+    final String etag = ListingEtag.start(bucketName, folderName + "/", query)
+        .add(folderName + "/1.txt", "etag", null)
+        .value();
+
+    final var fileList = awsStorageService.listFiles(storageDto, query, etag);
+
+    assertThat(fileList.isNotModified(), is(true));
+    assertThat(fileList.getEtag(), is(etag));
+    assertThat(fileList.getFiles(), nullValue());
+    verify(s3Mock, never()).headObject(any(HeadObjectRequest.class));
+  }
+
+  @Test
+  void shouldAggregateStatsAcrossAllPages() {
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").build())).thenReturn(ListObjectsV2Response.builder()
+        .contents(S3Object.builder().key(folderName + "/1.pdf").size(100L).build(),
+            S3Object.builder().key(folderName + "/2.pdf").size(2_000L).build())
+        .isTruncated(true).nextContinuationToken("token").build());
+    when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+        .prefix(folderName + "/").continuationToken("token").build())).thenReturn(
+        ListObjectsV2Response.builder()
+            .contents(S3Object.builder().key(folderName + "/3.json").size(2_000_000_000L).build())
+            .isTruncated(false).build());
+
+    final var storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .build();
+    final var stats = awsStorageService.getStats(storageDto);
+
+    assertThat(stats.getCount(), is(3L));
+    assertThat(stats.getTotalSize(), is(2_000_002_100L));
+    assertThat(stats.getCountByFileType(), is(Map.of("pdf", 2L, "json", 1L)));
+    assertThat(stats.getSizeHistogram().get(0).getCount(), is(1L));
+    assertThat(stats.getSizeHistogram().get(1).getCount(), is(1L));
+    assertThat(stats.getSizeHistogram().get(6).getMaxSize(), nullValue());
+    assertThat(stats.getSizeHistogram().get(6).getCount(), is(1L));
+    verify(s3Mock, never()).headObject(any(HeadObjectRequest.class));
+  }
+
   @Test
   void shouldDeleteFileFromS3() {
     final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
@@ -391,6 +1403,33 @@ class AwsStorageServiceTest {
         resultDeleteEvent.getDeleteType(), is(DeleteType.HARD));
   }
 
+  @Test
+  void shouldInvalidateCachedMetadataWhenFileDeleted() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .build();
+    metadataCache.put(bucketName, key, "etag", null, Map.of("name", "test.txt"));
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(HeadObjectResponse.builder().build());
+
+    awsStorageService.delete(storageDto);
+
+    assertThat(metadataCache.get(bucketName, key, "etag", null), nullValue());
+  }
+
+  @Test
+  void shouldInvalidateCachedContentWhenFileDeleted() {
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
+        .build();
+    contentCache.put(bucketName, key, new ObjectContentCache.CachedContent(
+        fileContent.getBytes(StandardCharsets.UTF_8), null, "\"etag\"", null));
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(HeadObjectResponse.builder().build());
+
+    awsStorageService.delete(storageDto);
+
+    assertThat(contentCache.get(bucketName, key), nullValue());
+  }
+
   @Test
   void shouldHardDeleteIfDeleteTypeIsHard() {
     final var storageDto = StorageDto.builder().bucketName(bucketName).key(key)
@@ -481,6 +1520,72 @@ class AwsStorageServiceTest {
         resultDeleteEvent.getDeleteType(), is(DeleteType.PARTIAL));
   }
 
+  @Test
+  void shouldUploadOriginalFileAgainAfterPartialDelete() throws Exception {
+    fileContent = jsonFileContent;
+    key = format("%s/%s", folderName, fileName);
+    final var originalMetadata = new HashMap<>(headObjectResponse.metadata());
+    originalMetadata.put("name", fileName);
+    originalMetadata.put("sha256", contentSha256());
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(HeadObjectResponse.builder().metadata(originalMetadata).build());
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createObject(jsonFileContent));
+    when(s3Mock.getBucketVersioning(GetBucketVersioningRequest.builder().bucket(bucketName)
+        .build())).thenReturn(getBucketVersioningResponse);
+    when(
+        s3Mock.listObjectVersions(ListObjectVersionsRequest.builder().bucket(bucketName).prefix(key)
+            .build())).thenReturn(versions);
+    when(s3Mock.putObject(putRequestCaptor.capture(), any(RequestBody.class))).thenReturn(
+        putObjectResponse);
+
+    awsStorageService.delete(StorageDto.builder().bucketName(bucketName).key(key).build());
+
+    final var deletedMetadata = putRequestCaptor.getValue().metadata();
+    assertThat(deletedMetadata.get("sha256").equals(contentSha256()), is(false));
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(HeadObjectResponse.builder().contentLength(10L)
+        .metadata(deletedMetadata).build());
+    when(file1Mock.getOriginalFilename()).thenReturn(fileName);
+    when(file1Mock.getInputStream()).thenAnswer(invocation -> content());
+    when(file1Mock.getSize()).thenReturn((long) jsonFileContent.length());
+
+    awsStorageService.upload(StorageDto.builder().bucketName(bucketName).folderPath(folderName)
+        .files(List.of(file1Mock)).build());
+
+    verify(s3Mock, times(2)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    verify(s3Mock, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void shouldCompressPartialDeletedFileWhenFileTypeIsCompressed() throws IOException {
+    final var compressingService = createCompressingService();
+    final var storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+
+    when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(headObjectResponse);
+    when(s3Mock.getObject(GetObjectRequest.builder().bucket(bucketName).key(key)
+        .build())).thenReturn(createCompressedObject(jsonFileContent));
+    when(s3Mock.getBucketVersioning(GetBucketVersioningRequest.builder().bucket(bucketName)
+        .build())).thenReturn(getBucketVersioningResponse);
+    when(
+        s3Mock.listObjectVersions(ListObjectVersionsRequest.builder().bucket(bucketName).prefix(key)
+            .build())).thenReturn(versions);
+
+    compressingService.delete(storageDto);
+
+    verify(s3Mock).putObject(putRequestCaptor.capture(), requestBodyCaptor.capture());
+    assertThat("Unexpected content encoding.", putRequestCaptor.getValue().contentEncoding(),
+        is("gzip"));
+    final var resultInputStream = new GZIPInputStream(
+        requestBodyCaptor.getValue().contentStreamProvider().newStream());
+    Map<String, Object> resultJsonMap = new ObjectMapper().readValue(resultInputStream,
+        Map.class);
+    assertThat("Unexpected input stream.", resultJsonMap.get("id"), is("1"));
+    assertThat("Unexpected input stream.", resultJsonMap.get("lifecycleState"),
+        is(LifecycleState.DELETED.name()));
+  }
+
   @Test
   void shouldThrowExceptionWhenFailToPartialDeleteFile() {
     final StorageDto storageDto = StorageDto.builder().bucketName(bucketName).key(key).build();
@@ -618,6 +1723,28 @@ class AwsStorageServiceTest {
     return new ResponseInputStream<>(response, contentStream);
   }
 
+  private ResponseInputStream<GetObjectResponse> createCompressedObject(String fileContent)
+      throws IOException {
+    GetObjectResponse response = GetObjectResponse.builder().contentEncoding("gzip").build();
+    byte[] compressed = new StorageCodec(new String[0])
+        .encode(fileContent.getBytes(StandardCharsets.UTF_8));
+
+    return new ResponseInputStream<>(response, new ByteArrayInputStream(compressed));
+  }
+
+  private ResponseInputStream<GetObjectResponse> createObject(String fileContent, String eTag) {
+    return new ResponseInputStream<>(GetObjectResponse.builder().eTag(eTag).build(),
+        new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private AwsStorageService createCompressingService() {
+    return new AwsStorageService(s3Mock, snsMock, new ObjectMapper(),
+        new ObjectMetadataResolver(s3Mock, metadataExecutor, metadataCache), metadataCache,
+        Optional.empty(), multipartUploaderMock, fileUploadExecutor,
+        new BucketRegistry(s3Mock, Duration.ofHours(1)), new StorageCodec(new String[]{"json"}),
+        contentCache);
+  }
+
   private S3Object createSummary(String objectKey) {
     return S3Object.builder().key(objectKey).build();
   }
@@ -633,6 +1760,15 @@ class AwsStorageServiceTest {
         .build())).thenReturn(headObjectResp);
   }
 
+  private InputStream content() {
+    return new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String contentSha256() throws NoSuchAlgorithmException {
+    return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+        .digest(fileContent.getBytes(StandardCharsets.UTF_8)));
+  }
+
   @Nested
   class SortingTest {
 
@@ -647,11 +1783,11 @@ class AwsStorageServiceTest {
       S3Object s3Object3 = createSummary(key3);
       S3Object s3Object4 = createSummary(keyNullName);
 
-      ListObjectsResponse listObjectsResponse = ListObjectsResponse.builder()
+      ListObjectsV2Response listObjectsResponse = ListObjectsV2Response.builder()
           .contents(List.of(s3Object2, s3Object4, s3Object1, s3Object3))
           .build();
-      when(s3Mock.listObjects(
-          ListObjectsRequest.builder().bucket(bucketName).prefix(folderName + "/")
+      when(s3Mock.listObjectsV2(
+          ListObjectsV2Request.builder().bucket(bucketName).prefix(folderName + "/")
               .build())).thenReturn(listObjectsResponse);
       final String test1Name = "test1.foo";
       final String test2Name = "test2.foo";
@@ -685,11 +1821,11 @@ class AwsStorageServiceTest {
       final String keyNullName = key + "nullName";
       S3Object s3Object1 = createSummary(key1);
       S3Object s3Object4 = createSummary(keyNullName);
-      ListObjectsResponse listObjectsResponse = ListObjectsResponse.builder()
+      ListObjectsV2Response listObjectsResponse = ListObjectsV2Response.builder()
           .contents(List.of(s3Object4, s3Object1))
           .build();
-      when(s3Mock.listObjects(
-          ListObjectsRequest.builder().bucket(bucketName).prefix(folderName + "/")
+      when(s3Mock.listObjectsV2(
+          ListObjectsV2Request.builder().bucket(bucketName).prefix(folderName + "/")
               .build())).thenReturn(listObjectsResponse);
       expectMetadataInteractions(bucketName, key1, HeadObjectResponse.builder().build(), null,
           null);
@@ -703,4 +1839,149 @@ class AwsStorageServiceTest {
       assertThat(actualList, hasSize(2));
     }
   }
+
+  @Nested
+  class MetadataIndexTest {
+
+    private MetadataIndex index;
+    private AwsStorageService indexedStorageService;
+    private StorageDto storageDto;
+
+    @BeforeEach
+    void setup() {
+      index = mock(MetadataIndex.class);
+      indexedStorageService = new AwsStorageService(s3Mock, snsMock, new ObjectMapper(),
+          new ObjectMetadataResolver(s3Mock, metadataExecutor, metadataCache), metadataCache,
+          Optional.of(index), multipartUploaderMock, fileUploadExecutor,
+          new BucketRegistry(s3Mock, Duration.ofHours(1)), new StorageCodec(new String[0]),
+          contentCache);
+      storageDto = StorageDto.builder().bucketName(bucketName).folderPath(folderName).build();
+    }
+
+    @Test
+    void shouldListFilesFromIndexWhenBucketIndexed() {
+      final String key1 = folderName + "/1.txt";
+      final String key2 = folderName + "/2.txt";
+      when(index.isIndexed(bucketName)).thenReturn(true);
+      when(index.list(bucketName, folderName + "/", null, 2)).thenReturn(List.of(
+          createIndexedObject(key1, "1.txt"), createIndexedObject(key2, "2.txt")));
+
+      final var query = ListQueryDto.builder().pageSize(1).build();
+      final var fileList = indexedStorageService.listFiles(storageDto, query);
+
+      assertThat(fileList.getFiles(), hasSize(1));
+      assertThat(fileList.getFiles().get(0).getKey(), is(key1));
+      assertThat(fileList.getFiles().get(0).getFileName(), is("1.txt"));
+      assertThat(new String(Base64.getUrlDecoder().decode(fileList.getNextCursor()),
+          StandardCharsets.UTF_8), is("k:" + key1));
+      verify(s3Mock, never()).listObjectsV2(any(ListObjectsV2Request.class));
+      verify(s3Mock, never()).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void shouldListFilesFromIndexAfterKeyCursor() {
+      final String key1 = folderName + "/1.txt";
+      final String key2 = folderName + "/2.txt";
+      final String cursor = Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(("k:" + key1).getBytes(StandardCharsets.UTF_8));
+      when(index.isIndexed(bucketName)).thenReturn(true);
+      when(index.list(bucketName, folderName + "/", key1, 2)).thenReturn(List.of(
+          createIndexedObject(key2, "2.txt")));
+
+      final var query = ListQueryDto.builder().pageSize(1).cursor(cursor).build();
+      final var fileList = indexedStorageService.listFiles(storageDto, query);
+
+      assertThat(fileList.getFiles(), hasSize(1));
+      assertThat(fileList.getFiles().get(0).getKey(), is(key2));
+      assertThat(fileList.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void shouldListFilesFromS3WhenStrongConsistencyRequested() {
+      when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+          .prefix(folderName + "/").build())).thenReturn(
+          ListObjectsV2Response.builder().isTruncated(false).build());
+
+      final var query = ListQueryDto.builder().consistency(Consistency.STRONG).build();
+      indexedStorageService.listFiles(storageDto, query);
+
+      verify(index, never()).list(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRegisterBucketAndListFromS3WhenNotIndexed() {
+      when(index.isIndexed(bucketName)).thenReturn(false);
+      when(s3Mock.listObjectsV2(ListObjectsV2Request.builder().bucket(bucketName)
+          .prefix(folderName + "/").build())).thenReturn(
+          ListObjectsV2Response.builder().isTruncated(false).build());
+
+      indexedStorageService.listFiles(storageDto, ListQueryDto.builder().build());
+      indexedStorageService.listFiles(storageDto, ListQueryDto.builder().build());
+
+      verify(index, times(1)).register(bucketName);
+      verify(index, never()).list(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldIndexStoredObjectWithLastModified() {
+      indexedStorageService.recordStoredObject(bucketName, key,
+          PutObjectResponse.builder().eTag("etag").build(), 42L, Map.of("Name", "1.txt"));
+
+      @SuppressWarnings("unchecked")
+      ArgumentCaptor<List<IndexedObjectDto>> captor = ArgumentCaptor.forClass(List.class);
+      verify(index).putAll(captor.capture());
+      final var indexed = captor.getValue().get(0);
+      assertThat(indexed.getETag(), is("etag"));
+      assertThat(indexed.getFileName(), is("1.txt"));
+      assertThat(indexed.getLastModified(), notNullValue());
+    }
+
+    @Test
+    void shouldRemoveFromIndexWhenFileDeleted() {
+      final var deleteDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+      when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+          .build())).thenReturn(HeadObjectResponse.builder().build());
+
+      indexedStorageService.delete(deleteDto);
+
+      verify(index).remove(bucketName, key);
+    }
+
+    @Test
+    void shouldDeleteFileWhenIndexUpdateFails() {
+      final var deleteDto = StorageDto.builder().bucketName(bucketName).key(key).build();
+      when(s3Mock.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key)
+          .build())).thenReturn(HeadObjectResponse.builder().build());
+      doThrow(new IllegalStateException("expected")).when(index).remove(bucketName, key);
+
+      indexedStorageService.delete(deleteDto);
+
+      verify(snsMock).publishSnsDeleteEventTopic(any(DeleteEventDto.class));
+    }
+
+    private IndexedObjectDto createIndexedObject(String objectKey, String objectName) {
+      return IndexedObjectDto.builder()
+          .bucketName(bucketName)
+          .key(objectKey)
+          .fileName(objectName)
+          .fileType("txt")
+          .metadata(Map.of("name", objectName, "type", "txt"))
+          .build();
+    }
+  }
+
+  private static ConditionalRequestDto ifRange(final String ifRange) {
+    return ConditionalRequestDto.builder().ifRange(ifRange).build();
+  }
+
+  private static S3Exception notModified(final String eTag) {
+    return (S3Exception) S3Exception.builder().statusCode(304)
+        .awsErrorDetails(AwsErrorDetails.builder()
+            .sdkHttpResponse(SdkHttpResponse.builder().statusCode(304)
+                .putHeader("ETag", eTag)
+                .putHeader("Last-Modified", "Mon, 01 Jan 2024 10:15:30 GMT")
+                .build())
+            .build())
+        .build();
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+
+class BucketRegistryTest {
+
+  private static final String BUCKET = "bucket";
+
+  private S3Client s3;
+  private BucketRegistry registry;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    s3 = mock(S3Client.class);
+    registry = new BucketRegistry(s3, Duration.ofHours(1));
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldOnlyCheckExistingBucketOnce() {
+    registry.ensureExists(BUCKET);
+    registry.ensureExists(BUCKET);
+
+    verify(s3).headBucket(HeadBucketRequest.builder().bucket(BUCKET).build());
+    verify(s3, never()).createBucket(any(CreateBucketRequest.class));
+  }
+
+  @Test
+  void shouldCreateMissingBucketOnce() {
+    when(s3.headBucket(any(HeadBucketRequest.class))).thenThrow(
+        NoSuchBucketException.builder().build());
+
+    registry.ensureExists(BUCKET);
+    registry.ensureExists(BUCKET);
+
+    verify(s3).createBucket(CreateBucketRequest.builder().bucket(BUCKET).build());
+  }
+
+  @Test
+  void shouldTreatBucketCreatedElsewhereAsExisting() {
+    when(s3.headBucket(any(HeadBucketRequest.class))).thenThrow(
+        NoSuchBucketException.builder().build());
+    when(s3.createBucket(any(CreateBucketRequest.class))).thenThrow(
+        BucketAlreadyOwnedByYouException.builder().build());
+
+    registry.ensureExists(BUCKET);
+    registry.ensureExists(BUCKET);
+
+    verify(s3).createBucket(any(CreateBucketRequest.class));
+  }
+
+  @Test
+  void shouldCheckBucketAgainAfterInvalidate() {
+    registry.ensureExists(BUCKET);
+    registry.invalidate(BUCKET);
+    registry.ensureExists(BUCKET);
+
+    verify(s3, times(2)).headBucket(any(HeadBucketRequest.class));
+  }
+
+  @Test
+  void shouldCheckBucketAgainAfterFailure() {
+    when(s3.headBucket(any(HeadBucketRequest.class)))
+        .thenThrow(new IllegalStateException("expected"))
+        .thenReturn(HeadBucketResponse.builder().build());
+
+    try {
+      registry.ensureExists(BUCKET);
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    registry.ensureExists(BUCKET);
+
+    verify(s3, times(2)).headBucket(any(HeadBucketRequest.class));
+  }
+
+  @Test
+  void shouldCheckBucketOnceForConcurrentFirstUses() throws InterruptedException {
+    var started = new CountDownLatch(1);
+    when(s3.headBucket(any(HeadBucketRequest.class))).thenAnswer(invocation -> {
+      started.countDown();
+      Thread.sleep(100);
+      throw NoSuchBucketException.builder().build();
+    });
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    futures.add(CompletableFuture.runAsync(() -> registry.ensureExists(BUCKET), executor));
+    started.await();
+    for (int i = 0; i < 3; i++) {
+      futures.add(CompletableFuture.runAsync(() -> registry.ensureExists(BUCKET), executor));
+    }
+    futures.forEach(CompletableFuture::join);
+
+    verify(s3).headBucket(any(HeadBucketRequest.class));
+    verify(s3).createBucket(any(CreateBucketRequest.class));
+    assertThat(futures.stream().allMatch(CompletableFuture::isDone), is(true));
+  }
+}
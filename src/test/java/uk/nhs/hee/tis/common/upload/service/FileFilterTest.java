@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
+import uk.nhs.hee.tis.common.upload.enumeration.LifecycleState;
+
+class FileFilterTest {
+
+  private static final String PREFIX = "folder/";
+
+  @ParameterizedTest
+  @CsvSource({
+      "*.pdf, folder/form.pdf, true",
+      "*.pdf, folder/form.json, false",
+      "*.pdf, folder/sub/form.pdf, false",
+      "**.pdf, folder/sub/form.pdf, true",
+      "form-?.json, folder/form-1.json, true"
+  })
+  void shouldMatchKeyGlobRelativeToPrefix(String keyGlob, String key, boolean expected) {
+    FileFilter filter = FileFilter.compile(ListQueryDto.builder().keyGlob(keyGlob).build(),
+        PREFIX);
+
+    assertThat("Unexpected key match.", filter.matchesKey(key), is(expected));
+  }
+
+  @Test
+  void shouldMatchAllWhenNoFilters() {
+    FileFilter filter = FileFilter.compile(ListQueryDto.builder().build(), PREFIX);
+
+    assertThat("Unexpected key match.", filter.matchesKey("folder/any.txt"), is(true));
+    assertThat("Unexpected metadata match.", filter.matchesMetadata(Map.of()), is(true));
+  }
+
+  @Test
+  void shouldMatchFileTypeIgnoringCase() {
+    FileFilter filter = FileFilter.compile(ListQueryDto.builder().fileType(List.of("PDF")).build(),
+        PREFIX);
+
+    assertThat("Unexpected key match.", filter.matchesKey("folder/report.PDF"), is(true));
+    assertThat("Unexpected key match.", filter.matchesKey("folder/report.json"), is(false));
+    assertThat("Unexpected metadata match.", filter.matchesMetadata(Map.of()), is(true));
+  }
+
+  @Test
+  void shouldMatchIncludedLifecycleState() {
+    FileFilter filter = FileFilter.compile(ListQueryDto.builder()
+        .lifecycleState(Set.of(LifecycleState.DELETED)).build(), PREFIX);
+
+    assertThat("Unexpected metadata match.",
+        filter.matchesMetadata(Map.of("lifecyclestate", "DELETED")), is(true));
+    assertThat("Unexpected metadata match.",
+        filter.matchesMetadata(Map.of("lifecyclestate", "SUBMITTED")), is(false));
+    assertThat("Unexpected metadata match.", filter.matchesMetadata(Map.of()), is(false));
+  }
+
+  @Test
+  void shouldNotMatchExcludedLifecycleState() {
+    FileFilter filter = FileFilter.compile(ListQueryDto.builder()
+        .excludeLifecycleState(Set.of(LifecycleState.DELETED)).build(), PREFIX);
+
+    assertThat("Unexpected metadata match.",
+        filter.matchesMetadata(Map.of("lifecyclestate", "DELETED")), is(false));
+    assertThat("Unexpected metadata match.",
+        filter.matchesMetadata(Map.of("lifecyclestate", "SUBMITTED")), is(true));
+    assertThat("Unexpected metadata match.", filter.matchesMetadata(Map.of()), is(true));
+  }
+
+  @Test
+  void shouldMatchCustomMetadataWithLowerCaseNames() {
+    FileFilter filter = FileFilter.compile(ListQueryDto.builder()
+        .metadata(Map.of("uploadedBy", "Marvin")).build(), PREFIX);
+
+    assertThat("Unexpected metadata match.",
+        filter.matchesMetadata(Map.of("uploadedby", "Marvin")), is(true));
+    assertThat("Unexpected metadata match.",
+        filter.matchesMetadata(Map.of("uploadedby", "Arthur")), is(false));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.nhs.hee.tis.common.upload.dto.FileSummaryDto;
+
+class FileSummarySortTest {
+
+  private static final FileSummaryDto PDF_B = file("b.pdf", "pdf", "Marvin");
+  private static final FileSummaryDto PDF_A = file("a.pdf", "pdf", "Arthur");
+  private static final FileSummaryDto JSON_C = file("c.json", "json", null);
+  private static final FileSummaryDto JSON_D = file("d.json", "json", "Zaphod");
+
+  private static final List<FileSummaryDto> FILES = List.of(PDF_B, JSON_C, PDF_A, JSON_D);
+
+  @Test
+  void shouldSortByMultipleKeys() {
+    var sorted = FileSummarySort.compile("fileType,asc;fileName,desc").apply(FILES, null);
+
+    assertThat("Unexpected sort order.", sorted, contains(JSON_D, JSON_C, PDF_B, PDF_A));
+  }
+
+  @Test
+  void shouldSortAscendingWhenNoDirection() {
+    var sorted = FileSummarySort.compile("fileName").apply(FILES, null);
+
+    assertThat("Unexpected sort order.", sorted, contains(PDF_A, PDF_B, JSON_C, JSON_D));
+  }
+
+  @Test
+  void shouldSortByCustomMetadataWithNullsLast() {
+    var sorted = FileSummarySort.compile("customMetadata.uploadedBy,desc").apply(FILES, null);
+
+    assertThat("Unexpected sort order.", sorted, contains(JSON_D, PDF_B, PDF_A, JSON_C));
+  }
+
+  @Test
+  void shouldKeepTopSortedFilesWhenLimited() {
+    var sorted = FileSummarySort.compile("fileName,desc").apply(FILES, 2);
+
+    assertThat("Unexpected sort order.", sorted, contains(JSON_D, JSON_C));
+  }
+
+  @Test
+  void shouldKeepOriginalOrderOfEqualFilesWhenLimited() {
+    var sorted = FileSummarySort.compile("fileType,desc").apply(FILES, 2);
+
+    assertThat("Unexpected sort order.", sorted, contains(PDF_B, PDF_A));
+  }
+
+  @Test
+  void shouldKeepListingOrderWhenUnsortedAndLimited() {
+    var sorted = FileSummarySort.compile(null).apply(FILES, 3);
+
+    assertThat("Unexpected sort order.", sorted, contains(PDF_B, JSON_C, PDF_A));
+  }
+
+  @Test
+  void shouldSortBySizeAndLastModified() {
+    var older = Instant.parse("2024-01-01T00:00:00Z");
+    var newer = Instant.parse("2024-06-01T00:00:00Z");
+    var small = FileSummaryDto.builder().key("small").size(1L).lastModified(newer).build();
+    var largeOld = FileSummaryDto.builder().key("largeOld").size(10L).lastModified(older).build();
+    var largeNew = FileSummaryDto.builder().key("largeNew").size(10L).lastModified(newer).build();
+    var unknown = FileSummaryDto.builder().key("unknown").build();
+
+    var sorted = FileSummarySort.compile("size,desc;lastModified,desc")
+        .apply(List.of(small, unknown, largeOld, largeNew), null);
+
+    assertThat("Unexpected sort order.", sorted, contains(largeNew, largeOld, small, unknown));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"nonexistantProp,asc", "fileName,asc,extraBit", "interest.score,desc"})
+  void shouldIgnoreUnsupportedSortKeys(String sort) {
+    var fileSort = FileSummarySort.compile(sort);
+
+    assertThat("Unexpected sort order.", fileSort.apply(FILES, null), is(FILES));
+  }
+
+  private static FileSummaryDto file(String fileName, String fileType, String uploadedBy) {
+    return FileSummaryDto.builder()
+        .key("folder/" + fileName)
+        .fileName(fileName)
+        .fileType(fileType)
+        .customMetadata(uploadedBy == null ? Map.of() : Map.of("uploadedBy", uploadedBy))
+        .build();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+
+class JdbcMetadataIndexTest {
+
+  private static final String BUCKET = "bucket";
+
+  private EmbeddedDatabase database;
+  private JdbcMetadataIndex index;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .generateUniqueName(true)
+        .setType(EmbeddedDatabaseType.H2)
+        .addScript("schema-index.sql")
+        .build();
+    index = new JdbcMetadataIndex(new NamedParameterJdbcTemplate(database), new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldListObjectsUnderPrefixInKeyOrder() {
+    index.putAll(List.of(object("folder/2.txt"), object("folder/1.txt"), object("other/3.txt")));
+
+    var objects = index.list(BUCKET, "folder/", null, null);
+
+    assertThat(objects.stream().map(IndexedObjectDto::getKey).toList(),
+        contains("folder/1.txt", "folder/2.txt"));
+  }
+
+  @Test
+  void shouldListObjectsAfterKeyWithLimit() {
+    index.putAll(List.of(object("folder/1.txt"), object("folder/2.txt"), object("folder/3.txt")));
+
+    var objects = index.list(BUCKET, "folder/", "folder/1.txt", 1);
+
+    assertThat(objects.stream().map(IndexedObjectDto::getKey).toList(),
+        contains("folder/2.txt"));
+  }
+
+  @Test
+  void shouldTreatLikeWildcardsInPrefixLiterally() {
+    index.putAll(List.of(object("fo_der/1.txt"), object("folder/2.txt")));
+
+    var objects = index.list(BUCKET, "fo_der/", null, null);
+
+    assertThat(objects.stream().map(IndexedObjectDto::getKey).toList(),
+        contains("fo_der/1.txt"));
+  }
+
+  @Test
+  void shouldRoundTripObjectFields() {
+    var lastModified = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    var object = object("folder/1.txt");
+    object.setLastModified(lastModified);
+    index.putAll(List.of(object));
+
+    var indexed = index.get(BUCKET, List.of("folder/1.txt", "folder/missing.txt"));
+
+    assertThat(indexed, aMapWithSize(1));
+    assertThat(indexed.get("folder/1.txt"), is(object));
+  }
+
+  @Test
+  void shouldReplaceExistingObject() {
+    index.putAll(List.of(object("folder/1.txt")));
+    var updated = object("folder/1.txt");
+    updated.setETag("updated");
+    index.putAll(List.of(updated));
+
+    var objects = index.list(BUCKET, "folder/", null, null);
+
+    assertThat(objects, hasSize(1));
+    assertThat(objects.get(0).getETag(), is("updated"));
+  }
+
+  @Test
+  void shouldRemoveObject() {
+    index.putAll(List.of(object("folder/1.txt")));
+
+    index.remove(BUCKET, "folder/1.txt");
+
+    assertThat(index.list(BUCKET, "folder/", null, null), hasSize(0));
+  }
+
+  @Test
+  void shouldRemoveObjectsNotTouchedSinceTime() throws InterruptedException {
+    index.putAll(List.of(object("folder/1.txt"), object("folder/2.txt")));
+    Thread.sleep(5);
+    var start = Instant.now();
+    Thread.sleep(5);
+    index.touch(BUCKET, List.of("folder/1.txt"));
+
+    int removed = index.removeNotIndexedSince(BUCKET, start);
+
+    assertThat(removed, is(1));
+    assertThat(index.list(BUCKET, "folder/", null, null).stream()
+        .map(IndexedObjectDto::getKey).toList(), contains("folder/1.txt"));
+  }
+
+  @Test
+  void shouldOnlyBeIndexedOnceReconciled() {
+    index.register(BUCKET);
+
+    assertThat(index.buckets(), is(Set.of(BUCKET)));
+    assertThat(index.isIndexed(BUCKET), is(false));
+
+    index.markReconciled(BUCKET, Instant.now());
+
+    assertThat(index.isIndexed(BUCKET), is(true));
+  }
+
+  private IndexedObjectDto object(String key) {
+    return IndexedObjectDto.builder()
+        .bucketName(BUCKET)
+        .key(key)
+        .eTag("etag")
+        .size(42L)
+        .fileName(key.substring(key.indexOf('/') + 1))
+        .fileType("txt")
+        .metadata(Map.of("name", key, "type", "txt"))
+        .build();
+  }
+}
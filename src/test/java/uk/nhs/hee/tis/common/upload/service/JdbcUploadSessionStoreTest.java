@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto.PartDto;
+
+class JdbcUploadSessionStoreTest {
+
+  private static final String SESSION_ID = "session-id";
+
+  private EmbeddedDatabase database;
+  private JdbcUploadSessionStore store;
+  private Instant now;
+
+  @BeforeEach
+  void setUp() {
+    database = new EmbeddedDatabaseBuilder()
+        .generateUniqueName(true)
+        .setType(EmbeddedDatabaseType.H2)
+        .addScript("schema.sql")
+        .build();
+    store = new JdbcUploadSessionStore(new NamedParameterJdbcTemplate(database),
+        new ObjectMapper());
+    now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    database.shutdown();
+  }
+
+  @Test
+  void shouldGetCreatedSession() {
+    store.create(session(SESSION_ID, now.plusSeconds(60)));
+
+    var session = store.get(SESSION_ID, now).orElseThrow();
+
+    assertThat(session.getBucketName(), is("bucket"));
+    assertThat(session.getKey(), is("folder/file.txt"));
+    assertThat(session.getUploadId(), is("upload-id"));
+    assertThat(session.getMetadata(), is(Map.of("name", "file.txt")));
+    assertThat(session.getChunkSize(), is(100L));
+    assertThat(session.getExpiresAt(), is(now.plusSeconds(60)));
+    assertThat(session.getParts(), is(List.of()));
+    assertThat(session.getReceivedBytes(), is(0L));
+  }
+
+  @Test
+  void shouldNotGetExpiredSession() {
+    store.create(session(SESSION_ID, now));
+
+    assertThat(store.get(SESSION_ID, now).isPresent(), is(false));
+  }
+
+  @Test
+  void shouldGetPartsInOrderAndExtendExpiry() {
+    store.create(session(SESSION_ID, now.plusSeconds(60)));
+    store.addPart(SESSION_ID, part(2, 50), now.plusSeconds(120));
+    store.addPart(SESSION_ID, part(1, 100), now.plusSeconds(180));
+
+    var session = store.get(SESSION_ID, now).orElseThrow();
+
+    assertThat(session.getParts().stream().map(PartDto::getPartNumber).toList(), contains(1, 2));
+    assertThat(session.getParts().get(0).getETag(), is("etag-1"));
+    assertThat(session.getReceivedBytes(), is(150L));
+    assertThat(session.getExpiresAt(), is(now.plusSeconds(180)));
+  }
+
+  @Test
+  void shouldRejectDuplicatePart() {
+    store.create(session(SESSION_ID, now.plusSeconds(60)));
+    store.addPart(SESSION_ID, part(1, 100), now.plusSeconds(60));
+
+    var part = part(1, 100);
+    var expiresAt = now.plusSeconds(60);
+    assertThrows(DataIntegrityViolationException.class,
+        () -> store.addPart(SESSION_ID, part, expiresAt));
+  }
+
+  @Test
+  void shouldDeleteSessionAndParts() {
+    store.create(session(SESSION_ID, now.plusSeconds(60)));
+    store.addPart(SESSION_ID, part(1, 100), now.plusSeconds(60));
+
+    store.delete(SESSION_ID);
+    store.create(session(SESSION_ID, now.plusSeconds(60)));
+
+    assertThat(store.get(SESSION_ID, now).orElseThrow().getParts(), is(List.of()));
+  }
+
+  @Test
+  void shouldListExpiredSessions() {
+    store.create(session("expired", now.minusSeconds(1)));
+    store.create(session("current", now.plusSeconds(60)));
+
+    var expired = store.listExpired(now);
+
+    assertThat(expired.stream().map(UploadSessionDto::getSessionId).toList(),
+        contains("expired"));
+  }
+
+  private static UploadSessionDto session(String sessionId, Instant expiresAt) {
+    return UploadSessionDto.builder()
+        .sessionId(sessionId)
+        .bucketName("bucket")
+        .key("folder/file.txt")
+        .uploadId("upload-id")
+        .metadata(Map.of("name", "file.txt"))
+        .chunkSize(100)
+        .expiresAt(expiresAt)
+        .build();
+  }
+
+  private static PartDto part(int partNumber, long size) {
+    return PartDto.builder()
+        .partNumber(partNumber)
+        .eTag("etag-" + partNumber)
+        .size(size)
+        .build();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.nhs.hee.tis.common.upload.dto.ListQueryDto;
+import uk.nhs.hee.tis.common.upload.enumeration.LifecycleState;
+
+class ListingEtagTest {
+
+  private static final Instant LAST_MODIFIED = Instant.parse("2024-01-01T00:00:00Z");
+  private static final ListQueryDto QUERY = ListQueryDto.builder().sort("fileName").build();
+
+  @Test
+  void shouldBeQuotedAndStableForSameListing() {
+    String etag1 = etag(QUERY, "etag");
+    String etag2 = etag(QUERY, "etag");
+
+    assertThat(etag1, startsWith("\""));
+    assertThat(etag1, is(etag2));
+  }
+
+  @Test
+  void shouldChangeWhenObjectChanges() {
+    assertThat(etag(QUERY, "etag"), not(etag(QUERY, "changed")));
+  }
+
+  @Test
+  void shouldChangeWhenQueryChanges() {
+    var otherQuery = ListQueryDto.builder().sort("fileName,desc").build();
+
+    assertThat(etag(QUERY, "etag"), not(etag(otherQuery, "etag")));
+  }
+
+  @Test
+  void shouldChangeWhenFilterChanges() {
+    var otherQuery = ListQueryDto.builder().sort("fileName")
+        .excludeLifecycleState(Set.of(LifecycleState.DELETED)).build();
+
+    assertThat(etag(QUERY, "etag"), not(etag(otherQuery, "etag")));
+  }
+
+  @Test
+  void shouldNotDependOnOrderOfFilterValues() {
+    Map<String, String> metadata = new LinkedHashMap<>();
+    metadata.put("a", "1");
+    metadata.put("b", "2");
+    Map<String, String> reorderedMetadata = new LinkedHashMap<>();
+    reorderedMetadata.put("b", "2");
+    reorderedMetadata.put("a", "1");
+
+    var query = ListQueryDto.builder().sort("fileName").metadata(metadata)
+        .fileType(List.of("pdf", "json")).build();
+    var reorderedQuery = ListQueryDto.builder().sort("fileName").metadata(reorderedMetadata)
+        .fileType(List.of("json", "pdf")).build();
+
+    assertThat(etag(query, "etag"), is(etag(reorderedQuery, "etag")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"%s", "W/%s", "\"other\", %s", "*"})
+  void shouldMatchIfNoneMatch(String ifNoneMatch) {
+    String etag = etag(QUERY, "etag");
+
+    assertThat(ListingEtag.matches(String.format(ifNoneMatch, etag), etag), is(true));
+  }
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = {"\"other\""})
+  void shouldNotMatchOtherIfNoneMatch(String ifNoneMatch) {
+    assertThat(ListingEtag.matches(ifNoneMatch, etag(QUERY, "etag")), is(false));
+  }
+
+  private static String etag(ListQueryDto query, String objectEtag) {
+    return ListingEtag.start("bucket", "folder/", query)
+        .add("folder/1.txt", objectEtag, LAST_MODIFIED)
+        .value();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
+import uk.nhs.hee.tis.common.upload.dto.IndexedObjectDto;
+
+class MetadataIndexReconcilerTest {
+
+  private static final String BUCKET = "bucket";
+  private static final Instant LAST_MODIFIED = Instant.parse("2024-01-01T00:00:00Z");
+
+  private S3Client s3;
+  private MetadataIndex index;
+  private ObjectMetadataResolver resolver;
+  private MetadataIndexReconciler reconciler;
+
+  @BeforeEach
+  void setUp() {
+    s3 = mock(S3Client.class);
+    index = mock(MetadataIndex.class);
+    resolver = mock(ObjectMetadataResolver.class);
+    reconciler = new MetadataIndexReconciler(s3, index, resolver, new String[]{"configured", ""});
+  }
+
+  @Test
+  void shouldOnlyResolveChangedObjects() {
+    var unchanged = S3Object.builder().key("1.txt").eTag("a").lastModified(LAST_MODIFIED).build();
+    var changed = S3Object.builder().key("2.txt").eTag("b").lastModified(LAST_MODIFIED).build();
+    expectListing(unchanged, changed);
+    when(index.get(eq(BUCKET), any())).thenReturn(Map.of("1.txt",
+        IndexedObjectDto.builder().key("1.txt").eTag("a").lastModified(LAST_MODIFIED).build(),
+        "2.txt",
+        IndexedObjectDto.builder().key("2.txt").eTag("old").lastModified(LAST_MODIFIED).build()));
+    when(resolver.resolve(BUCKET, List.of(changed))).thenReturn(
+        List.of(Map.of("name", "2.txt", "type", "txt")));
+
+    reconciler.reconcile(BUCKET);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<IndexedObjectDto>> captor = ArgumentCaptor.forClass(Collection.class);
+    verify(index).putAll(captor.capture());
+    var updates = List.copyOf(captor.getValue());
+    assertThat(updates, hasSize(1));
+    assertThat(updates.get(0).getKey(), is("2.txt"));
+    assertThat(updates.get(0).getETag(), is("b"));
+    assertThat(updates.get(0).getFileName(), is("2.txt"));
+    assertThat(updates.get(0).getFileType(), is("txt"));
+    verify(index).touch(BUCKET, List.of("1.txt"));
+  }
+
+  @Test
+  void shouldRemoveUnlistedObjectsAndMarkReconciled() {
+    expectListing();
+    when(index.get(eq(BUCKET), any())).thenReturn(Map.of());
+    when(resolver.resolve(BUCKET, List.of())).thenReturn(List.of());
+
+    reconciler.reconcile(BUCKET);
+
+    ArgumentCaptor<Instant> startCaptor = ArgumentCaptor.forClass(Instant.class);
+    verify(index).removeNotIndexedSince(eq(BUCKET), startCaptor.capture());
+    verify(index).markReconciled(BUCKET, startCaptor.getValue());
+  }
+
+  @Test
+  void shouldReconcileConfiguredAndRegisteredBuckets() {
+    when(index.buckets()).thenReturn(Set.of("registered"));
+    when(s3.listObjectsV2Paginator(any(ListObjectsV2Request.class)))
+        .thenThrow(new IllegalStateException("expected"));
+
+    reconciler.reconcileAll();
+
+    verify(index).register("configured");
+    verify(index).register("registered");
+    verify(index, never()).register("");
+    verify(index, never()).markReconciled(anyString(), any());
+  }
+
+  private void expectListing(S3Object... objects) {
+    var request = ListObjectsV2Request.builder().bucket(BUCKET).build();
+    var paginator = mock(ListObjectsV2Iterable.class);
+    when(paginator.iterator()).thenReturn(
+        List.of(ListObjectsV2Response.builder().contents(objects).build()).iterator());
+    when(s3.listObjectsV2Paginator(request)).thenReturn(paginator);
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+class MultipartUploaderTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "folder/file.txt";
+  private static final Map<String, String> METADATA = Map.of("name", "file.txt");
+  private static final int PART_SIZE = (int) MultipartUploader.MIN_PART_SIZE.toBytes();
+
+  private S3Client s3;
+  private ExecutorService executor;
+  private MeterRegistry meterRegistry;
+  private MultipartUploader uploader;
+
+  @BeforeEach
+  void setUp() {
+    s3 = mock(S3Client.class);
+    executor = Executors.newFixedThreadPool(4);
+    meterRegistry = new SimpleMeterRegistry();
+    uploader = createUploader(MultipartUploader.MIN_PART_SIZE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldRejectPartSizeBelowMinimum() {
+    assertThrows(IllegalArgumentException.class, () -> createUploader(DataSize.ofMegabytes(1)));
+  }
+
+  @Test
+  void shouldOnlyUseMultipartAboveThreshold() {
+    assertThat(uploader.isMultipart(DataSize.ofMegabytes(16).toBytes()), is(false));
+    assertThat(uploader.isMultipart(DataSize.ofMegabytes(16).toBytes() + 1), is(true));
+  }
+
+  @Test
+  void shouldPutContentSmallerThanPart() throws IOException {
+    var expected = PutObjectResponse.builder().eTag("etag").build();
+    when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenReturn(expected);
+
+    var response = uploader.upload(BUCKET, KEY, METADATA, new ByteArrayInputStream(new byte[10]));
+
+    assertThat(response, is(expected));
+    ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(s3).putObject(captor.capture(), any(RequestBody.class));
+    assertThat(captor.getValue().contentLength(), is(10L));
+    assertThat(captor.getValue().metadata(), is(METADATA));
+    verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+  }
+
+  @Test
+  void shouldUploadLargeContentInParts() throws IOException {
+    expectMultipartUpload();
+    when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(
+        invocation -> UploadPartResponse.builder()
+            .eTag("etag-" + invocation.getArgument(0, UploadPartRequest.class).partNumber())
+            .build());
+    when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenReturn(
+        CompleteMultipartUploadResponse.builder().eTag("etag-3").versionId("v1").build());
+
+    var content = new ByteArrayInputStream(new byte[PART_SIZE * 2 + 1]);
+    var response = uploader.upload(BUCKET, KEY, METADATA, content);
+
+    assertThat(response.eTag(), is("etag-3"));
+    assertThat(response.versionId(), is("v1"));
+    ArgumentCaptor<UploadPartRequest> partCaptor = ArgumentCaptor.forClass(
+        UploadPartRequest.class);
+    verify(s3, times(3)).uploadPart(partCaptor.capture(), any(RequestBody.class));
+    var lastPart = partCaptor.getAllValues().stream()
+        .filter(request -> request.partNumber() == 3)
+        .findFirst().orElseThrow();
+    assertThat(lastPart.contentLength(), is(1L));
+
+    ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor = ArgumentCaptor.forClass(
+        CompleteMultipartUploadRequest.class);
+    verify(s3).completeMultipartUpload(completeCaptor.capture());
+    assertThat(completeCaptor.getValue().uploadId(), is("upload-id"));
+    var parts = completeCaptor.getValue().multipartUpload().parts();
+    assertThat(parts.stream().map(CompletedPart::partNumber).toList(), is(List.of(1, 2, 3)));
+    assertThat(parts.stream().map(CompletedPart::eTag).toList(),
+        is(List.of("etag-1", "etag-2", "etag-3")));
+    assertThat(meterRegistry.timer(MultipartUploader.PART_TIMER, "outcome", "success").count(),
+        is(3L));
+  }
+
+  @Test
+  void shouldUploadPartsConcurrently() throws IOException {
+    expectMultipartUpload();
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(
+        invocation -> {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          Thread.sleep(50);
+          inFlight.decrementAndGet();
+          return UploadPartResponse.builder().eTag("etag").build();
+        });
+    when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenReturn(
+        CompleteMultipartUploadResponse.builder().build());
+
+    uploader.upload(BUCKET, KEY, METADATA, new ByteArrayInputStream(new byte[PART_SIZE * 4]));
+
+    assertThat(maxInFlight.get() > 1, is(true));
+    assertThat(maxInFlight.get() <= 2, is(true));
+  }
+
+  @Test
+  void shouldRetryFailedPart() throws IOException {
+    expectMultipartUpload();
+    when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+        .thenThrow(SdkClientException.create("expected"))
+        .thenReturn(UploadPartResponse.builder().eTag("etag-1").build());
+    when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenReturn(
+        CompleteMultipartUploadResponse.builder().eTag("etag").build());
+
+    var response = uploader.upload(BUCKET, KEY, METADATA,
+        new ByteArrayInputStream(new byte[PART_SIZE]));
+
+    assertThat(response.eTag(), is("etag"));
+    verify(s3, times(2)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+    assertThat(meterRegistry.timer(MultipartUploader.PART_TIMER, "outcome", "failure").count(),
+        is(1L));
+    verify(s3, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+  }
+
+  @Test
+  void shouldAbortWhenPartFailsAllAttempts() {
+    expectMultipartUpload();
+    when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+        .thenThrow(SdkClientException.create("expected"));
+
+    var content = new ByteArrayInputStream(new byte[PART_SIZE + 1]);
+    assertThrows(SdkClientException.class,
+        () -> uploader.upload(BUCKET, KEY, METADATA, content));
+
+    verify(s3).abortMultipartUpload(AbortMultipartUploadRequest.builder()
+        .bucket(BUCKET).key(KEY).uploadId("upload-id").build());
+  }
+
+  private MultipartUploader createUploader(DataSize partSize) {
+    return new MultipartUploader(s3, executor, meterRegistry, partSize, 2, 2,
+        DataSize.ofMegabytes(16));
+  }
+
+  private void expectMultipartUpload() {
+    when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(
+        CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import uk.nhs.hee.tis.common.upload.service.ObjectContentCache.CachedContent;
+
+class ObjectContentCacheTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "key";
+
+  private MeterRegistry meterRegistry;
+  private ObjectContentCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new ObjectContentCache(DataSize.ofKilobytes(64), DataSize.ofBytes(16), meterRegistry);
+  }
+
+  @Test
+  void shouldCacheSmallContentWithEtag() {
+    final var content = new CachedContent(new byte[16], null, "\"etag\"", null);
+
+    cache.put(BUCKET, KEY, content);
+
+    assertThat(cache.get(BUCKET, KEY), is(content));
+  }
+
+  @Test
+  void shouldNotCacheContentLargerThanEntrySize() {
+    cache.put(BUCKET, KEY, new CachedContent(new byte[17], null, "\"etag\"", null));
+
+    assertThat(cache.get(BUCKET, KEY), nullValue());
+  }
+
+  @Test
+  void shouldNotCacheContentWithoutEtag() {
+    cache.put(BUCKET, KEY, new CachedContent(new byte[1], null, null, null));
+
+    assertThat(cache.get(BUCKET, KEY), nullValue());
+  }
+
+  @Test
+  void shouldNotCacheEmptyContentWhenDisabled() {
+    cache = new ObjectContentCache(DataSize.ofBytes(0), DataSize.ofBytes(16), meterRegistry);
+
+    cache.put(BUCKET, KEY, new CachedContent(new byte[0], null, "\"etag\"", null));
+
+    assertThat(cache.get(BUCKET, KEY), nullValue());
+  }
+
+  @Test
+  void shouldRemoveEarlierVersionWhenNewVersionNotCached() {
+    cache.put(BUCKET, KEY, new CachedContent(new byte[1], null, "\"v1\"", null));
+
+    cache.put(BUCKET, KEY, new CachedContent(new byte[17], null, "\"v2\"", null));
+
+    assertThat(cache.get(BUCKET, KEY), nullValue());
+  }
+
+  @Test
+  void shouldInvalidateContent() {
+    cache.put(BUCKET, KEY, new CachedContent(new byte[1], null, "\"etag\"", null));
+
+    cache.invalidate(BUCKET, KEY);
+
+    assertThat(cache.get(BUCKET, KEY), nullValue());
+  }
+
+  @Test
+  void shouldPublishHitsAndMisses() {
+    cache.put(BUCKET, KEY, new CachedContent(new byte[1], null, "\"etag\"", null));
+
+    cache.get(BUCKET, KEY);
+    cache.get(BUCKET, KEY);
+    cache.get(BUCKET, "other");
+
+    assertThat(gets("hit"), is(2.0));
+    assertThat(gets("miss"), is(1.0));
+    assertThat(meterRegistry.find("cache.evictions").tag("cache", ObjectContentCache.CACHE_NAME)
+        .functionCounter() != null, is(true));
+  }
+
+  private double gets(final String result) {
+    return meterRegistry.get("cache.gets").tag("cache", ObjectContentCache.CACHE_NAME)
+        .tag("result", result).functionCounter().count();
+  }
+}
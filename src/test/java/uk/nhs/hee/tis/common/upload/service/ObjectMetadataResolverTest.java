@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class ObjectMetadataResolverTest {
+
+  private static final String BUCKET = "bucket-name";
+
+  private ObjectMetadataResolver resolver;
+
+  private S3Client s3Mock;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    s3Mock = mock(S3Client.class);
+    executor = Executors.newFixedThreadPool(2);
+    resolver = new ObjectMetadataResolver(s3Mock, executor, new ObjectMetadataCache(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldResolveMetadataInListingOrder() {
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenAnswer(invocation -> {
+      HeadObjectRequest request = invocation.getArgument(0);
+      if (request.key().equals("folder/1.txt")) {
+        Thread.sleep(100);
+      }
+      return HeadObjectResponse.builder().metadata(Map.of("name", request.key())).build();
+    });
+
+    List<Map<String, String>> metadata = resolver.resolve(BUCKET, List.of(
+        S3Object.builder().key("folder/1.txt").build(),
+        S3Object.builder().key("folder/2.txt").build()));
+
+    assertThat("Unexpected metadata order.", metadata.stream().map(m -> m.get("name")).toList(),
+        contains("folder/1.txt", "folder/2.txt"));
+  }
+
+  @Test
+  void shouldResolveMetadataConcurrently() {
+    CountDownLatch latch = new CountDownLatch(2);
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenAnswer(invocation -> {
+      latch.countDown();
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("HEAD requests were not concurrent.");
+      }
+      return HeadObjectResponse.builder().build();
+    });
+
+    List<Map<String, String>> metadata = resolver.resolve(BUCKET, List.of(
+        S3Object.builder().key("folder/1.txt").build(),
+        S3Object.builder().key("folder/2.txt").build()));
+
+    assertThat("Unexpected metadata count.", metadata.size(), is(2));
+  }
+
+  @Test
+  void shouldUseCachedMetadataWhenObjectUnchanged() {
+    Instant lastModified = Instant.now();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+        .eTag("etag1").lastModified(lastModified).metadata(Map.of("name", "1.txt")).build());
+    List<S3Object> objects = List.of(
+        S3Object.builder().key("folder/1.txt").eTag("etag1").lastModified(lastModified).build());
+
+    resolver.resolve(BUCKET, objects);
+    List<Map<String, String>> metadata = resolver.resolve(BUCKET, objects);
+
+    assertThat("Unexpected metadata.", metadata.get(0).get("name"), is("1.txt"));
+    verify(s3Mock, times(1)).headObject(any(HeadObjectRequest.class));
+  }
+
+  @Test
+  void shouldNotUseCachedMetadataWhenObjectChanged() {
+    Instant lastModified = Instant.now();
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenReturn(
+        HeadObjectResponse.builder().eTag("etag1").lastModified(lastModified)
+            .metadata(Map.of("name", "1.txt")).build(),
+        HeadObjectResponse.builder().eTag("etag2").lastModified(lastModified)
+            .metadata(Map.of("name", "2.txt")).build());
+
+    resolver.resolve(BUCKET, List.of(
+        S3Object.builder().key("folder/1.txt").eTag("etag1").lastModified(lastModified).build()));
+    List<Map<String, String>> metadata = resolver.resolve(BUCKET, List.of(
+        S3Object.builder().key("folder/1.txt").eTag("etag2").lastModified(lastModified).build()));
+
+    assertThat("Unexpected metadata.", metadata.get(0).get("name"), is("2.txt"));
+    verify(s3Mock, times(2)).headObject(any(HeadObjectRequest.class));
+  }
+
+  @Test
+  void shouldPassEachResolvedMetadataToConsumer() {
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenAnswer(invocation -> {
+      HeadObjectRequest request = invocation.getArgument(0);
+      return HeadObjectResponse.builder().metadata(Map.of("name", request.key())).build();
+    });
+    Map<String, String> resolved = new HashMap<>();
+
+    resolver.resolveEach(BUCKET, List.of(
+        S3Object.builder().key("folder/1.txt").build(),
+        S3Object.builder().key("folder/2.txt").build()),
+        (object, metadata) -> resolved.put(object.key(), metadata.get("name")));
+
+    assertThat("Unexpected resolved metadata.", resolved,
+        is(Map.of("folder/1.txt", "folder/1.txt", "folder/2.txt", "folder/2.txt")));
+  }
+
+  @Test
+  void shouldRethrowHeadObjectFailure() {
+    when(s3Mock.headObject(any(HeadObjectRequest.class))).thenThrow(AwsServiceException.class);
+    List<S3Object> objects = List.of(S3Object.builder().key("folder/1.txt").build());
+
+    assertThrows(AwsServiceException.class, () -> resolver.resolve(BUCKET, objects));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+class PresignedUrlServiceTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "folder/file.txt";
+
+  private S3Presigner presigner;
+  private S3Client s3;
+  private AwsStorageService storageService;
+  private PresignedUrlService service;
+
+  @BeforeEach
+  void setUp() {
+    presigner = S3Presigner.builder()
+        .region(Region.EU_WEST_2)
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create("access-key", "secret-key")))
+        .build();
+    s3 = mock(S3Client.class);
+    storageService = mock(AwsStorageService.class);
+    service = new PresignedUrlService(presigner, s3, storageService,
+        new BucketRegistry(s3, Duration.ofHours(1)), Duration.ofMinutes(15));
+  }
+
+  @AfterEach
+  void tearDown() {
+    presigner.close();
+  }
+
+  @Test
+  void shouldPresignUploadWithMetadataHeaders() {
+    var storageDto = StorageDto.builder().bucketName(BUCKET).folderPath("folder")
+        .customMetadata(Map.of("answer", "42")).build();
+
+    var url = service.presignUpload(storageDto, "file.txt");
+
+    assertThat(url.getMethod(), is("PUT"));
+    assertThat(url.getKey(), is(KEY));
+    assertThat(url.getUrl(), startsWith("https://"));
+    assertThat(url.getUrl(), containsString(KEY));
+    assertThat(url.getUrl(), containsString("X-Amz-Expires=900"));
+    assertThat(url.getHeaders(), hasEntry("x-amz-meta-name", "file.txt"));
+    assertThat(url.getHeaders(), hasEntry("x-amz-meta-type", "txt"));
+    assertThat(url.getHeaders(), hasEntry("x-amz-meta-answer", "42"));
+    assertThat(url.getHeaders().keySet(), not(hasItem("host")));
+    assertThat(url.getExpiresAt().isAfter(Instant.now()), is(true));
+    verify(s3).headBucket(HeadBucketRequest.builder().bucket(BUCKET).build());
+  }
+
+  @Test
+  void shouldPresignDownload() {
+    var storageDto = StorageDto.builder().bucketName(BUCKET).key(KEY).build();
+
+    var url = service.presignDownload(storageDto);
+
+    assertThat(url.getMethod(), is("GET"));
+    assertThat(url.getUrl(), containsString(KEY));
+    assertThat(url.getUrl(), containsString("response-content-disposition"));
+  }
+
+  @Test
+  void shouldRecordCompletedUpload() {
+    var metadata = Map.of("name", "file.txt", "type", "txt");
+    when(s3.headObject(HeadObjectRequest.builder().bucket(BUCKET).key(KEY).build())).thenReturn(
+        HeadObjectResponse.builder().eTag("etag").versionId("v1").contentLength(10L)
+            .metadata(metadata).build());
+    var storageDto = StorageDto.builder().bucketName(BUCKET).key(KEY).build();
+
+    var recorded = service.completeUpload(storageDto);
+
+    assertThat(recorded, is(metadata));
+    verify(storageService).recordStoredObject(BUCKET, KEY,
+        PutObjectResponse.builder().eTag("etag").versionId("v1").build(), 10L, metadata);
+  }
+
+  @Test
+  void shouldThrowExceptionWhenCompletedUploadNotFound() {
+    when(s3.headObject(any(HeadObjectRequest.class))).thenThrow(
+        NoSuchKeyException.builder().build());
+    var storageDto = StorageDto.builder().bucketName(BUCKET).key(KEY).build();
+
+    assertThrows(AwsStorageException.class, () -> service.completeUpload(storageDto));
+  }
+}
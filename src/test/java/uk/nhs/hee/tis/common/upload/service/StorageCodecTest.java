@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StorageCodecTest {
+
+  private static final String CONTENT = "{\"id\":\"1\",\"forename\":\"forename\"}";
+
+  private StorageCodec codec;
+
+  @BeforeEach
+  void setUp() {
+    codec = new StorageCodec(new String[]{"json", " XML "});
+  }
+
+  @Test
+  void shouldCompressConfiguredFileTypes() {
+    assertThat(codec.shouldCompress(Map.of("type", "json")), is(true));
+    assertThat(codec.shouldCompress(Map.of("type", "JSON")), is(true));
+    assertThat(codec.shouldCompress(Map.of("type", "xml")), is(true));
+  }
+
+  @Test
+  void shouldNotCompressOtherFileTypes() {
+    assertThat(codec.shouldCompress(Map.of("type", "pdf")), is(false));
+    assertThat(codec.shouldCompress(Map.of()), is(false));
+  }
+
+  @Test
+  void shouldNotCompressWhenNoFileTypesConfigured() {
+    codec = new StorageCodec(new String[]{""});
+
+    assertThat(codec.shouldCompress(Map.of("type", "json")), is(false));
+  }
+
+  @Test
+  void shouldPreferCompressionFlagOverFileType() {
+    assertThat(codec.shouldCompress(Map.of("type", "pdf", "compression", "gzip")), is(true));
+    assertThat(codec.shouldCompress(Map.of("type", "json", "compression", "none")), is(false));
+  }
+
+  @Test
+  void shouldDecodeEncodedContent() throws IOException {
+    final byte[] encoded = codec.encode(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+    final InputStream decoded = codec.decode(new ByteArrayInputStream(encoded), "gzip");
+
+    assertThat(new String(decoded.readAllBytes(), StandardCharsets.UTF_8), is(CONTENT));
+  }
+
+  @Test
+  void shouldNotDecodeContentWithoutEncoding() throws IOException {
+    final var content = new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+    assertThat(codec.decode(content, null), sameInstance(content));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"gzip", "GZIP", "deflate, gzip", "gzip;q=0.5", "br;q=1.0, *"})
+  void shouldAcceptGzip(String acceptEncoding) {
+    assertThat(StorageCodec.acceptsGzip(acceptEncoding), is(true));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "identity", "deflate, br", "gzip;q=0", "gzip; q=0.000"})
+  void shouldNotAcceptGzip(String acceptEncoding) {
+    assertThat(StorageCodec.acceptsGzip(acceptEncoding), is(false));
+  }
+
+  @Test
+  void shouldNotAcceptGzipWithoutHeader() {
+    assertThat(StorageCodec.acceptsGzip(null), is(false));
+  }
+}
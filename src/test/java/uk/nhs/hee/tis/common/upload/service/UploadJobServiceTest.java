@@ -0,0 +1,227 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.enumeration.UploadJobStatus;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+class UploadJobServiceTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String FOLDER = "folder";
+
+  @TempDir
+  Path spoolDirectory;
+
+  private AwsStorageService storageService;
+  private ExecutorService executor;
+  private UploadJobService service;
+  private StorageDto storageDto;
+
+  @BeforeEach
+  void setUp() {
+    storageService = mock(AwsStorageService.class);
+    executor = mock(ExecutorService.class);
+    service = new UploadJobService(storageService, executor, spoolDirectory.toString(),
+        Duration.ofHours(1));
+    storageDto = StorageDto.builder()
+        .bucketName(BUCKET)
+        .folderPath(FOLDER)
+        .customMetadata(Map.of("key", "value"))
+        .files(List.of(
+            new MockMultipartFile("files", "one.txt", "text/plain",
+                "one".getBytes(StandardCharsets.UTF_8)),
+            new MockMultipartFile("files", "two.txt", "text/plain",
+                "two".getBytes(StandardCharsets.UTF_8))))
+        .build();
+  }
+
+  @Test
+  void shouldSpoolFilesAndReturnPendingJob() throws IOException {
+    final var job = service.submit(storageDto);
+
+    assertThat(job.getJobId(), notNullValue());
+    assertThat(job.getStatus(), is(UploadJobStatus.PENDING));
+    assertThat(job.getFiles(), hasSize(2));
+    assertThat(job.getFiles().get(0).getKey(), is(FOLDER + "/one.txt"));
+    assertThat(job.getFiles().get(0).getSize(), is(3L));
+    assertThat(job.getFiles().get(0).getStatus(), is(UploadJobStatus.PENDING));
+    try (Stream<Path> spooled = Files.list(spoolDirectory.resolve(job.getJobId()))) {
+      assertThat(spooled.count(), is(2L));
+    }
+    verifyNoInteractions(storageService);
+  }
+
+  @Test
+  void shouldClearFilesSpooledBeforeRestart() throws IOException {
+    final Path orphaned = spoolDirectory.resolve(UUID.randomUUID().toString()).resolve("0");
+    Files.createDirectories(orphaned.getParent());
+    Files.writeString(orphaned, "orphaned");
+
+    service.clearSpoolDirectory();
+
+    try (Stream<Path> spooled = Files.list(spoolDirectory)) {
+      assertThat(spooled.count(), is(0L));
+    }
+  }
+
+  @Test
+  void shouldKeepOtherFilesInSpoolDirectory() throws IOException {
+    final Path otherFile = spoolDirectory.resolve("other.txt");
+    Files.writeString(otherFile, "other");
+    final Path otherDirectory = spoolDirectory.resolve("other");
+    Files.createDirectories(otherDirectory);
+
+    service.clearSpoolDirectory();
+
+    assertThat(Files.exists(otherFile), is(true));
+    assertThat(Files.exists(otherDirectory), is(true));
+  }
+
+  @Test
+  void shouldUploadSpooledFilesWhenJobRuns() throws IOException {
+    final List<String> uploaded = new ArrayList<>();
+    when(storageService.upload(any())).thenAnswer(invocation -> {
+      final StorageDto fileDto = invocation.getArgument(0);
+      assertThat(fileDto.getBucketName(), is(BUCKET));
+      assertThat(fileDto.getCustomMetadata(), is(Map.of("key", "value")));
+      final var file = fileDto.getFiles().get(0);
+      uploaded.add(file.getOriginalFilename() + "="
+          + new String(file.getBytes(), StandardCharsets.UTF_8));
+      return List.of(PutObjectResponse.builder().eTag("etag").versionId("v1").build());
+    });
+
+    final var jobId = service.submit(storageDto).getJobId();
+    runSubmittedJob();
+
+    assertThat(uploaded, contains("one.txt=one", "two.txt=two"));
+    final var job = service.getStatus(jobId);
+    assertThat(job.getStatus(), is(UploadJobStatus.COMPLETED));
+    assertThat(job.getCompletedFiles(), is(2));
+    assertThat(job.getFinishedAt(), notNullValue());
+    assertThat(job.getFiles().get(1).getStatus(), is(UploadJobStatus.COMPLETED));
+    assertThat(job.getFiles().get(1).getETag(), is("etag"));
+    assertThat(job.getFiles().get(1).getVersionId(), is("v1"));
+    assertThat(Files.exists(spoolDirectory.resolve(jobId)), is(false));
+  }
+
+  @Test
+  void shouldReportFailedFilesWhenJobRuns() {
+    when(storageService.upload(any()))
+        .thenReturn(List.of(PutObjectResponse.builder().eTag("etag").build()))
+        .thenThrow(new AwsStorageException("Failed to upload files: two.txt: S3 error"));
+
+    final var jobId = service.submit(storageDto).getJobId();
+    runSubmittedJob();
+
+    final var job = service.getStatus(jobId);
+    assertThat(job.getStatus(), is(UploadJobStatus.FAILED));
+    assertThat(job.getCompletedFiles(), is(1));
+    assertThat(job.getFailedFiles(), is(1));
+    assertThat(job.getFiles().get(0).getStatus(), is(UploadJobStatus.COMPLETED));
+    assertThat(job.getFiles().get(0).getError(), nullValue());
+    assertThat(job.getFiles().get(1).getStatus(), is(UploadJobStatus.FAILED));
+    assertThat(job.getFiles().get(1).getError(),
+        is("Failed to upload files: two.txt: S3 error"));
+  }
+
+  @Test
+  void shouldRejectJobWhenQueueIsFull() throws IOException {
+    doThrow(RejectedExecutionException.class).when(executor).execute(any());
+
+    assertThrows(AwsStorageException.class, () -> service.submit(storageDto));
+
+    try (Stream<Path> spooled = Files.list(spoolDirectory)) {
+      assertThat(spooled.count(), is(0L));
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionWhenJobNotFound() {
+    assertThrows(AwsStorageException.class, () -> service.getStatus("unknown"));
+  }
+
+  @Test
+  void shouldKeepJobsUntilRetentionHasPassed() {
+    final var jobId = service.submit(storageDto).getJobId();
+    service.removeFinishedJobs();
+    assertThat(service.getStatus(jobId).getStatus(), is(UploadJobStatus.PENDING));
+
+    when(storageService.upload(any())).thenReturn(List.of(PutObjectResponse.builder().build()));
+    runSubmittedJob();
+    service.removeFinishedJobs();
+    assertThat(service.getStatus(jobId).getStatus(), is(UploadJobStatus.COMPLETED));
+  }
+
+  @Test
+  void shouldRemoveJobsFinishedBeforeRetention() throws InterruptedException {
+    service = new UploadJobService(storageService, executor, spoolDirectory.toString(),
+        Duration.ZERO);
+    when(storageService.upload(any())).thenReturn(List.of(PutObjectResponse.builder().build()));
+    final var jobId = service.submit(storageDto).getJobId();
+    runSubmittedJob();
+    Thread.sleep(10);
+
+    service.removeFinishedJobs();
+
+    assertThrows(AwsStorageException.class, () -> service.getStatus(jobId));
+  }
+
+  private void runSubmittedJob() {
+    final var job = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor).execute(job.capture());
+    job.getValue().run();
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto;
+import uk.nhs.hee.tis.common.upload.dto.UploadSessionDto.PartDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+class UploadSessionServiceTest {
+
+  private static final String SESSION_ID = "session-id";
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "folder/file.txt";
+  private static final long CHUNK_SIZE = MultipartUploader.MIN_PART_SIZE.toBytes();
+
+  private S3Client s3;
+  private AwsStorageService storageService;
+  private UploadSessionStore sessionStore;
+  private UploadSessionService service;
+
+  @BeforeEach
+  void setUp() {
+    s3 = mock(S3Client.class);
+    storageService = mock(AwsStorageService.class);
+    sessionStore = mock(UploadSessionStore.class);
+    service = new UploadSessionService(s3, storageService, sessionStore,
+        new BucketRegistry(s3, Duration.ofHours(1)), MultipartUploader.MIN_PART_SIZE,
+        Duration.ofHours(24));
+  }
+
+  @Test
+  void shouldRejectChunkSizeBelowMinimum() {
+    var bucketRegistry = new BucketRegistry(s3, Duration.ofHours(1));
+    var chunkSize = DataSize.ofMegabytes(1);
+    var ttl = Duration.ofHours(24);
+    assertThrows(IllegalArgumentException.class, () -> new UploadSessionService(s3,
+        storageService, sessionStore, bucketRegistry, chunkSize, ttl));
+  }
+
+  @Test
+  void shouldCreateSessionWithMultipartUpload() {
+    when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(
+        CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+    var storageDto = StorageDto.builder().bucketName(BUCKET).folderPath("folder")
+        .customMetadata(Map.of("answer", "42")).build();
+
+    var session = service.create(storageDto, "file.txt");
+
+    assertThat(session.getKey(), is(KEY));
+    assertThat(session.getUploadId(), is("upload-id"));
+    assertThat(session.getChunkSize(), is(CHUNK_SIZE));
+    assertThat(session.getReceivedBytes(), is(0L));
+    verify(s3).headBucket(HeadBucketRequest.builder().bucket(BUCKET).build());
+    ArgumentCaptor<CreateMultipartUploadRequest> captor = ArgumentCaptor.forClass(
+        CreateMultipartUploadRequest.class);
+    verify(s3).createMultipartUpload(captor.capture());
+    assertThat(captor.getValue().metadata(),
+        is(Map.of("answer", "42", "name", "file.txt", "type", "txt")));
+    verify(sessionStore).create(session);
+  }
+
+  @Test
+  void shouldUploadChunkAtExpectedOffsetAsNextPart() {
+    expectSession(part(1, CHUNK_SIZE));
+    when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenReturn(
+        UploadPartResponse.builder().eTag("etag-2").build());
+
+    var session = service.uploadChunk(SESSION_ID, CHUNK_SIZE,
+        new ByteArrayInputStream(new byte[10]), 10);
+
+    assertThat(session.getReceivedBytes(), is(CHUNK_SIZE + 10));
+    ArgumentCaptor<UploadPartRequest> captor = ArgumentCaptor.forClass(UploadPartRequest.class);
+    verify(s3).uploadPart(captor.capture(), any(RequestBody.class));
+    assertThat(captor.getValue().uploadId(), is("upload-id"));
+    assertThat(captor.getValue().partNumber(), is(2));
+    assertThat(captor.getValue().contentLength(), is(10L));
+    verify(sessionStore).addPart(eq(SESSION_ID), eq(part(2, 10)), any(Instant.class));
+  }
+
+  @Test
+  void shouldRejectChunkAtUnexpectedOffset() {
+    expectSession(part(1, CHUNK_SIZE));
+    var content = new ByteArrayInputStream(new byte[10]);
+
+    var exception = assertThrows(AwsStorageException.class,
+        () -> service.uploadChunk(SESSION_ID, 0, content, 10));
+
+    assertThat(exception.getMessage(), is("Expected the chunk at offset " + CHUNK_SIZE));
+    verify(s3, never()).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void shouldRejectChunkLargerThanChunkSize() {
+    expectSession();
+    var content = new ByteArrayInputStream(new byte[0]);
+
+    assertThrows(AwsStorageException.class,
+        () -> service.uploadChunk(SESSION_ID, 0, content, CHUNK_SIZE + 1));
+
+    verify(s3, never()).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void shouldRejectChunkAfterLastChunk() {
+    expectSession(part(1, 10));
+    var content = new ByteArrayInputStream(new byte[10]);
+
+    assertThrows(AwsStorageException.class,
+        () -> service.uploadChunk(SESSION_ID, 10, content, 10));
+
+    verify(s3, never()).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void shouldRejectUnknownSession() {
+    when(sessionStore.get(eq(SESSION_ID), any(Instant.class))).thenReturn(Optional.empty());
+
+    var exception = assertThrows(AwsStorageException.class,
+        () -> service.getStatus(SESSION_ID));
+
+    assertThat(exception.getMessage(), startsWith("Upload session session-id"));
+  }
+
+  @Test
+  void shouldCompleteSessionFromParts() {
+    expectSession(part(1, CHUNK_SIZE), part(2, 10));
+    when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenReturn(
+        CompleteMultipartUploadResponse.builder().eTag("etag").versionId("v1").build());
+
+    var response = service.complete(SESSION_ID);
+
+    assertThat(response.eTag(), is("etag"));
+    ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(
+        CompleteMultipartUploadRequest.class);
+    verify(s3).completeMultipartUpload(captor.capture());
+    assertThat(captor.getValue().multipartUpload().parts().stream()
+        .map(CompletedPart::eTag).toList(), is(List.of("etag-1", "etag-2")));
+    verify(storageService).recordStoredObject(BUCKET, KEY, PutObjectResponse.builder()
+        .eTag("etag").versionId("v1").build(), CHUNK_SIZE + 10, Map.of("name", "file.txt"));
+    verify(sessionStore).delete(SESSION_ID);
+  }
+
+  @Test
+  void shouldNotCompleteSessionWithoutChunks() {
+    expectSession();
+
+    assertThrows(AwsStorageException.class, () -> service.complete(SESSION_ID));
+
+    verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+  }
+
+  @Test
+  void shouldAbortAndRemoveExpiredSessions() {
+    when(sessionStore.listExpired(any(Instant.class))).thenReturn(
+        List.of(session("gone"), session("expired")));
+    when(s3.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(BUCKET).key(KEY)
+        .uploadId("upload-gone").build())).thenThrow(NoSuchUploadException.builder().build());
+
+    service.removeExpiredSessions();
+
+    verify(s3).abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(BUCKET)
+        .key(KEY).uploadId("upload-expired").build());
+    verify(sessionStore).delete("gone");
+    verify(sessionStore).delete("expired");
+  }
+
+  @Test
+  void shouldKeepExpiredSessionWhenAbortFails() {
+    when(sessionStore.listExpired(any(Instant.class))).thenReturn(List.of(session("expired")));
+    when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class))).thenThrow(
+        new IllegalStateException("expected"));
+
+    service.removeExpiredSessions();
+
+    verify(sessionStore, never()).delete("expired");
+  }
+
+  private void expectSession(PartDto... parts) {
+    var session = session(SESSION_ID);
+    session.setParts(new ArrayList<>(List.of(parts)));
+    session.setReceivedBytes(session.getParts().stream().mapToLong(PartDto::getSize).sum());
+    when(sessionStore.get(eq(SESSION_ID), any(Instant.class))).thenReturn(Optional.of(session));
+  }
+
+  private static UploadSessionDto session(String sessionId) {
+    return UploadSessionDto.builder()
+        .sessionId(sessionId)
+        .bucketName(BUCKET)
+        .key(KEY)
+        .uploadId("upload-" + (SESSION_ID.equals(sessionId) ? "id" : sessionId))
+        .metadata(Map.of("name", "file.txt"))
+        .chunkSize(CHUNK_SIZE)
+        .expiresAt(Instant.now().plusSeconds(60))
+        .parts(List.of())
+        .build();
+  }
+
+  private static PartDto part(int partNumber, long size) {
+    return PartDto.builder()
+        .partNumber(partNumber)
+        .eTag("etag-" + partNumber)
+        .size(size)
+        .build();
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2026 Crown Copyright (Health Education England)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package uk.nhs.hee.tis.common.upload.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import uk.nhs.hee.tis.common.upload.dto.StorageDto;
+import uk.nhs.hee.tis.common.upload.exception.AwsStorageException;
+
+class ZipIngestServiceTest {
+
+  private static final String BUCKET = "bucket";
+  private static final String FOLDER = "folder";
+
+  private AwsStorageService storageService;
+  private BucketRegistry bucketRegistry;
+  private ExecutorService executor;
+  private ZipIngestService service;
+  private StorageDto storageDto;
+
+  @BeforeEach
+  void setUp() {
+    storageService = mock(AwsStorageService.class);
+    bucketRegistry = mock(BucketRegistry.class);
+    executor = Executors.newFixedThreadPool(2);
+    service = new ZipIngestService(storageService, bucketRegistry, executor, 2,
+        DataSize.ofBytes(16), 10, DataSize.ofKilobytes(1), 100);
+    storageDto = StorageDto.builder()
+        .bucketName(BUCKET)
+        .folderPath(FOLDER)
+        .customMetadata(Map.of("key", "value"))
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldStoreEachFileUnderFolderPath() throws IOException {
+    final Map<String, String> stored = new ConcurrentHashMap<>();
+    when(storageService.uploadBytes(any(), any(), any())).thenAnswer(invocation -> {
+      final StorageDto entryDto = invocation.getArgument(0);
+      assertThat(entryDto.getBucketName(), is(BUCKET));
+      assertThat(entryDto.getCustomMetadata(), is(Map.of("key", "value")));
+      stored.put(entryDto.getFolderPath() + "/" + invocation.getArgument(1),
+          new String(invocation.<byte[]>getArgument(2), StandardCharsets.UTF_8));
+      return PutObjectResponse.builder().eTag("etag").versionId("v1").build();
+    });
+
+    final var manifest = service.ingest(storageDto,
+        zip(Map.of("one.txt", "one", "docs/", "", "docs/two.pdf", "two")));
+
+    verify(bucketRegistry).ensureExists(BUCKET);
+    assertThat(stored, is(Map.of("folder/one.txt", "one", "folder/docs/two.pdf", "two")));
+    assertThat(manifest.getStoredEntries(), is(2));
+    assertThat(manifest.getFailedEntries(), is(0));
+    assertThat(manifest.getEntries(), hasSize(2));
+    assertThat(manifest.getEntries().stream().map(entry -> entry.getKey()).toList(),
+        containsInAnyOrder("folder/one.txt", "folder/docs/two.pdf"));
+    final var entry = manifest.getEntries().get(0);
+    assertThat(entry.isStored(), is(true));
+    assertThat(entry.getETag(), is("etag"));
+    assertThat(entry.getVersionId(), is("v1"));
+    assertThat(entry.getSize(), is(3L));
+  }
+
+  @Test
+  void shouldStreamEntriesLargerThanBufferLimit() throws IOException {
+    final String content = "This entry is larger than the buffer limit.";
+    final StringBuilder streamed = new StringBuilder();
+    when(storageService.uploadStream(any(), eq("large.txt"), any())).thenAnswer(invocation -> {
+      final InputStream entryContent = invocation.getArgument(2);
+      streamed.append(new String(entryContent.readAllBytes(), StandardCharsets.UTF_8));
+      return PutObjectResponse.builder().eTag("etag").build();
+    });
+
+    final var manifest = service.ingest(storageDto, zip(Map.of("large.txt", content)));
+
+    assertThat(streamed.toString(), is(content));
+    verify(storageService, never()).uploadBytes(any(), any(), any());
+    assertThat(manifest.getStoredEntries(), is(1));
+    assertThat(manifest.getEntries().get(0).getSize(), is((long) content.length()));
+  }
+
+  @Test
+  void shouldStoreEntriesFollowingAnEntryLargerThanBufferLimit() throws IOException {
+    final String content = "This entry is larger than the buffer limit.";
+    when(storageService.uploadStream(any(), eq("large.txt"), any())).thenAnswer(invocation -> {
+      final InputStream entryContent = invocation.getArgument(2);
+      entryContent.readAllBytes();
+      entryContent.close();
+      return PutObjectResponse.builder().build();
+    });
+    when(storageService.uploadBytes(any(), eq("small.txt"), any())).thenReturn(
+        PutObjectResponse.builder().build());
+    final Map<String, String> entries = new LinkedHashMap<>();
+    entries.put("large.txt", content);
+    entries.put("small.txt", "s");
+
+    final var manifest = service.ingest(storageDto, zip(entries));
+
+    verify(storageService).uploadBytes(any(), eq("small.txt"), eq("s".getBytes()));
+    assertThat(manifest.getStoredEntries(), is(2));
+    assertThat(manifest.getFailedEntries(), is(0));
+  }
+
+  @Test
+  void shouldRecordFailedEntriesAndStoreTheRest() throws IOException {
+    when(storageService.uploadBytes(any(), eq("one.txt"), any())).thenThrow(
+        new AwsStorageException("S3 error"));
+    when(storageService.uploadBytes(any(), eq("two.txt"), any())).thenReturn(
+        PutObjectResponse.builder().build());
+
+    final var manifest = service.ingest(storageDto,
+        zip(Map.of("one.txt", "one", "two.txt", "two")));
+
+    assertThat(manifest.getStoredEntries(), is(1));
+    assertThat(manifest.getFailedEntries(), is(1));
+    final var failed = manifest.getEntries().stream()
+        .filter(entry -> !entry.isStored()).findFirst().orElseThrow();
+    assertThat(failed.getEntryName(), is("one.txt"));
+    assertThat(failed.getError(), is("S3 error"));
+  }
+
+  @Test
+  void shouldRejectEntriesOutsideFolderPath() throws IOException {
+    final var manifest = service.ingest(storageDto, zip(Map.of("../escape.txt", "escape")));
+
+    verify(storageService, never()).uploadBytes(any(), any(), any());
+    assertThat(manifest.getFailedEntries(), is(1));
+    assertThat(manifest.getEntries().get(0).getKey(), nullValue());
+    assertThat(manifest.getEntries().get(0).getError(), startsWith("The entry name"));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenArchiveHasNoFiles() {
+    final var content = new ByteArrayInputStream("not a zip".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(AwsStorageException.class, () -> service.ingest(storageDto, content));
+  }
+
+  @Test
+  void shouldRejectArchiveWithTooManyEntries() throws IOException {
+    service = new ZipIngestService(storageService, bucketRegistry, executor, 2,
+        DataSize.ofBytes(16), 2, DataSize.ofKilobytes(1), 100);
+    final var content = zip(Map.of("one.txt", "one", "two.txt", "two", "three.txt", "three"));
+
+    assertThrows(AwsStorageException.class, () -> service.ingest(storageDto, content));
+  }
+
+  @Test
+  void shouldRejectArchiveLargerThanMaxSize() throws IOException {
+    service = new ZipIngestService(storageService, bucketRegistry, executor, 2,
+        DataSize.ofBytes(16), 10, DataSize.ofBytes(32), 100);
+    final var content = zip(Map.of("one.txt", "0123456789", "two.txt", "0123456789",
+        "three.txt", "0123456789", "four.txt", "0123456789"));
+
+    assertThrows(AwsStorageException.class, () -> service.ingest(storageDto, content));
+  }
+
+  @Test
+  void shouldRejectHighlyCompressedArchive() throws IOException {
+    service = new ZipIngestService(storageService, bucketRegistry, executor, 2,
+        DataSize.ofBytes(16), 10, DataSize.ofGigabytes(1), 100);
+    when(storageService.uploadStream(any(), any(), any())).thenAnswer(invocation -> {
+      try {
+        ((InputStream) invocation.getArgument(2)).transferTo(OutputStream.nullOutputStream());
+      } catch (IOException e) {
+        throw new AwsStorageException(e.getMessage());
+      }
+      return PutObjectResponse.builder().build();
+    });
+    final var content = zip(Map.of("bomb.txt", "a".repeat(2 * 1024 * 1024)));
+
+    final var exception = assertThrows(AwsStorageException.class,
+        () -> service.ingest(storageDto, content));
+
+    assertThat(exception.getMessage(), containsString("compressed more than 100 times"));
+  }
+
+  private static InputStream zip(Map<String, String> entries) throws IOException {
+    final var archive = new ByteArrayOutputStream();
+    try (var zip = new ZipOutputStream(archive)) {
+      for (var entry : List.copyOf(entries.entrySet())) {
+        zip.putNextEntry(new ZipEntry(entry.getKey()));
+        zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+      }
+    }
+    return new ByteArrayInputStream(archive.toByteArray());
+  }
+}